@@ -0,0 +1,161 @@
+package com.tus.binary.suite.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.math3.stat.StatUtils;
+import org.apache.commons.math3.stat.inference.TestUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH JSON result file against a stored baseline, benchmark by benchmark (same method,
+// mode and params), on the primary score and on gc.alloc.rate.norm. A change only counts as a
+// regression when it is worse than the threshold and statistically significant: a two-sided Welch
+// t-test over the per-iteration samples at p < 0.01, or non-overlapping 99.9% confidence intervals
+// where JMH gives no samples (SampleTime). Benchmarks present in only one file are skipped.
+// Arguments: baseline.json current.json [thresholdPercent]; exits with 1 when anything regressed.
+public class BaselineComparator {
+
+    public static final double DEFAULT_THRESHOLD_PERCENT = 5;
+    public static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private static final double ALPHA = 0.01;
+    // gc.alloc.rate.norm reports a few hundredths of a byte for allocation-free code, so tiny
+    // absolute changes are noise however large they are in percent
+    private static final double ALLOC_NOISE_BYTES = 8;
+
+    public record Comparison(String benchmark, String metric, String unit, double baseline, double current,
+            double changePercent, boolean significant, boolean regression) {
+    }
+
+    private record Metric(double score, String unit, double[] samples, double lower, double upper) {
+    }
+
+    private final double thresholdPercent;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public BaselineComparator(double thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        List<Comparison> comparisons = new BaselineComparator(threshold).compare(Path.of(args[0]), Path.of(args[1]));
+
+        PrintWriter out = new PrintWriter(System.out, true);
+        writeMarkdown(out, comparisons, threshold);
+        if (comparisons.stream().anyMatch(Comparison::regression)) {
+            System.exit(1);
+        }
+    }
+
+    public List<Comparison> compare(Path baseline, Path current) throws IOException {
+        return compare(mapper.readTree(baseline.toFile()), mapper.readTree(current.toFile()));
+    }
+
+    public List<Comparison> compare(JsonNode baseline, JsonNode current) {
+        Map<String, JsonNode> baselineRuns = index(baseline);
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : index(current).entrySet()) {
+            JsonNode before = baselineRuns.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            comparisons.add(compare(entry.getKey(), "score", metric(before.path("primaryMetric")),
+                    metric(after.path("primaryMetric")), higherIsBetter, 0));
+
+            JsonNode beforeAlloc = before.path("secondaryMetrics").path(ALLOC_RATE_NORM);
+            JsonNode afterAlloc = after.path("secondaryMetrics").path(ALLOC_RATE_NORM);
+            if (!beforeAlloc.isMissingNode() && !afterAlloc.isMissingNode()) {
+                comparisons.add(compare(entry.getKey(), ALLOC_RATE_NORM, metric(beforeAlloc), metric(afterAlloc),
+                        false, ALLOC_NOISE_BYTES));
+            }
+        }
+        return comparisons;
+    }
+
+    private Comparison compare(String benchmark, String name, Metric before, Metric after, boolean higherIsBetter,
+            double noiseFloor) {
+        double delta = after.score() - before.score();
+        double changePercent = before.score() != 0 ? delta / Math.abs(before.score()) * 100
+                : delta == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, delta);
+        double worsePercent = higherIsBetter ? -changePercent : changePercent;
+        boolean significant = significant(before, after);
+        boolean regression = significant && worsePercent > thresholdPercent && Math.abs(delta) > noiseFloor;
+        return new Comparison(benchmark, name, after.unit(), before.score(), after.score(), changePercent,
+                significant, regression);
+    }
+
+    private static boolean significant(Metric before, Metric after) {
+        double[] a = before.samples();
+        double[] b = after.samples();
+        if (a.length >= 2 && b.length >= 2) {
+            if (StatUtils.variance(a) == 0 && StatUtils.variance(b) == 0) {
+                // Nothing to test against, e.g. an allocation count that is exact on both sides
+                return StatUtils.mean(a) != StatUtils.mean(b);
+            }
+            return TestUtils.tTest(a, b) < ALPHA;
+        }
+        if (Double.isNaN(before.lower()) || Double.isNaN(after.lower())) {
+            return false;
+        }
+        return after.lower() > before.upper() || after.upper() < before.lower();
+    }
+
+    // Keyed by method, mode and params, e.g. "...SerializationBenchmark.sbeSerialize avgt {}"
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> param : run.path("params").properties()) {
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            byKey.put(run.path("benchmark").asText() + " " + run.path("mode").asText() + " " + params, run);
+        }
+        return byKey;
+    }
+
+    private static Metric metric(JsonNode node) {
+        List<Double> samples = new ArrayList<>();
+        for (JsonNode fork : node.path("rawData")) {
+            for (JsonNode value : fork) {
+                samples.add(value.asDouble());
+            }
+        }
+        JsonNode confidence = node.path("scoreConfidence");
+        return new Metric(node.path("score").asDouble(), node.path("scoreUnit").asText(),
+                samples.stream().mapToDouble(Double::doubleValue).toArray(),
+                confidence.size() == 2 ? confidence.get(0).asDouble() : Double.NaN,
+                confidence.size() == 2 ? confidence.get(1).asDouble() : Double.NaN);
+    }
+
+    public static void writeMarkdown(PrintWriter writer, List<Comparison> comparisons, double thresholdPercent) {
+        long regressions = comparisons.stream().filter(Comparison::regression).count();
+        writer.printf("## Baseline Comparison (threshold %.1f%%, p < %.2f)%n%n", thresholdPercent, ALPHA);
+        writer.println("| Benchmark | Metric | Baseline | Current | Unit | Change | Significant | Regression |");
+        writer.println("|---|---|---|---|---|---|---|---|");
+        for (Comparison c : comparisons) {
+            // Drop the package, keep class and method
+            String method = c.benchmark().substring(0, c.benchmark().indexOf(' '));
+            String name = c.benchmark().substring(method.lastIndexOf('.', method.lastIndexOf('.') - 1) + 1);
+            writer.printf(Locale.ROOT, "| %s | %s | %.2f | %.2f | %s | %+.1f%% | %s | %s |%n",
+                    name, c.metric(), c.baseline(), c.current(), c.unit(), c.changePercent(),
+                    c.significant() ? "yes" : "no", c.regression() ? "**REGRESSION**" : "");
+        }
+        writer.println();
+        writer.println(regressions == 0 ? "No regressions." : regressions + " regression(s) found.");
+    }
+}
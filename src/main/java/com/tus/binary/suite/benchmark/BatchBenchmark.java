@@ -0,0 +1,112 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one batch frame at increasing batch sizes. Scores are per batch, so divide by
+// batchSize for the per-message cost and compare it against the single-message benchmarks.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BatchBenchmark {
+
+    @Param({"1", "8", "64", "256", "1024"})
+    private int batchSize;
+
+    private ProtobufSerializer protobufSerializer;
+    private FlatBuffersSerializer flatBuffersSerializer;
+    private SbeSerializer sbeSerializer;
+    private AvroSerializer avroSerializer;
+    private List<MarketDataPayload> batch;
+    private ExpandableArrayBuffer target;
+    private UnsafeBuffer protobufBatch;
+    private UnsafeBuffer flatBuffersBatch;
+    private UnsafeBuffer sbeBatch;
+    private UnsafeBuffer avroBatch;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        protobufSerializer = new ProtobufSerializer();
+        flatBuffersSerializer = new FlatBuffersSerializer();
+        sbeSerializer = new SbeSerializer();
+        avroSerializer = new AvroSerializer();
+
+        batch = new ArrayList<>(batchSize);
+        MarketDataPayload sample = MarketDataPayload.createSample();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new MarketDataPayload(
+                    new MarketDataPayload.Header(sample.header().messageType(), sample.header().timestamp() + i,
+                            sample.header().sequenceId() + i, sample.header().version()),
+                    sample.instrument(),
+                    sample.entries()));
+        }
+        target = new ExpandableArrayBuffer(512 * batchSize);
+
+        protobufBatch = new UnsafeBuffer(protobufSerializer.serializeBatch(batch));
+        flatBuffersBatch = new UnsafeBuffer(flatBuffersSerializer.serializeBatch(batch));
+        sbeBatch = new UnsafeBuffer(sbeSerializer.serializeBatch(batch));
+        avroBatch = new UnsafeBuffer(avroSerializer.serializeBatch(batch));
+    }
+
+    @Benchmark
+    public int protobufSerializeBatch() throws IOException {
+        return protobufSerializer.serializeBatch(batch, target, 0);
+    }
+
+    @Benchmark
+    public int flatBuffersSerializeBatch() throws IOException {
+        return flatBuffersSerializer.serializeBatch(batch, target, 0);
+    }
+
+    @Benchmark
+    public int sbeSerializeBatch() throws IOException {
+        return sbeSerializer.serializeBatch(batch, target, 0);
+    }
+
+    @Benchmark
+    public int avroSerializeBatch() throws IOException {
+        return avroSerializer.serializeBatch(batch, target, 0);
+    }
+
+    @Benchmark
+    public long protobufDeserializeBatch() throws IOException {
+        return drain(protobufSerializer, protobufBatch);
+    }
+
+    @Benchmark
+    public long flatBuffersDeserializeBatch() throws IOException {
+        return drain(flatBuffersSerializer, flatBuffersBatch);
+    }
+
+    @Benchmark
+    public long sbeDeserializeBatch() throws IOException {
+        return drain(sbeSerializer, sbeBatch);
+    }
+
+    @Benchmark
+    public long avroDeserializeBatch() throws IOException {
+        return drain(avroSerializer, avroBatch);
+    }
+
+    private static long drain(ProtocolSerializer serializer, UnsafeBuffer frame) throws IOException {
+        long sum = 0;
+        Iterator<MarketDataPayload> messages = serializer.deserializeBatch(frame, 0, frame.capacity());
+        while (messages.hasNext()) {
+            sum += messages.next().header().sequenceId();
+        }
+        return sum;
+    }
+}
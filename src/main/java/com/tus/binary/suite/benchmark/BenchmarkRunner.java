@@ -1,60 +1,112 @@
 package com.tus.binary.suite.benchmark;
 
+import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
-import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+// Runs SerializationBenchmark in AverageTime and SampleTime (ns/op, SampleTime adding the tail
+// percentiles) and in Throughput (ops/s), writes the results as a markdown table and as JMH JSON,
+// and, given a baseline JSON from an earlier run, fails the run when any benchmark's score or
+// gc.alloc.rate.norm got significantly worse than the threshold (see BaselineComparator).
+// Arguments: [baseline.json] [thresholdPercent] [forks]
 public class BenchmarkRunner {
 
     public static void main(String[] args) throws RunnerException, IOException {
-        Options opt = new OptionsBuilder()
-                .include(SerializationBenchmark.class.getSimpleName())
-                .forks(1)
-                .warmupIterations(3)
-                .measurementIterations(5)
-                .addProfiler(GCProfiler.class)
-                .build();
+        Path baseline = args.length > 0 && !args[0].isEmpty() ? Path.of(args[0]) : null;
+        double threshold = args.length > 1 ? Double.parseDouble(args[1]) : BaselineComparator.DEFAULT_THRESHOLD_PERCENT;
+        int forks = args.length > 2 ? Integer.parseInt(args[2]) : 2;
 
-        Collection<RunResult> results = new Runner(opt).run();
+        // Throughput gets its own pass so it can be reported per second instead of per nanosecond
+        Collection<RunResult> results = new ArrayList<>();
+        results.addAll(new Runner(options(forks)
+                .mode(Mode.AverageTime)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build()).run());
+        results.addAll(new Runner(options(forks)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .build()).run());
 
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMDD_HHmmss"));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String fileName = timestamp + "_jmh_result.md";
+        String jsonFileName = timestamp + "_jmh_result.json";
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, jsonFileName).writeOut(results);
+
+        List<BaselineComparator.Comparison> comparisons = baseline == null ? List.of()
+                : new BaselineComparator(threshold).compare(baseline, Path.of(jsonFileName));
 
         try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
             writer.println("# JMH Benchmark Results - " + timestamp);
             writer.println();
-            writer.println("| Benchmark | Mode | Score (ns/op) | Error | Unit | GC Alloc Rate |");
-            writer.println("|---|---|---|---|---|---|");
+            writer.println("| Benchmark | Mode | Score | Error | Unit | p99 | GC Alloc Rate |");
+            writer.println("|---|---|---|---|---|---|---|");
 
             for (RunResult result : results) {
                 String benchmarkName = result.getParams().getBenchmark();
                 benchmarkName = benchmarkName.substring(benchmarkName.lastIndexOf(".") + 1);
                 String mode = result.getParams().getMode().name();
                 double score = result.getPrimaryResult().getScore();
-                double error = result.getPrimaryResult().getStatistics().getMeanErrorAt(0.99);
+                double error = result.getPrimaryResult().getStatistics().getMeanErrorAt(0.999);
                 String unit = result.getPrimaryResult().getScoreUnit();
 
+                // Only SampleTime keeps individual timings, the other modes have no useful percentiles
+                String p99 = result.getParams().getMode() == Mode.SampleTime
+                        ? String.format("%.2f", result.getPrimaryResult().getStatistics().getPercentile(99))
+                        : "";
+
                 String gcAlloc = "";
                 var secondary = result.getSecondaryResults();
-                if (secondary.containsKey("gc.alloc.rate.norm")) {
-                    gcAlloc = String.format("%.2f B/op", secondary.get("gc.alloc.rate.norm").getScore());
+                if (secondary.containsKey(BaselineComparator.ALLOC_RATE_NORM)) {
+                    gcAlloc = String.format("%.2f B/op", secondary.get(BaselineComparator.ALLOC_RATE_NORM).getScore());
                 }
 
-                writer.printf("| %s | %s | %.2f | ± %.2f | %s | %s |%n",
-                        benchmarkName, mode, score, error, unit, gcAlloc);
+                writer.printf("| %s | %s | %.2f | ± %.2f | %s | %s | %s |%n",
+                        benchmarkName, mode, score, error, unit, p99, gcAlloc);
+            }
+
+            if (baseline != null) {
+                writer.println();
+                BaselineComparator.writeMarkdown(writer, comparisons, threshold);
             }
 
-            System.out.println("Results written to " + fileName);
+            System.out.println("Results written to " + fileName + " and " + jsonFileName);
         }
+
+        List<BaselineComparator.Comparison> regressions = comparisons.stream()
+                .filter(BaselineComparator.Comparison::regression)
+                .toList();
+        if (!regressions.isEmpty()) {
+            regressions.forEach(c -> System.out.printf("REGRESSION %s %s: %.2f -> %.2f %s (%+.1f%%)%n",
+                    c.benchmark(), c.metric(), c.baseline(), c.current(), c.unit(), c.changePercent()));
+            System.exit(1);
+        }
+    }
+
+    private static ChainedOptionsBuilder options(int forks) {
+        return new OptionsBuilder()
+                // Anchored so the other *SerializationBenchmark classes are not picked up
+                .include("^" + SerializationBenchmark.class.getName() + "\\.")
+                .forks(forks)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class);
     }
 }
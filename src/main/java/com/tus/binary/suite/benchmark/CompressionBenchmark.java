@@ -0,0 +1,147 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.CompressingSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// CPU cost of deflate on top of each protocol, per message with and without a trained dictionary
+// and per batch. The compression ratios are printed once at setup, since JMH only reports time.
+// The dictionary is trained on a different slice of the same feed than the one being encoded.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompressionBenchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"Protobuf", "SBE", "Avro", "FlatBuffers"})
+    private String protocol;
+
+    @Param({"1024"})
+    private int dictionaryLength;
+
+    private ProtocolSerializer raw;
+    private CompressingSerializer plain;
+    private CompressingSerializer primed;
+    private MarketDataPayload[] updates;
+    private List<MarketDataPayload> batch;
+    private UnsafeBuffer encodeBuffer;
+    private UnsafeBuffer compressedBuffer;
+    private int compressedLength;
+    private UnsafeBuffer compressedBatchBuffer;
+    private int compressedBatchLength;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        raw = switch (protocol) {
+            case "Protobuf" -> new ProtobufSerializer();
+            case "SBE" -> new SbeSerializer();
+            case "Avro" -> new AvroSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+
+        MarketDataPayload[] feed = feed(2048);
+        List<MarketDataPayload> training = List.of(feed).subList(0, 1024);
+        updates = List.of(feed).subList(1024, 2048).toArray(new MarketDataPayload[0]);
+        batch = new ArrayList<>(List.of(updates).subList(0, BATCH_SIZE));
+
+        plain = new CompressingSerializer(raw, new byte[0]);
+        primed = new CompressingSerializer(raw,
+                CompressingSerializer.trainDictionary(raw, training, dictionaryLength));
+        encodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024));
+
+        long rawBytes = 0;
+        long plainBytes = 0;
+        long primedBytes = 0;
+        for (MarketDataPayload update : updates) {
+            rawBytes += raw.serialize(update, encodeBuffer, 0);
+            plainBytes += plain.serialize(update, encodeBuffer, 0);
+            primedBytes += primed.serialize(update, encodeBuffer, 0);
+        }
+        double rawBatch = raw.serializeBatch(batch, encodeBuffer, 0);
+        double primedBatch = primed.serializeBatch(batch, encodeBuffer, 0);
+        System.out.printf("%n%s: %.1f bytes/message raw, ratio %.2f plain, %.2f dictionary, %.2f batch of %d%n",
+                protocol, (double) rawBytes / updates.length, (double) rawBytes / plainBytes,
+                (double) rawBytes / primedBytes, rawBatch / primedBatch, BATCH_SIZE);
+
+        compressedBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(4096));
+        compressedLength = primed.serialize(updates[0], compressedBuffer, 0);
+        compressedBatchBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024));
+        compressedBatchLength = primed.serializeBatch(batch, compressedBatchBuffer, 0);
+    }
+
+    private static MarketDataPayload[] feed(int count) {
+        Random random = new Random(42);
+        long[] mid = new long[8];
+        MarketDataPayload[] feed = new MarketDataPayload[count];
+        for (int i = 0; i < count; i++) {
+            int symbol = i % mid.length;
+            mid[symbol] = mid[symbol] == 0 ? 10_000L * (symbol + 1) : mid[symbol] + random.nextInt(11) - 5;
+            feed[i] = new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L + i, 1001L + i, 1),
+                    new MarketDataPayload.Instrument("SYM" + symbol, "NASDAQ", "USD"),
+                    List.of(new MarketDataPayload.BidAskEntry(mid[symbol] - 1, 100L + random.nextInt(100), 1, 0, 1),
+                            new MarketDataPayload.BidAskEntry(mid[symbol] + 1, 100L + random.nextInt(100), 1, 1, 1)));
+        }
+        return feed;
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (updates.length - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int encodeRaw() throws IOException {
+        return raw.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public int encodeDeflate() throws IOException {
+        return plain.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public int encodeDeflateDictionary() throws IOException {
+        return primed.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload decodeDeflateDictionary() throws IOException {
+        return primed.deserialize(compressedBuffer, 0, compressedLength);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int encodeBatchDeflateDictionary() throws IOException {
+        return primed.serializeBatch(batch, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int decodeBatchDeflateDictionary() throws IOException {
+        Iterator<MarketDataPayload> iterator = primed.deserializeBatch(compressedBatchBuffer, 0, compressedBatchLength);
+        int count = 0;
+        while (iterator.hasNext()) {
+            count += iterator.next().entries().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// One serializer instance per protocol shared by every benchmark thread, the way the
+// Spring singletons are shared by request threads. Thread count is set by ScalingBenchmarkRunner.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentSerializationBenchmark {
+
+    private ProtobufSerializer protobufSerializer;
+    private FlatBuffersSerializer flatBuffersSerializer;
+    private SbeSerializer sbeSerializer;
+    private AvroSerializer avroSerializer;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private MarketDataPayload payload;
+        private byte[] protobufEncoded;
+        private byte[] flatBuffersEncoded;
+        private byte[] sbeEncoded;
+        private byte[] avroEncoded;
+
+        @Setup(Level.Trial)
+        public void setup(ConcurrentSerializationBenchmark shared) throws IOException {
+            payload = MarketDataPayload.createSample();
+            protobufEncoded = shared.protobufSerializer.serialize(payload);
+            flatBuffersEncoded = shared.flatBuffersSerializer.serialize(payload);
+            sbeEncoded = shared.sbeSerializer.serialize(payload);
+            avroEncoded = shared.avroSerializer.serialize(payload);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        protobufSerializer = new ProtobufSerializer();
+        flatBuffersSerializer = new FlatBuffersSerializer();
+        sbeSerializer = new SbeSerializer();
+        avroSerializer = new AvroSerializer();
+    }
+
+    @Benchmark
+    public byte[] protobufSerialize(ThreadState state) throws IOException {
+        return protobufSerializer.serialize(state.payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload protobufDeserialize(ThreadState state) throws IOException {
+        return protobufSerializer.deserialize(state.protobufEncoded);
+    }
+
+    @Benchmark
+    public byte[] sbeSerialize(ThreadState state) throws IOException {
+        return sbeSerializer.serialize(state.payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload sbeDeserialize(ThreadState state) throws IOException {
+        return sbeSerializer.deserialize(state.sbeEncoded);
+    }
+
+    @Benchmark
+    public byte[] flatBuffersSerialize(ThreadState state) throws IOException {
+        return flatBuffersSerializer.serialize(state.payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload flatBuffersDeserialize(ThreadState state) throws IOException {
+        return flatBuffersSerializer.deserialize(state.flatBuffersEncoded);
+    }
+
+    @Benchmark
+    public byte[] avroSerialize(ThreadState state) throws IOException {
+        return avroSerializer.serialize(state.payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload avroDeserialize(ThreadState state) throws IOException {
+        return avroSerializer.deserialize(state.avroEncoded);
+    }
+}
@@ -0,0 +1,134 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.conflation.ConflatingQueue;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// One producer and one slow consumer sharing a queue: consumerWork burns that many Blackhole
+// tokens per message delivered, so the consumer falls further behind as it grows. "conflating"
+// is a ConflatingQueue holding at most one merged message per symbol; "fifo" is a bounded queue of
+// every message that refuses offers once full. The delivered, accepted and refused counters show
+// how much of the producer's rate reaches the consumer, and the trial tear-down prints the
+// conflation ratio and how stale the delivered messages were. Needs two cores to mean anything.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConflationBenchmark {
+
+    static final int RING_SIZE = 8192;
+    static final int FIFO_CAPACITY = 64 * 1024;
+
+    @Param({"16", "5000"})
+    private int symbols;
+
+    @Param({"0", "200", "2000"})
+    private int consumerWork;
+
+    @Param({"conflating", "fifo"})
+    private String queue;
+
+    private record Timed(MarketDataPayload payload, long offeredNanos) {
+    }
+
+    private MarketDataPayload[] payloads;
+    private ConflatingQueue conflating;
+    private ManyToManyConcurrentArrayQueue<Timed> fifo;
+    private Recorder fifoStaleness;
+    private long fifoOffered;
+    private long fifoDelivered;
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long delivered;
+        public long accepted;
+        public long refused;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            delivered = 0;
+            accepted = 0;
+            refused = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        payloads = new MarketDataGenerator(42, MarketDataGenerator.Shape.incremental(symbols)).next(RING_SIZE);
+        conflating = new ConflatingQueue(symbols);
+        fifo = new ManyToManyConcurrentArrayQueue<>(FIFO_CAPACITY);
+        fifoStaleness = new Recorder(3);
+        fifoOffered = 0;
+        fifoDelivered = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        if ("conflating".equals(queue)) {
+            ConflatingQueue.Stats stats = conflating.stats();
+            print(stats.conflationRatio(), stats.staleness());
+        } else {
+            print(fifoDelivered == 0 ? 0 : (double) fifoOffered / fifoDelivered, fifoStaleness.getIntervalHistogram());
+        }
+    }
+
+    private void print(double ratio, Histogram staleness) {
+        System.out.printf("%n%s, %d symbols, consumerWork %d: %.2f offered per delivered, "
+                        + "staleness p50 %d ns, p99 %d ns%n", queue, symbols, consumerWork, ratio,
+                staleness.getValueAtPercentile(50), staleness.getValueAtPercentile(99));
+    }
+
+    @Benchmark
+    @Group("mismatch")
+    @GroupThreads(1)
+    public void produce(Counters counters) {
+        MarketDataPayload payload = payloads[next];
+        next = (next + 1) & (RING_SIZE - 1);
+        boolean accepted;
+        if ("conflating".equals(queue)) {
+            accepted = conflating.offer(payload);
+        } else {
+            accepted = fifo.offer(new Timed(payload, System.nanoTime()));
+            if (accepted) {
+                fifoOffered++;
+            }
+        }
+        if (accepted) {
+            counters.accepted++;
+        } else {
+            counters.refused++;
+        }
+    }
+
+    @Benchmark
+    @Group("mismatch")
+    @GroupThreads(1)
+    public void consume(Blackhole blackhole, Counters counters) {
+        MarketDataPayload payload;
+        if ("conflating".equals(queue)) {
+            payload = conflating.poll();
+        } else {
+            Timed timed = fifo.poll();
+            if (timed == null) {
+                return;
+            }
+            fifoDelivered++;
+            fifoStaleness.recordValue(Math.max(0, System.nanoTime() - timed.offeredNanos()));
+            payload = timed.payload();
+        }
+        if (payload == null) {
+            return;
+        }
+        counters.delivered++;
+        blackhole.consume(payload);
+        Blackhole.consumeCPU(consumerWork);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.DeltaSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Stateless encoding against the delta mode over the same schema, on a random-walk feed over a
+// handful of symbols. The bytes per message of both are printed once at setup, since JMH only
+// reports time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeltaBenchmark {
+
+    @Param({"Protobuf", "SBE", "Avro", "FlatBuffers"})
+    private String protocol;
+
+    private ProtocolSerializer stateless;
+    private DeltaSerializer delta;
+    private MarketDataPayload[] updates;
+    private UnsafeBuffer encodeBuffer;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        stateless = switch (protocol) {
+            case "Protobuf" -> new ProtobufSerializer();
+            case "SBE" -> new SbeSerializer();
+            case "Avro" -> new AvroSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+        delta = new DeltaSerializer(stateless);
+        encodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(4096));
+
+        Random random = new Random(42);
+        long[] mid = new long[8];
+        updates = new MarketDataPayload[1024];
+        for (int i = 0; i < updates.length; i++) {
+            int symbol = i % mid.length;
+            mid[symbol] = mid[symbol] == 0 ? 10_000L * (symbol + 1) : mid[symbol] + random.nextInt(11) - 5;
+            updates[i] = new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L + i, 1001L + i, 1),
+                    new MarketDataPayload.Instrument("SYM" + symbol, "NASDAQ", "USD"),
+                    List.of(new MarketDataPayload.BidAskEntry(mid[symbol] - 1, 100L + random.nextInt(100), 1, 0, 1),
+                            new MarketDataPayload.BidAskEntry(mid[symbol] + 1, 100L + random.nextInt(100), 1, 1, 1)));
+        }
+
+        long statelessBytes = 0;
+        long deltaBytes = 0;
+        for (MarketDataPayload update : updates) {
+            statelessBytes += stateless.serialize(update, encodeBuffer, 0);
+            deltaBytes += delta.serialize(update, encodeBuffer, 0);
+        }
+        System.out.printf("%n%s: %.1f bytes/message stateless, %.1f bytes/message delta%n",
+                protocol, (double) statelessBytes / updates.length, (double) deltaBytes / updates.length);
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (updates.length - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int statelessEncode() throws IOException {
+        return stateless.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public int deltaEncode() throws IOException {
+        return delta.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.StringCache;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encoding an incremental update where only price, size and sequence change: a full builder
+// rebuild against patching the per-instrument template in place. The fallback case changes the
+// currency on every message, so the patching serializer rebuilds its template each time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FlatBuffersMutationBenchmark {
+
+    private FlatBuffersSerializer rebuildSerializer;
+    private FlatBuffersSerializer patchSerializer;
+    private MarketDataPayload[] updates;
+    private MarketDataPayload[] reshapedUpdates;
+    private UnsafeBuffer encodeBuffer;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rebuildSerializer = new FlatBuffersSerializer();
+        patchSerializer = new FlatBuffersSerializer(new StringCache(), true);
+        encodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(4096));
+
+        updates = new MarketDataPayload[64];
+        reshapedUpdates = new MarketDataPayload[updates.length];
+        for (int i = 0; i < updates.length; i++) {
+            List<MarketDataPayload.BidAskEntry> entries = List.of(
+                    new MarketDataPayload.BidAskEntry(25000L + i, 100L + i, 1, 0, 1),
+                    new MarketDataPayload.BidAskEntry(25010L + i, 50L + i, 1, 1, 1));
+            MarketDataPayload.Header header =
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L + i, 1001L + i, 1);
+            updates[i] = new MarketDataPayload(header, new MarketDataPayload.Instrument("MSFT", "NASDAQ", "USD"), entries);
+            reshapedUpdates[i] = new MarketDataPayload(header,
+                    new MarketDataPayload.Instrument("MSFT", "NASDAQ", i % 2 == 0 ? "USD" : "EUR"), entries);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (updates.length - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int fullRebuild() throws IOException {
+        return rebuildSerializer.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public int mutateInPlace() throws IOException {
+        return patchSerializer.serialize(updates[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public int mutateFallbackToRebuild() throws IOException {
+        return patchSerializer.serialize(reshapedUpdates[nextIndex()], encodeBuffer, 0);
+    }
+}
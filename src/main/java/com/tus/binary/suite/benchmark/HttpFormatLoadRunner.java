@@ -0,0 +1,177 @@
+package com.tus.binary.suite.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tus.binary.suite.Application;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// HTTP throughput of POST /api/market-data per body format, JSON against the binary converters.
+// A fixed number of clients, each on its own virtual thread, post pre-encoded bodies back to back
+// with the same format in Accept, so the server decodes the body and encodes the reply in that
+// format on every request. Reports requests/s, latency and the bytes sent each way.
+// The target is "embedded", which starts the application in process on a free port, or the base
+// URL of a running instance, e.g. http://localhost:8080.
+// Arguments: [target] [secondsPerFormat] [clients]
+public class HttpFormatLoadRunner {
+
+    private static final int BODIES = 256;
+
+    private record Format(String name, String contentType, byte[][] bodies) {
+    }
+
+    private record LoadResult(double rate, long failed, double requestBytes, double responseBytes,
+            Histogram latency) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "embedded";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = target;
+        if ("embedded".equals(target)) {
+            context = SpringApplication.run(Application.class, "--server.port=0", "--metrics.hlog.directory=");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            run(URI.create(baseUrl + "/api/market-data"), seconds, clients, target);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(URI uri, int seconds, int clients, String target) throws Exception {
+        MarketDataPayload[] payloads = new MarketDataGenerator(42, MarketDataGenerator.Shape.incremental(64))
+                .next(BODIES);
+        List<Format> formats = List.of(
+                format("JSON", "application/json", payloads, new ObjectMapper()::writeValueAsBytes),
+                format("SBE", "application/x-sbe", payloads, new SbeSerializer()::serialize),
+                format("Protobuf", "application/x-protobuf", payloads, new ProtobufSerializer()::serialize),
+                format("FlatBuffers", "application/x-flatbuffers", payloads, new FlatBuffersSerializer()::serialize),
+                format("Avro", "avro/binary", payloads, new AvroSerializer()::serialize));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_http_format_result.md";
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.println("# HTTP Format Results - " + timestamp);
+            writer.println();
+            writer.printf("Target: %s, %d clients, %d s per format, POST with the same format in Accept%n%n",
+                    target, clients, seconds);
+            writer.println("| Format | Requests/s | Failed | Request Bytes | Response Bytes | p50 (us) | p99 (us) "
+                    + "| p99.9 (us) |");
+            writer.println("|---|---|---|---|---|---|---|---|");
+
+            // Warm every format up before measuring any, so the request path shared by all of them is
+            // compiled by then and the first format measured is not penalised
+            for (Format format : formats) {
+                load(client, uri, format, clients, Math.max(2, seconds / 2));
+            }
+            for (Format format : formats) {
+                LoadResult result = load(client, uri, format, clients, seconds);
+                writer.printf("| %s | %.0f | %d | %.0f | %.0f | %.1f | %.1f | %.1f |%n",
+                        format.name(), result.rate(), result.failed(), result.requestBytes(), result.responseBytes(),
+                        result.latency().getValueAtPercentile(50) / 1000.0,
+                        result.latency().getValueAtPercentile(99) / 1000.0,
+                        result.latency().getValueAtPercentile(99.9) / 1000.0);
+                writer.flush();
+            }
+        }
+
+        System.out.println("Results written to " + fileName);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode(MarketDataPayload payload) throws Exception;
+    }
+
+    private static Format format(String name, String contentType, MarketDataPayload[] payloads, Encoder encoder)
+            throws Exception {
+        byte[][] bodies = new byte[payloads.length][];
+        for (int i = 0; i < payloads.length; i++) {
+            bodies[i] = encoder.encode(payloads[i]);
+        }
+        return new Format(name, contentType, bodies);
+    }
+
+    private static LoadResult load(HttpClient client, URI uri, Format format, int clients, int seconds)
+            throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(3);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong requestBytes = new AtomicLong();
+        AtomicLong responseBytes = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int first = c;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = first; System.nanoTime() < deadline; i++) {
+                    byte[] body = format.bodies()[i % format.bodies().length];
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(10))
+                            .header("Content-Type", format.contentType())
+                            .header("Accept", format.contentType())
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() == 200) {
+                            latency.recordValue(System.nanoTime() - sent);
+                            completed.incrementAndGet();
+                            requestBytes.addAndGet(body.length);
+                            responseBytes.addAndGet(response.body().length);
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        double done = Math.max(1, completed.get());
+        return new LoadResult(completed.get() / elapsed, failed.get(), requestBytes.get() / done,
+                responseBytes.get() / done, latency);
+    }
+}
@@ -0,0 +1,79 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.jfr.BatchEvent;
+import com.tus.binary.suite.jfr.DecodeEvent;
+import com.tus.binary.suite.jfr.EncodeEvent;
+import com.tus.binary.suite.jfr.InstrumentedSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import jdk.jfr.Recording;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the JFR instrumentation on SBE, the fastest path and so the one where it would show most.
+// plain is the bare serializer, idle the instrumented one with no recording running, and recording
+// the instrumented one under a recording that has the events enabled at their default thresholds,
+// which a normal call never reaches.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JfrOverheadBenchmark {
+
+    @Param({"plain", "idle", "recording"})
+    private String mode;
+
+    private ProtocolSerializer serializer;
+    private Recording recording;
+    private MarketDataPayload payload;
+    private UnsafeBuffer encodeBuffer;
+    private UnsafeBuffer encoded;
+    private int encodedLength;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ProtocolSerializer sbe = new SbeSerializer();
+        serializer = "plain".equals(mode) ? sbe : new InstrumentedSerializer(sbe);
+        if ("recording".equals(mode)) {
+            recording = new Recording();
+            recording.enable(EncodeEvent.class).withThreshold(Duration.ofMillis(1));
+            recording.enable(DecodeEvent.class).withThreshold(Duration.ofMillis(1));
+            recording.enable(BatchEvent.class).withThreshold(Duration.ofMillis(1));
+            recording.start();
+        }
+
+        payload = MarketDataPayload.createSample();
+        encodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+        encoded = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+        encodedLength = sbe.serialize(payload, encoded, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return serializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public long decodeView() throws IOException {
+        MarketDataView view = serializer.wrap(encoded, 0, encodedLength);
+        return view.price(0) + view.sequenceId();
+    }
+
+    @Benchmark
+    public MarketDataPayload decode() throws IOException {
+        return serializer.deserialize(encoded, 0, encodedLength);
+    }
+}
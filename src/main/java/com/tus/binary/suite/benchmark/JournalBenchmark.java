@@ -0,0 +1,110 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.journal.Journal;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Sustained append throughput into the memory-mapped journal, and the latency of
+// reading one frame back by a random sequence id through the sparse index.
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JournalBenchmark {
+
+    private static final int SEEK_FRAMES = 1_000_000;
+
+    @Param({"SBE", "Protobuf", "FlatBuffers", "Avro"})
+    private String protocol;
+
+    private ProtocolSerializer serializer;
+    private MarketDataPayload template;
+    private long nextSequenceId;
+    private Path appendDirectory;
+    private Journal appendJournal;
+    private Path seekDirectory;
+    private Journal seekJournal;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        serializer = switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+        template = MarketDataPayload.createSample();
+
+        seekDirectory = Files.createTempDirectory("journal-seek-");
+        seekJournal = new Journal(seekDirectory, serializer);
+        for (int i = 0; i < SEEK_FRAMES; i++) {
+            seekJournal.append(withSequence(i));
+        }
+    }
+
+    // Fresh journal per iteration so the disk used stays bounded by one iteration's appends
+    @Setup(Level.Iteration)
+    public void openAppendJournal() throws IOException {
+        appendDirectory = Files.createTempDirectory("journal-append-");
+        appendJournal = new Journal(appendDirectory, serializer);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAppendJournal() throws IOException {
+        appendJournal.close();
+        delete(appendDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        seekJournal.close();
+        delete(seekDirectory);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public int append() throws IOException {
+        return appendJournal.append(withSequence(nextSequenceId++));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public boolean randomSeek(Blackhole blackhole) {
+        long sequenceId = ThreadLocalRandom.current().nextInt(SEEK_FRAMES);
+        return seekJournal.readBySequenceId(sequenceId,
+                (DirectBuffer buffer, int offset, int length, long id, long timestamp) -> blackhole.consume(length));
+    }
+
+    private MarketDataPayload withSequence(long sequenceId) {
+        MarketDataPayload.Header header = template.header();
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(header.messageType(), header.timestamp() + sequenceId, sequenceId,
+                        header.version()),
+                template.instrument(),
+                template.entries());
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            List<Path> paths = files.sorted(Comparator.reverseOrder()).toList();
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
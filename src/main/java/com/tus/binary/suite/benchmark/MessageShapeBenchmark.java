@@ -0,0 +1,77 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode cost against the number of bid/ask entries per message, from a single-entry
+// trade up to a 1000-entry book. Each invocation takes the next of a ring of generated messages of
+// that size, so prices, sizes and symbols vary the way they would on a feed.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageShapeBenchmark {
+
+    private static final int RING_SIZE = 256;
+
+    @Param({"SBE", "Protobuf", "FlatBuffers", "Avro"})
+    private String protocol;
+
+    @Param({"1", "4", "16", "64", "256", "1000"})
+    private int entries;
+
+    private ProtocolSerializer serializer;
+    private MarketDataPayload[] payloads;
+    private ExpandableDirectByteBuffer encodeBuffer;
+    private ExpandableDirectByteBuffer[] encoded;
+    private int[] encodedLengths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        serializer = switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+
+        MarketDataGenerator generator = new MarketDataGenerator(42,
+                MarketDataGenerator.Shape.incremental(512).withEntries(entries, entries));
+        payloads = generator.next(RING_SIZE);
+        encodeBuffer = new ExpandableDirectByteBuffer(64 * 1024);
+        encoded = new ExpandableDirectByteBuffer[RING_SIZE];
+        encodedLengths = new int[RING_SIZE];
+        for (int i = 0; i < RING_SIZE; i++) {
+            encoded[i] = new ExpandableDirectByteBuffer(1024);
+            encodedLengths[i] = serializer.serialize(payloads[i], encoded[i], 0);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (RING_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return serializer.serialize(payloads[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload decode() throws IOException {
+        int index = nextIndex();
+        return serializer.deserialize(encoded[index], 0, encodedLengths[index]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// A feed-like mix instead of one sample: mostly single-entry trades, a good share of incremental
+// refreshes and the occasional 200-level snapshot, spread over a skewed symbol universe. The
+// symbol count matters to the string handling and caches, the mix to everything else.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MixedStreamBenchmark {
+
+    private static final int STREAM_LENGTH = 4096;
+
+    @Param({"SBE", "Protobuf", "FlatBuffers", "Avro"})
+    private String protocol;
+
+    @Param({"16", "5000"})
+    private int symbols;
+
+    // Percent of trades / incremental refreshes; the rest are 200-level snapshots
+    @Param({"60/38"})
+    private String mix;
+
+    private ProtocolSerializer serializer;
+    private MarketDataPayload[] stream;
+    private ExpandableDirectByteBuffer encodeBuffer;
+    private ExpandableDirectByteBuffer encoded;
+    private int[] offsets;
+    private int[] lengths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        serializer = switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+
+        String[] parts = mix.split("/");
+        int tradePercent = Integer.parseInt(parts[0]);
+        int incrementalPercent = Integer.parseInt(parts[1]);
+        MarketDataGenerator trades = new MarketDataGenerator(1, MarketDataGenerator.Shape.trades(symbols));
+        MarketDataGenerator incremental = new MarketDataGenerator(1, MarketDataGenerator.Shape.incremental(symbols));
+        MarketDataGenerator snapshots = new MarketDataGenerator(1, MarketDataGenerator.Shape.snapshot(symbols, 200));
+        SplittableRandom random = new SplittableRandom(7);
+
+        stream = new MarketDataPayload[STREAM_LENGTH];
+        offsets = new int[STREAM_LENGTH];
+        lengths = new int[STREAM_LENGTH];
+        encodeBuffer = new ExpandableDirectByteBuffer(64 * 1024);
+        encoded = new ExpandableDirectByteBuffer(STREAM_LENGTH * 256);
+        int offset = 0;
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            int roll = random.nextInt(100);
+            stream[i] = roll < tradePercent ? trades.next()
+                    : roll < tradePercent + incrementalPercent ? incremental.next() : snapshots.next();
+            offsets[i] = offset;
+            lengths[i] = serializer.serialize(stream[i], encoded, offset);
+            offset += lengths[i];
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (STREAM_LENGTH - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return serializer.serialize(stream[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload decode() throws IOException {
+        int index = nextIndex();
+        return serializer.deserialize(encoded, offsets[index], lengths[index]);
+    }
+}
@@ -0,0 +1,225 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolRegistry;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Fires requests at a fixed rate whether or not earlier ones have completed, and steps the rate
+// up until a protocol can no longer keep up. Unlike HdrVerificationRunner's closed loop, a slow
+// response does not delay the next request, so the queueing it causes shows up in the numbers.
+//
+// Two views of the same requests are kept per step:
+//   response - from the time the request was scheduled to go out to its completion
+//   service  - from the time it actually started to its completion
+// Because requests go out on schedule, response time already includes any wait a slow call
+// caused; no coordinated-omission correction is applied on top.
+// A step counts as saturated when the achieved rate falls below 95% of the target, the p99
+// response time exceeds the SLA, requests fail, or too many are in flight at once.
+//
+// The target is either "direct", calling the serializers in process the way the controller does,
+// or the base URL of a running instance, e.g. http://localhost:8080, hitting /api/test/{protocol}.
+// Direct calls run on a fixed pool of platform threads the size of Tomcat's default worker pool,
+// so the serializers' per-thread contexts are built once per worker and reused, as they are
+// behind the controller. HTTP requests each wait on their own virtual thread.
+// Arguments: [target] [stepSeconds] [rate...]
+public class OpenLoopLoadGenerator {
+
+    private static final int[] DEFAULT_RATES = {1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000};
+    private static final long SLA_P99_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_IN_FLIGHT = 10_000;
+    // server.tomcat.threads.max default
+    private static final int DIRECT_THREADS = 200;
+
+    @FunctionalInterface
+    private interface Call {
+        boolean invoke() throws Exception;
+    }
+
+    private record StepResult(int targetRate, double achievedRate, long completed, long failed, boolean overloaded,
+            Histogram response, Histogram service) {
+
+        boolean saturated() {
+            return overloaded || failed > 0 || achievedRate < targetRate * 0.95
+                    || response.getValueAtPercentile(99) > SLA_P99_NANOS;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "direct";
+        int stepSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int[] rates = DEFAULT_RATES;
+        if (args.length > 2) {
+            rates = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                rates[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+
+        boolean direct = "direct".equals(target);
+        Map<String, Call> calls = direct ? directCalls() : httpCalls(target);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_open_loop_result.md";
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName));
+             ExecutorService executor = direct
+                     ? Executors.newFixedThreadPool(DIRECT_THREADS)
+                     : Executors.newVirtualThreadPerTaskExecutor()) {
+            writer.println("# Open-Loop Load Results - " + timestamp);
+            writer.println();
+            writer.printf("Target: %s, %d s per step, SLA p99 < %d ms%n", target, stepSeconds,
+                    TimeUnit.NANOSECONDS.toMillis(SLA_P99_NANOS));
+            writer.printf("Requests are %s; response time runs from each request's scheduled start, "
+                    + "service time from when it actually started.%n%n", direct
+                    ? "in-process calls on " + DIRECT_THREADS + " pooled platform threads"
+                    : "HTTP calls, one virtual thread each");
+            writer.println("| Protocol | Target/s | Achieved/s | Failed | Response p50 (us) | Response p99 (us) "
+                    + "| Service p99 (us) | Saturated |");
+            writer.println("|---|---|---|---|---|---|---|---|");
+
+            Map<String, Integer> saturation = new LinkedHashMap<>();
+            for (Map.Entry<String, Call> entry : calls.entrySet()) {
+                // Warm up the call path before the first measured step
+                runStep(entry.getValue(), rates[0], 1, executor);
+
+                int sustained = 0;
+                for (int rate : rates) {
+                    StepResult result = runStep(entry.getValue(), rate, stepSeconds, executor);
+                    writer.printf("| %s | %d | %.0f | %d | %.1f | %.1f | %.1f | %s |%n",
+                            entry.getKey(), rate, result.achievedRate(), result.failed(),
+                            result.response().getValueAtPercentile(50) / 1000.0,
+                            result.response().getValueAtPercentile(99) / 1000.0,
+                            result.service().getValueAtPercentile(99) / 1000.0,
+                            result.saturated() ? "yes" : "no");
+                    writer.flush();
+                    if (result.saturated()) {
+                        break;
+                    }
+                    sustained = rate;
+                }
+                saturation.put(entry.getKey(), sustained);
+            }
+
+            writer.println();
+            writer.println("| Protocol | Highest Sustained Rate/s |");
+            writer.println("|---|---|");
+            saturation.forEach((protocol, rate) -> writer.printf("| %s | %d |%n", protocol, rate));
+        }
+
+        System.out.println("Results written to " + fileName);
+    }
+
+    private static StepResult runStep(Call call, int rate, int seconds, ExecutorService executor)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = (long) rate * seconds;
+        Histogram response = new ConcurrentHistogram(3);
+        Histogram service = new ConcurrentHistogram(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+        boolean overloaded = false;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 50_000) {
+                LockSupport.parkNanos(wait - 20_000);
+            }
+            while (System.nanoTime() < scheduled) {
+                Thread.onSpinWait();
+            }
+            if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+                overloaded = true;
+                inFlight.decrementAndGet();
+                break;
+            }
+
+            executor.execute(() -> {
+                long started = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = call.invoke();
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long finished = System.nanoTime();
+                if (ok) {
+                    response.recordValue(finished - scheduled);
+                    service.recordValue(finished - started);
+                    completed.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+                lastCompletion.accumulateAndGet(finished, Math::max);
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        overloaded |= inFlight.get() > 0;
+
+        double elapsed = Math.max(1, lastCompletion.get() - start);
+        return new StepResult(rate, completed.get() * 1e9 / elapsed, completed.get(), failed.get(), overloaded,
+                response, service);
+    }
+
+    // Same work as the controller endpoints, for every registered protocol: encode the sample,
+    // decode it and compare
+    private static Map<String, Call> directCalls() {
+        Map<String, Call> calls = new LinkedHashMap<>();
+        for (ProtocolSerializer serializer : ProtocolRegistry.discover().serializers()) {
+            calls.put(serializer.getName(), () -> {
+                MarketDataPayload payload = MarketDataPayload.createSample();
+                return payload.equals(serializer.deserialize(serializer.serialize(payload)));
+            });
+        }
+        return calls;
+    }
+
+    private static Map<String, Call> httpCalls(String baseUrl) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Map<String, Call> calls = new LinkedHashMap<>();
+        for (String name : ProtocolRegistry.discover().names()) {
+            String endpoint = ProtocolRegistry.key(name);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/test/" + endpoint))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            calls.put(endpoint, () -> {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                return response.statusCode() == 200;
+            });
+        }
+        return calls;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.book.OrderBook;
+import com.tus.binary.suite.book.OrderBookEngine;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full cost per message of decoding an incremental update and applying it to the book.
+// Each message inserts a new top level and then updates it, so after the first few messages
+// the book stays full at the configured depth and every ADD shifts the whole side.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBookBenchmark {
+
+    private OrderBookEngine engine;
+    private ProtobufSerializer protobufSerializer;
+    private FlatBuffersSerializer flatBuffersSerializer;
+    private SbeSerializer sbeSerializer;
+    private AvroSerializer avroSerializer;
+    private UnsafeBuffer protobufBuffer;
+    private UnsafeBuffer flatBuffersBuffer;
+    private UnsafeBuffer sbeBuffer;
+    private UnsafeBuffer avroBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        engine = new OrderBookEngine(10);
+        protobufSerializer = new ProtobufSerializer();
+        flatBuffersSerializer = new FlatBuffersSerializer();
+        sbeSerializer = new SbeSerializer();
+        avroSerializer = new AvroSerializer();
+
+        MarketDataPayload payload = new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L, 1001L, 1),
+                new MarketDataPayload.Instrument("MSFT", "NASDAQ", "USD"),
+                List.of(
+                        new MarketDataPayload.BidAskEntry(25000L, 100L, 1, 0, 0),
+                        new MarketDataPayload.BidAskEntry(25010L, 50L, 1, 1, 0),
+                        new MarketDataPayload.BidAskEntry(25000L, 120L, 1, 0, 1),
+                        new MarketDataPayload.BidAskEntry(25010L, 70L, 1, 1, 1)));
+
+        protobufBuffer = encode(protobufSerializer, payload);
+        flatBuffersBuffer = encode(flatBuffersSerializer, payload);
+        sbeBuffer = encode(sbeSerializer, payload);
+        avroBuffer = encode(avroSerializer, payload);
+    }
+
+    private static UnsafeBuffer encode(ProtocolSerializer serializer, MarketDataPayload payload) throws IOException {
+        byte[] encoded = serializer.serialize(payload);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(encoded.length));
+        buffer.putBytes(0, encoded);
+        return buffer;
+    }
+
+    @Benchmark
+    public long protobufDecodeAndApply() throws IOException {
+        return bestBid(engine.onMessage(protobufSerializer, protobufBuffer, 0, protobufBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long sbeDecodeAndApply() throws IOException {
+        return bestBid(engine.onMessage(sbeSerializer, sbeBuffer, 0, sbeBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long flatBuffersDecodeAndApply() throws IOException {
+        return bestBid(engine.onMessage(flatBuffersSerializer, flatBuffersBuffer, 0, flatBuffersBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long avroDecodeAndApply() throws IOException {
+        return bestBid(engine.onMessage(avroSerializer, avroBuffer, 0, avroBuffer.capacity()));
+    }
+
+    private static long bestBid(OrderBook book) {
+        return book.bestBidPrice() + book.bestBidSize();
+    }
+}
@@ -0,0 +1,133 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.book.OrderBookEngine;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.pipeline.MarketDataPipeline;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.transcode.MarketDataWriter;
+import com.tus.binary.suite.transcode.Transcoder;
+import org.HdrHistogram.Histogram;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Pushes SBE frames into a MarketDataPipeline from one producer thread and reports the sustained
+// rate along with every stage's latency and input queue depth, so the stage that holds things up
+// stands out. With no rate the producer offers as fast as the pipeline takes frames, which keeps
+// the rings full and measures capacity; a rate below that shows the latency of a pipeline keeping
+// up. The handler applies each message to an OrderBookEngine; the publisher discards the result.
+// A short unmeasured run warms the stages up.
+// Each stage needs a core of its own with busy-spin; on fewer cores use yield or backoff.
+// Arguments: [busy-spin|yield|backoff] [seconds] [publish protocol, SBE passes frames through]
+//            [messagesPerSecond, 0 for as fast as possible]
+public class PipelineLoadRunner {
+
+    private static final int FRAME_COUNT = 4096;
+    private static final int MAX_FRAME_LENGTH = 1024;
+
+    private record Frames(UnsafeBuffer buffer, int[] lengths) {
+    }
+
+    private record RunResult(long offered, long published, long rejectedOffers, double seconds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String idleStrategy = args.length > 0 ? args[0] : MarketDataPipeline.DEFAULT_IDLE_STRATEGY;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String publishAs = args.length > 2 ? args[2] : "SBE";
+        int rate = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        Frames frames = frames();
+        try (MarketDataPipeline warmup = pipeline(idleStrategy, publishAs).start()) {
+            run(warmup, frames, 2, rate);
+        }
+
+        try (MarketDataPipeline pipeline = pipeline(idleStrategy, publishAs).start()) {
+            RunResult result = run(pipeline, frames, seconds, rate);
+
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String fileName = timestamp + "_pipeline_result.md";
+            try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+                writer.println("# Pipeline Results - " + timestamp);
+                writer.println();
+                writer.printf("Idle strategy %s, published as %s, %d s at %s: %d offered, %d published, "
+                                + "%d offers refused by a full ring, %.0f msgs/s%n%n",
+                        idleStrategy, publishAs, seconds, rate > 0 ? rate + " msgs/s" : "full speed",
+                        result.offered(), result.published(),
+                        result.rejectedOffers(), result.published() / result.seconds());
+                writer.println("| Stage | Messages | Dropped | p50 (ns) | p99 (ns) | p99.9 (ns) | Max (ns) "
+                        + "| Queue p50 | Queue p99 | Queue Max |");
+                writer.println("|---|---|---|---|---|---|---|---|---|---|");
+                for (MarketDataPipeline.StageStats stage : pipeline.stats()) {
+                    Histogram depth = stage.queueDepth();
+                    writer.printf("| %s | %d | %d%s | %d | %d | %d |%n", stage.stage(), stage.messages(),
+                            stage.dropped(), latency(stage.latency()), depth.getValueAtPercentile(50),
+                            depth.getValueAtPercentile(99), depth.getMaxValue());
+                }
+                Histogram endToEnd = pipeline.endToEndLatency();
+                writer.printf("| end-to-end | %d | %s | | | |%n", endToEnd.getTotalCount(), latency(endToEnd));
+            }
+            System.out.println("Results written to " + fileName);
+        }
+    }
+
+    private static MarketDataPipeline pipeline(String idleStrategy, String publishAs) {
+        OrderBookEngine engine = new OrderBookEngine(10);
+        MarketDataWriter writer = "SBE".equals(publishAs) ? null : Transcoder.writer(publishAs);
+        MarketDataPipeline.Publisher discard = (buffer, offset, length) -> { };
+        return new MarketDataPipeline(view -> engine.apply(view) != null, writer, discard, idleStrategy,
+                MarketDataPipeline.DEFAULT_RING_CAPACITY);
+    }
+
+    // A ring of generated incremental refreshes, encoded once so the producer only copies
+    private static Frames frames() throws IOException {
+        SbeSerializer serializer = new SbeSerializer();
+        MarketDataPayload[] payloads = new MarketDataGenerator(42, MarketDataGenerator.Shape.incremental(512))
+                .next(FRAME_COUNT);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(FRAME_COUNT * MAX_FRAME_LENGTH));
+        int[] lengths = new int[FRAME_COUNT];
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            lengths[i] = serializer.serialize(payloads[i], buffer, i * MAX_FRAME_LENGTH);
+        }
+        return new Frames(buffer, lengths);
+    }
+
+    private static RunResult run(MarketDataPipeline pipeline, Frames frames, int seconds, int rate)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        long sent = 0;
+        int next = 0;
+        while (System.nanoTime() < deadline) {
+            // Check the clock once per batch, it costs about as much as an offer
+            for (int i = 0; i < 64; i++) {
+                if (rate > 0 && System.nanoTime() < start + sent * intervalNanos) {
+                    Thread.onSpinWait();
+                } else if (pipeline.offer(frames.buffer(), next * MAX_FRAME_LENGTH, frames.lengths()[next])) {
+                    next = (next + 1) & (FRAME_COUNT - 1);
+                    sent++;
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        if (!pipeline.drain(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Pipeline did not drain, " + pipeline.errors() + " stage errors");
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        return new RunResult(pipeline.offered(), pipeline.published(), pipeline.rejected(), elapsed);
+    }
+
+    private static String latency(Histogram histogram) {
+        return String.format(" | %d | %d | %d | %d", histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+}
@@ -0,0 +1,92 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.service.ProtocolRegistry;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// The same encode, decode and view work for any protocol in the ProtocolRegistry, looked up by name
+// or key, so a codec added through a service entry needs no benchmark code of its own. The defaults
+// cover the core four; ProtocolMatrixRunner passes whatever the registry holds, and a decorated
+// name such as "sbe+deflate" works too. view wraps the message and reads every field, the way a
+// consumer that never builds a payload would.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtocolMatrixBenchmark {
+
+    static final int RING_SIZE = 256;
+    static final String[] SHAPES = {"trade", "incremental", "snapshot"};
+
+    @Param({"sbe", "protobuf", "flatbuffers", "avro"})
+    private String protocol;
+
+    @Param({"trade", "incremental", "snapshot"})
+    private String shape;
+
+    private ProtocolSerializer serializer;
+    private MarketDataPayload[] payloads;
+    private ExpandableDirectByteBuffer encodeBuffer;
+    private ExpandableDirectByteBuffer[] encoded;
+    private int[] encodedLengths;
+    private int next;
+
+    // Same seed for every protocol, so they all see the same messages
+    static MarketDataPayload[] payloads(String shape) {
+        MarketDataGenerator.Shape generatorShape = switch (shape) {
+            case "trade" -> MarketDataGenerator.Shape.trades(512);
+            case "incremental" -> MarketDataGenerator.Shape.incremental(512);
+            case "snapshot" -> MarketDataGenerator.Shape.snapshot(64, 20);
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+        return new MarketDataGenerator(42, generatorShape).next(RING_SIZE);
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        serializer = ProtocolRegistry.discover().get(protocol);
+        payloads = payloads(shape);
+        encodeBuffer = new ExpandableDirectByteBuffer(64 * 1024);
+        encoded = new ExpandableDirectByteBuffer[RING_SIZE];
+        encodedLengths = new int[RING_SIZE];
+        for (int i = 0; i < RING_SIZE; i++) {
+            encoded[i] = new ExpandableDirectByteBuffer(1024);
+            encodedLengths[i] = serializer.serialize(payloads[i], encoded[i], 0);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (RING_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        return serializer.serialize(payloads[nextIndex()], encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload decode() throws IOException {
+        int index = nextIndex();
+        return serializer.deserialize(encoded[index], 0, encodedLengths[index]);
+    }
+
+    @Benchmark
+    public long view() throws IOException {
+        int index = nextIndex();
+        MarketDataView view = serializer.wrap(encoded[index], 0, encodedLengths[index]);
+        long sum = view.timestamp() + view.sequenceId() + view.version() + view.messageType().length()
+                + view.symbol().length() + view.exchange().length() + view.currency().length();
+        for (int i = 0; i < view.entryCount(); i++) {
+            sum += view.price(i) + view.size(i) + view.level(i) + view.side(i) + view.updateAction(i);
+        }
+        return sum;
+    }
+}
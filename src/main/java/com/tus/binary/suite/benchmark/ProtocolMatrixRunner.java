@@ -0,0 +1,165 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolRegistry;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Runs every protocol in the ProtocolRegistry through ProtocolMatrixBenchmark and writes one
+// comparison per message shape: encoded size, latency (SampleTime mean and p99), throughput and
+// allocation per operation for encode, decode and view. The raw JMH results go to a JSON file
+// next to the report, which BaselineComparator can gate a later run against.
+// Protocols are registry names or keys, decorated ones included ("sbe+deflate"); by default
+// everything registered.
+// Arguments: [shapes, comma-separated] [forks] [protocol...]
+public class ProtocolMatrixRunner {
+
+    private static final String[] OPERATIONS = {"encode", "decode", "view"};
+
+    private record Cell(double meanNanos, double p99Nanos, double opsPerSecond, double allocBytes) {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String[] shapes = args.length > 0 && !args[0].isEmpty() ? args[0].split(",") : ProtocolMatrixBenchmark.SHAPES;
+        int forks = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        ProtocolRegistry registry = ProtocolRegistry.discover();
+        List<ProtocolSerializer> serializers = new ArrayList<>();
+        if (args.length > 2) {
+            for (int i = 2; i < args.length; i++) {
+                serializers.add(registry.get(args[i]));
+            }
+        } else {
+            serializers.addAll(registry.serializers());
+        }
+        String[] protocols = serializers.stream()
+                .map(serializer -> ProtocolRegistry.key(serializer.getName()))
+                .toArray(String[]::new);
+
+        Collection<RunResult> results = new ArrayList<>();
+        results.addAll(new Runner(options(forks, protocols, shapes)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build()).run());
+        results.addAll(new Runner(options(forks, protocols, shapes)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .build()).run());
+
+        Map<String, Cell> cells = cells(results);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_protocol_matrix_result.md";
+        String jsonFileName = timestamp + "_protocol_matrix_result.json";
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, jsonFileName).writeOut(results);
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.println("# Protocol Matrix Results - " + timestamp);
+            writer.println();
+            writer.printf("Protocols: %s, %d fork(s). Latency is the SampleTime mean / p99 in ns, "
+                    + "throughput in ops/s, allocation in B/op.%n", String.join(", ", protocols), forks);
+
+            for (String shape : shapes) {
+                MarketDataPayload[] payloads = ProtocolMatrixBenchmark.payloads(shape);
+                writer.println();
+                writer.printf("## %s (entries per message: %d on average)%n%n", shape, averageEntries(payloads));
+                writer.println("| Protocol | Size (B) | Encode ns | Decode ns | View ns "
+                        + "| Encode ops/s | Decode ops/s | View ops/s | Encode B/op | Decode B/op | View B/op |");
+                writer.println("|---|---|---|---|---|---|---|---|---|---|---|");
+
+                for (int p = 0; p < protocols.length; p++) {
+                    StringBuilder latency = new StringBuilder();
+                    StringBuilder throughput = new StringBuilder();
+                    StringBuilder alloc = new StringBuilder();
+                    for (String operation : OPERATIONS) {
+                        Cell cell = cells.get(protocols[p] + "/" + shape + "/" + operation);
+                        if (cell == null) {
+                            latency.append(" | ");
+                            throughput.append(" | ");
+                            alloc.append(" | ");
+                            continue;
+                        }
+                        latency.append(String.format(" | %.1f / %.1f", cell.meanNanos(), cell.p99Nanos()));
+                        throughput.append(String.format(" | %.0f", cell.opsPerSecond()));
+                        alloc.append(String.format(" | %.0f", cell.allocBytes()));
+                    }
+                    writer.printf("| %s | %.1f%s%s%s |%n", serializers.get(p).getName(),
+                            averageSize(serializers.get(p), payloads), latency, throughput, alloc);
+                }
+            }
+        }
+
+        System.out.println("Results written to " + fileName + " and " + jsonFileName);
+    }
+
+    private static ChainedOptionsBuilder options(int forks, String[] protocols, String[] shapes) {
+        return new OptionsBuilder()
+                .include("^" + ProtocolMatrixBenchmark.class.getName() + "\\.")
+                .param("protocol", protocols)
+                .param("shape", shapes)
+                .forks(forks)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class);
+    }
+
+    // Keyed protocol/shape/operation; latency and allocation come from the SampleTime pass
+    private static Map<String, Cell> cells(Collection<RunResult> results) {
+        Map<String, RunResult> sampled = new HashMap<>();
+        Map<String, RunResult> throughput = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String key = result.getParams().getParam("protocol") + "/" + result.getParams().getParam("shape")
+                    + "/" + benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            (result.getParams().getMode() == Mode.Throughput ? throughput : sampled).put(key, result);
+        }
+
+        Map<String, Cell> cells = new HashMap<>();
+        sampled.forEach((key, result) -> {
+            Result<?> alloc = result.getSecondaryResults().get(BaselineComparator.ALLOC_RATE_NORM);
+            RunResult ops = throughput.get(key);
+            cells.put(key, new Cell(
+                    result.getPrimaryResult().getScore(),
+                    result.getPrimaryResult().getStatistics().getPercentile(99),
+                    ops == null ? Double.NaN : ops.getPrimaryResult().getScore(),
+                    alloc == null ? Double.NaN : alloc.getScore()));
+        });
+        return cells;
+    }
+
+    private static double averageSize(ProtocolSerializer serializer, MarketDataPayload[] payloads) throws IOException {
+        ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(64 * 1024);
+        long total = 0;
+        for (MarketDataPayload payload : payloads) {
+            total += serializer.serialize(payload, buffer, 0);
+        }
+        return (double) total / payloads.length;
+    }
+
+    private static int averageEntries(MarketDataPayload[] payloads) {
+        return (int) Math.round(Arrays.stream(payloads).mapToInt(payload -> payload.entries().size()).average().orElse(0));
+    }
+}
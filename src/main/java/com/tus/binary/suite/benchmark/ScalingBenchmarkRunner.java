@@ -0,0 +1,71 @@
+package com.tus.binary.suite.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.TreeSet;
+
+// Runs ConcurrentSerializationBenchmark at 1, 2, 4, 8 and all available cores to show how each
+// protocol's throughput scales when threads share one serializer instance.
+public class ScalingBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        TreeSet<Integer> threadCounts = new TreeSet<>();
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_jmh_scaling_result.md";
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.println("# JMH Scaling Results - " + timestamp);
+            writer.println();
+            writer.println("| Benchmark | Threads | Score | Error | Unit | Per Thread | GC Alloc Rate |");
+            writer.println("|---|---|---|---|---|---|---|");
+
+            for (int threads : threadCounts) {
+                Options opt = new OptionsBuilder()
+                        .include(ConcurrentSerializationBenchmark.class.getSimpleName())
+                        .threads(threads)
+                        .forks(1)
+                        .warmupIterations(3)
+                        .measurementIterations(5)
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+                Collection<RunResult> results = new Runner(opt).run();
+                for (RunResult result : results) {
+                    String benchmarkName = result.getParams().getBenchmark();
+                    benchmarkName = benchmarkName.substring(benchmarkName.lastIndexOf(".") + 1);
+                    double score = result.getPrimaryResult().getScore();
+                    double error = result.getPrimaryResult().getStatistics().getMeanErrorAt(0.99);
+                    String unit = result.getPrimaryResult().getScoreUnit();
+
+                    String gcAlloc = "";
+                    var secondary = result.getSecondaryResults();
+                    if (secondary.containsKey("gc.alloc.rate.norm")) {
+                        gcAlloc = String.format("%.2f B/op", secondary.get("gc.alloc.rate.norm").getScore());
+                    }
+
+                    writer.printf("| %s | %d | %.2f | ± %.2f | %s | %.2f | %s |%n",
+                            benchmarkName, threads, score, error, unit, score / threads, gcAlloc);
+                }
+                writer.flush();
+            }
+        }
+
+        System.out.println("Results written to " + fileName);
+    }
+}
@@ -1,13 +1,18 @@
 package com.tus.binary.suite.benchmark;
 
 import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
 import com.tus.binary.suite.service.FlatBuffersSerializer;
 import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtobufWireSerializer;
 import com.tus.binary.suite.service.SbeSerializer;
 import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.AvroSingleObjectSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.openjdk.jmh.annotations.*;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -18,20 +23,33 @@ public class SerializationBenchmark {
 
     private MarketDataPayload payload;
     private ProtobufSerializer protobufSerializer;
+    private ProtobufWireSerializer protobufWireSerializer;
     private FlatBuffersSerializer flatBuffersSerializer;
     private SbeSerializer sbeSerializer;
     private AvroSerializer avroSerializer;
+    private AvroSingleObjectSerializer avroSingleObjectSerializer;
     private byte[] protobufEncoded;
     private byte[] flatBuffersEncoded;
     private byte[] sbeEncoded;
     private byte[] avroEncoded;
+    private byte[] avroSingleObjectEncoded;
+
+    // Caller-owned buffers for the zero-copy API, as a socket or file writer would hold
+    private UnsafeBuffer encodeBuffer;
+    private UnsafeBuffer protobufBuffer;
+    private UnsafeBuffer flatBuffersBuffer;
+    private UnsafeBuffer sbeBuffer;
+    private UnsafeBuffer avroBuffer;
+    private UnsafeBuffer avroSingleObjectBuffer;
 
     @Setup(Level.Trial)
     public void setup() throws Exception {
         protobufSerializer = new ProtobufSerializer();
+        protobufWireSerializer = new ProtobufWireSerializer();
         flatBuffersSerializer = new FlatBuffersSerializer();
         sbeSerializer = new SbeSerializer();
         avroSerializer = new AvroSerializer();
+        avroSingleObjectSerializer = new AvroSingleObjectSerializer();
 
         payload = new MarketDataPayload(
                 new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L, 1001L, 1),
@@ -46,6 +64,19 @@ public class SerializationBenchmark {
         flatBuffersEncoded = flatBuffersSerializer.serialize(payload);
         sbeEncoded = sbeSerializer.serialize(payload);
         avroEncoded = avroSerializer.serialize(payload);
+        avroSingleObjectEncoded = avroSingleObjectSerializer.serialize(payload);
+
+        encodeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(4096));
+        protobufBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(protobufEncoded.length));
+        protobufBuffer.putBytes(0, protobufEncoded);
+        flatBuffersBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(flatBuffersEncoded.length));
+        flatBuffersBuffer.putBytes(0, flatBuffersEncoded);
+        sbeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(sbeEncoded.length));
+        sbeBuffer.putBytes(0, sbeEncoded);
+        avroBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(avroEncoded.length));
+        avroBuffer.putBytes(0, avroEncoded);
+        avroSingleObjectBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(avroSingleObjectEncoded.length));
+        avroSingleObjectBuffer.putBytes(0, avroSingleObjectEncoded);
     }
 
     @Benchmark
@@ -58,6 +89,17 @@ public class SerializationBenchmark {
         return protobufSerializer.deserialize(protobufEncoded);
     }
 
+    // Same bytes as above, written and parsed without the generated builders and message graph
+    @Benchmark
+    public byte[] protobufWireSerialize() throws IOException {
+        return protobufWireSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload protobufWireDeserialize() throws IOException {
+        return protobufWireSerializer.deserialize(protobufEncoded);
+    }
+
     @Benchmark
     public byte[] sbeSerialize() throws IOException {
         return sbeSerializer.serialize(payload);
@@ -87,4 +129,109 @@ public class SerializationBenchmark {
     public MarketDataPayload avroDeserialize() throws IOException {
         return avroSerializer.deserialize(avroEncoded);
     }
+
+    // Single-object encoding with reused encoder, decoders and records, against the plain Avro path above
+    @Benchmark
+    public byte[] avroSingleObjectSerialize() throws IOException {
+        return avroSingleObjectSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public MarketDataPayload avroSingleObjectDeserialize() throws IOException {
+        return avroSingleObjectSerializer.deserialize(avroSingleObjectEncoded);
+    }
+
+    @Benchmark
+    public int protobufSerializeToBuffer() throws IOException {
+        return protobufSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload protobufDeserializeFromBuffer() throws IOException {
+        return protobufSerializer.deserialize(protobufBuffer, 0, protobufBuffer.capacity());
+    }
+
+    @Benchmark
+    public int protobufWireSerializeToBuffer() throws IOException {
+        return protobufWireSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload protobufWireDeserializeFromBuffer() throws IOException {
+        return protobufWireSerializer.deserialize(protobufBuffer, 0, protobufBuffer.capacity());
+    }
+
+    @Benchmark
+    public int sbeSerializeToBuffer() throws IOException {
+        return sbeSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload sbeDeserializeFromBuffer() throws IOException {
+        return sbeSerializer.deserialize(sbeBuffer, 0, sbeBuffer.capacity());
+    }
+
+    @Benchmark
+    public int flatBuffersSerializeToBuffer() throws IOException {
+        return flatBuffersSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload flatBuffersDeserializeFromBuffer() throws IOException {
+        return flatBuffersSerializer.deserialize(flatBuffersBuffer, 0, flatBuffersBuffer.capacity());
+    }
+
+    @Benchmark
+    public int avroSerializeToBuffer() throws IOException {
+        return avroSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload avroDeserializeFromBuffer() throws IOException {
+        return avroSerializer.deserialize(avroBuffer, 0, avroBuffer.capacity());
+    }
+
+    @Benchmark
+    public int avroSingleObjectSerializeToBuffer() throws IOException {
+        return avroSingleObjectSerializer.serialize(payload, encodeBuffer, 0);
+    }
+
+    @Benchmark
+    public MarketDataPayload avroSingleObjectDeserializeFromBuffer() throws IOException {
+        return avroSingleObjectSerializer.deserialize(avroSingleObjectBuffer, 0, avroSingleObjectBuffer.capacity());
+    }
+
+    @Benchmark
+    public long protobufWrap() throws IOException {
+        return readView(protobufSerializer.wrap(protobufBuffer, 0, protobufBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long protobufWireWrap() throws IOException {
+        return readView(protobufWireSerializer.wrap(protobufBuffer, 0, protobufBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long sbeWrap() throws IOException {
+        return readView(sbeSerializer.wrap(sbeBuffer, 0, sbeBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long flatBuffersWrap() throws IOException {
+        return readView(flatBuffersSerializer.wrap(flatBuffersBuffer, 0, flatBuffersBuffer.capacity()));
+    }
+
+    @Benchmark
+    public long avroWrap() throws IOException {
+        return readView(avroSerializer.wrap(avroBuffer, 0, avroBuffer.capacity()));
+    }
+
+    // Touches the handful of fields a typical consumer reads
+    private static long readView(MarketDataView view) {
+        long result = view.sequenceId() + view.symbol().charAt(0);
+        for (int i = 0; i < view.entryCount(); i++) {
+            result += view.price(i) * (view.side(i) == 0 ? 1 : -1);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,120 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.service.StringCache;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Decode cost with and without the string intern cache. cacheCapacity 0 disables the cache;
+// symbolCount above the capacity shows the cache thrashing. Run with -prof gc to see the
+// allocation per decode drop, the Metrics counters report the cache hit rate per iteration.
+// Protobuf is left out: its generated parser creates the Strings itself.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringCacheBenchmark {
+
+    // Benchmark scoped so Metrics and the benchmark methods are handed the same instance;
+    // the serializers and the cache are thread-safe, only the message cursor is per thread
+    @State(Scope.Benchmark)
+    public static class Decoders {
+
+        @Param({"0", "1024"})
+        private int cacheCapacity;
+
+        @Param({"16", "4096"})
+        private int symbolCount;
+
+        private StringCache stringCache;
+        private SbeSerializer sbeSerializer;
+        private FlatBuffersSerializer flatBuffersSerializer;
+        private AvroSerializer avroSerializer;
+        private UnsafeBuffer[] sbeMessages;
+        private UnsafeBuffer[] flatBuffersMessages;
+        private UnsafeBuffer[] avroMessages;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            stringCache = new StringCache(cacheCapacity, StringCache.DEFAULT_MAX_LENGTH);
+            sbeSerializer = new SbeSerializer(stringCache);
+            flatBuffersSerializer = new FlatBuffersSerializer(stringCache);
+            avroSerializer = new AvroSerializer(stringCache);
+
+            sbeMessages = new UnsafeBuffer[symbolCount];
+            flatBuffersMessages = new UnsafeBuffer[symbolCount];
+            avroMessages = new UnsafeBuffer[symbolCount];
+            MarketDataPayload sample = MarketDataPayload.createSample();
+            for (int i = 0; i < symbolCount; i++) {
+                MarketDataPayload payload = new MarketDataPayload(
+                        sample.header(),
+                        new MarketDataPayload.Instrument("SYM" + i, "NASDAQ", "USD"),
+                        sample.entries());
+                sbeMessages[i] = encode(sbeSerializer, payload);
+                flatBuffersMessages[i] = encode(flatBuffersSerializer, payload);
+                avroMessages[i] = encode(avroSerializer, payload);
+            }
+        }
+
+        private static UnsafeBuffer encode(ProtocolSerializer serializer, MarketDataPayload payload)
+                throws IOException {
+            return new UnsafeBuffer(serializer.serialize(payload));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Metrics {
+        private StringCache stringCache;
+
+        @Setup(Level.Iteration)
+        public void reset(Decoders decoders) {
+            stringCache = decoders.stringCache;
+            stringCache.resetStats();
+        }
+
+        public long cacheHits() {
+            return stringCache.hits();
+        }
+
+        public long cacheMisses() {
+            return stringCache.misses();
+        }
+
+        public double cacheHitRate() {
+            return stringCache.hitRate();
+        }
+    }
+
+    private int next;
+
+    private int nextIndex(Decoders decoders) {
+        int index = next;
+        next = index + 1 == decoders.symbolCount ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public MarketDataPayload sbeDeserialize(Decoders decoders, Metrics metrics) {
+        UnsafeBuffer message = decoders.sbeMessages[nextIndex(decoders)];
+        return decoders.sbeSerializer.deserialize(message, 0, message.capacity());
+    }
+
+    @Benchmark
+    public MarketDataPayload flatBuffersDeserialize(Decoders decoders, Metrics metrics) throws IOException {
+        UnsafeBuffer message = decoders.flatBuffersMessages[nextIndex(decoders)];
+        return decoders.flatBuffersSerializer.deserialize(message, 0, message.capacity());
+    }
+
+    @Benchmark
+    public MarketDataPayload avroDeserialize(Decoders decoders, Metrics metrics) throws IOException {
+        UnsafeBuffer message = decoders.avroMessages[nextIndex(decoders)];
+        return decoders.avroSerializer.deserialize(message, 0, message.capacity());
+    }
+}
@@ -0,0 +1,137 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.net.TcpFeedClient;
+import com.tus.binary.suite.net.TcpFeedServer;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Publishes a paced feed through TcpFeedServer over loopback to 1, 2, 4, 8 and 16 clients and
+// reports delivered messages/sec and publish-to-client latency. Each message carries the time it
+// was scheduled to go out rather than when it actually did, so a stalled publisher shows up in the
+// latency instead of hiding it. Every client materializes each message it reads.
+// Arguments: [protocol] [messages] [messagesPerSecond]
+public class TcpFeedLoadRunner {
+
+    private static final int[] CLIENT_COUNTS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws Exception {
+        String protocol = args.length > 0 ? args[0] : "SBE";
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int messagesPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 250_000;
+
+        ProtocolSerializer serializer = switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_tcp_feed_result.md";
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.println("# TCP Feed Results - " + timestamp);
+            writer.println();
+            writer.printf("%s, %d messages at %d msgs/s%n%n", serializer.getName(), messages, messagesPerSecond);
+            writer.println("| Clients | Delivered Msgs/s | Dropped | Batches | Slow Consumers "
+                    + "| p50 (us) | p99 (us) | p99.9 (us) | Max (us) |");
+            writer.println("|---|---|---|---|---|---|---|---|---|");
+
+            for (int clients : CLIENT_COUNTS) {
+                run(serializer, clients, messages, messagesPerSecond, writer);
+                writer.flush();
+            }
+        }
+
+        System.out.println("Results written to " + fileName);
+    }
+
+    private static void run(ProtocolSerializer serializer, int clientCount, int messages, int messagesPerSecond,
+            PrintWriter writer) throws Exception {
+        try (TcpFeedServer server = new TcpFeedServer(serializer, new InetSocketAddress("127.0.0.1", 0)).start()) {
+            List<Thread> readers = new ArrayList<>();
+            List<Histogram> histograms = new ArrayList<>();
+            long[] delivered = new long[clientCount];
+            for (int c = 0; c < clientCount; c++) {
+                TcpFeedClient client = new TcpFeedClient(serializer, server.localAddress());
+                Histogram histogram = new Histogram(3);
+                histograms.add(histogram);
+                int index = c;
+                Thread reader = new Thread(() -> {
+                    try (client) {
+                        MarketDataView view;
+                        while (client.messagesReceived() < messages && (view = client.readView()) != null) {
+                            MarketDataPayload payload = view.toPayload();
+                            histogram.recordValue(Math.max(0, System.nanoTime() - payload.header().timestamp()));
+                        }
+                        delivered[index] = client.messagesReceived();
+                    } catch (IOException e) {
+                        // Disconnected as a slow consumer, counted by the server
+                    }
+                }, "tcp-feed-client-" + c);
+                readers.add(reader);
+                reader.start();
+            }
+            while (server.clientCount() < clientCount) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                long scheduled = start + i * intervalNanos;
+                while (System.nanoTime() < scheduled) {
+                    Thread.onSpinWait();
+                }
+                server.publish(update(i, scheduled));
+            }
+            for (Thread reader : readers) {
+                reader.join(TimeUnit.SECONDS.toMillis(30));
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Histogram latency = new Histogram(3);
+            long total = 0;
+            for (int c = 0; c < clientCount; c++) {
+                latency.add(histograms.get(c));
+                total += delivered[c];
+            }
+            writer.printf("| %d | %.0f | %d | %d | %d | %.1f | %.1f | %.1f | %.1f |%n",
+                    clientCount,
+                    total * 1e9 / elapsed,
+                    server.messagesDropped(),
+                    server.batchesSent(),
+                    server.slowConsumersDisconnected(),
+                    latency.getValueAtPercentile(50) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getValueAtPercentile(99.9) / 1000.0,
+                    latency.getMaxValue() / 1000.0);
+        }
+    }
+
+    private static MarketDataPayload update(int i, long scheduledNanos) {
+        long mid = 15_000L + (i % 64);
+        return new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", scheduledNanos, i, 1),
+                new MarketDataPayload.Instrument("SYM" + i % 16, "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(mid - 1, 100L + i % 50, 1, 0, 1),
+                        new MarketDataPayload.BidAskEntry(mid + 1, 100L + i % 70, 1, 1, 1)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.transcode.Transcoder;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Re-encoding one protocol as another, every source/target pair: direct through the source view
+// into the target writer, against decoding into a MarketDataPayload and serializing that again.
+// Same-protocol pairs are included as the cost of a plain decode and re-encode.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranscodeBenchmark {
+
+    private static final int RING_SIZE = 256;
+
+    @Param({"SBE", "Protobuf", "FlatBuffers", "Avro"})
+    private String source;
+
+    @Param({"SBE", "Protobuf", "FlatBuffers", "Avro"})
+    private String target;
+
+    private Transcoder transcoder;
+    private ProtocolSerializer sourceSerializer;
+    private ProtocolSerializer targetSerializer;
+    private ExpandableDirectByteBuffer encoded;
+    private int[] offsets;
+    private int[] lengths;
+    private ExpandableDirectByteBuffer out;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        transcoder = Transcoder.of(source, target);
+        sourceSerializer = serializer(source);
+        targetSerializer = serializer(target);
+
+        MarketDataPayload[] payloads = new MarketDataGenerator(42, MarketDataGenerator.Shape.incremental(64))
+                .next(RING_SIZE);
+        encoded = new ExpandableDirectByteBuffer(RING_SIZE * 256);
+        offsets = new int[RING_SIZE];
+        lengths = new int[RING_SIZE];
+        int offset = 0;
+        for (int i = 0; i < RING_SIZE; i++) {
+            offsets[i] = offset;
+            lengths[i] = sourceSerializer.serialize(payloads[i], encoded, offset);
+            offset += lengths[i];
+        }
+        out = new ExpandableDirectByteBuffer(4096);
+    }
+
+    private static ProtocolSerializer serializer(String protocol) {
+        return switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (RING_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int direct() throws IOException {
+        int index = nextIndex();
+        return transcoder.transcode(encoded, offsets[index], lengths[index], out, 0);
+    }
+
+    @Benchmark
+    public int viaPayload() throws IOException {
+        int index = nextIndex();
+        MarketDataPayload payload = sourceSerializer.deserialize(encoded, offsets[index], lengths[index]);
+        return targetSerializer.serialize(payload, out, 0);
+    }
+}
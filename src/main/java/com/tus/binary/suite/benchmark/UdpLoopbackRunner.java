@@ -0,0 +1,128 @@
+package com.tus.binary.suite.benchmark;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.net.UdpPublisher;
+import com.tus.binary.suite.net.UdpSubscriber;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.DatagramChannel;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Publishes the same feed over a loopback UDP socket once per protocol, with a subscriber thread
+// materializing every message, and reports wire size, loss and receive-to-decode latency.
+// The publisher is not paced, so loss shows where the subscriber falls behind the socket buffer.
+// Arguments: [messages] [messagesPerDatagram]
+public class UdpLoopbackRunner {
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int messagesPerDatagram = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        List<ProtocolSerializer> serializers = List.of(
+                new SbeSerializer(), new ProtobufSerializer(), new FlatBuffersSerializer(), new AvroSerializer());
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = timestamp + "_udp_loopback_result.md";
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.println("# UDP Loopback Results - " + timestamp);
+            writer.println();
+            writer.printf("%d messages, up to %d per datagram%n%n", messages, messagesPerDatagram);
+            writer.println("| Protocol | Bytes/Msg | Datagrams | Dropped at Sender | Received | Lost | Duplicates "
+                    + "| Sent/s | p50 (us) | p99 (us) | p99.9 (us) | Max (us) |");
+            writer.println("|---|---|---|---|---|---|---|---|---|---|---|---|");
+
+            for (ProtocolSerializer serializer : serializers) {
+                run(serializer, messages, messagesPerDatagram, writer);
+                writer.flush();
+            }
+        }
+
+        System.out.println("Results written to " + fileName);
+    }
+
+    private static void run(ProtocolSerializer serializer, int messages, int messagesPerDatagram,
+            PrintWriter writer) throws Exception {
+        DatagramChannel subscriberChannel = DatagramChannel.open()
+                .setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024 * 1024)
+                .bind(new InetSocketAddress("127.0.0.1", 0));
+        subscriberChannel.configureBlocking(false);
+        UdpSubscriber subscriber = new UdpSubscriber(serializer, subscriberChannel);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] decodedEntries = new long[1];
+        Consumer<MarketDataView> decode = view -> decodedEntries[0] += view.toPayload().entries().size();
+        Thread subscriberThread = new Thread(() -> {
+            try {
+                while (subscriber.poll(decode) > 0 || running.get()) {
+                    Thread.onSpinWait();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, "udp-subscriber");
+        subscriberThread.start();
+
+        long start = System.nanoTime();
+        try (UdpPublisher publisher = new UdpPublisher(serializer, DatagramChannel.open(),
+                subscriberChannel.getLocalAddress())) {
+            for (int i = 0; i < messages; i++) {
+                publisher.offer(update(i));
+                if ((i + 1) % messagesPerDatagram == 0) {
+                    publisher.flush();
+                }
+            }
+            publisher.flush();
+            long elapsed = System.nanoTime() - start;
+
+            // Let the subscriber drain what is still queued in the socket buffer
+            TimeUnit.MILLISECONDS.sleep(200);
+            running.set(false);
+            subscriberThread.join();
+
+            Histogram latency = subscriber.latency();
+            // Losses at the tail never show up as a gap, so count them from the last id seen
+            long lost = messages - (subscriber.messagesReceived() - subscriber.duplicates());
+            writer.printf("| %s | %.1f | %d | %d | %d | %d | %d | %.0f | %.1f | %.1f | %.1f | %.1f |%n",
+                    serializer.getName(),
+                    (double) publisher.bytesSent() / publisher.messagesSent(),
+                    publisher.datagramsSent(),
+                    publisher.datagramsDropped(),
+                    subscriber.messagesReceived(),
+                    lost,
+                    subscriber.duplicates(),
+                    publisher.messagesSent() * 1e9 / elapsed,
+                    latency.getValueAtPercentile(50) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getValueAtPercentile(99.9) / 1000.0,
+                    latency.getMaxValue() / 1000.0);
+        } finally {
+            subscriber.close();
+        }
+    }
+
+    private static MarketDataPayload update(int i) {
+        long mid = 15_000L + (i % 64);
+        return new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", System.currentTimeMillis(), i, 1),
+                new MarketDataPayload.Instrument("SYM" + i % 16, "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(mid - 1, 100L + i % 50, 1, 0, 1),
+                        new MarketDataPayload.BidAskEntry(mid + 1, 100L + i % 70, 1, 1, 1)));
+    }
+}
@@ -0,0 +1,198 @@
+package com.tus.binary.suite.book;
+
+// Price-level (L2) book for one instrument, held in parallel primitive arrays per side.
+// Level 1 is top of book and sits at index 0, so top-of-book reads are a single array load.
+// UPDATE overwrites a level in place; ADD inserts and DELETE removes a level, shifting the
+// deeper levels like an MDP-style feed does. Levels beyond the configured depth are dropped.
+public final class OrderBook {
+
+    public static final int BID = 0;
+    public static final int ASK = 1;
+
+    public static final int ADD = 0;
+    public static final int UPDATE = 1;
+    public static final int DELETE = 2;
+
+    public static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private final String symbol;
+    private final int depth;
+
+    private final long[] bidPrices;
+    private final long[] bidSizes;
+    private final long[] askPrices;
+    private final long[] askSizes;
+    private int bidLevels;
+    private int askLevels;
+
+    private long lastSequenceId = NULL_VALUE;
+    private long lastTimestamp = NULL_VALUE;
+
+    public OrderBook(String symbol, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be positive: " + depth);
+        }
+        this.symbol = symbol;
+        this.depth = depth;
+        this.bidPrices = new long[depth];
+        this.bidSizes = new long[depth];
+        this.askPrices = new long[depth];
+        this.askSizes = new long[depth];
+    }
+
+    // Returns false when the update falls outside the tracked depth or has an unknown side/action
+    public boolean apply(int side, int updateAction, int level, long price, long size) {
+        if (level < 1 || level > depth) {
+            return false;
+        }
+
+        if (side == BID) {
+            int levels = apply(bidPrices, bidSizes, bidLevels, updateAction, level - 1, price, size);
+            if (levels < 0) {
+                return false;
+            }
+            bidLevels = levels;
+            return true;
+        }
+        if (side == ASK) {
+            int levels = apply(askPrices, askSizes, askLevels, updateAction, level - 1, price, size);
+            if (levels < 0) {
+                return false;
+            }
+            askLevels = levels;
+            return true;
+        }
+        return false;
+    }
+
+    // Returns the new level count for the side, or -1 if the update was rejected
+    private int apply(long[] prices, long[] sizes, int levels, int updateAction, int index, long price, long size) {
+        switch (updateAction) {
+            case ADD -> {
+                if (index > levels) {
+                    return -1;
+                }
+                int moved = Math.min(levels, depth - 1) - index;
+                if (moved > 0) {
+                    System.arraycopy(prices, index, prices, index + 1, moved);
+                    System.arraycopy(sizes, index, sizes, index + 1, moved);
+                }
+                prices[index] = price;
+                sizes[index] = size;
+                return Math.min(levels + 1, depth);
+            }
+            case UPDATE -> {
+                if (index >= levels) {
+                    return -1;
+                }
+                prices[index] = price;
+                sizes[index] = size;
+                return levels;
+            }
+            case DELETE -> {
+                if (index >= levels) {
+                    return -1;
+                }
+                int moved = levels - index - 1;
+                if (moved > 0) {
+                    System.arraycopy(prices, index + 1, prices, index, moved);
+                    System.arraycopy(sizes, index + 1, sizes, index, moved);
+                }
+                return levels - 1;
+            }
+            default -> {
+                return -1;
+            }
+        }
+    }
+
+    void onMessage(long sequenceId, long timestamp) {
+        this.lastSequenceId = sequenceId;
+        this.lastTimestamp = timestamp;
+    }
+
+    public void clear() {
+        bidLevels = 0;
+        askLevels = 0;
+        lastSequenceId = NULL_VALUE;
+        lastTimestamp = NULL_VALUE;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int bidLevels() {
+        return bidLevels;
+    }
+
+    public int askLevels() {
+        return askLevels;
+    }
+
+    public long bestBidPrice() {
+        return bidLevels > 0 ? bidPrices[0] : NULL_VALUE;
+    }
+
+    public long bestBidSize() {
+        return bidLevels > 0 ? bidSizes[0] : NULL_VALUE;
+    }
+
+    public long bestAskPrice() {
+        return askLevels > 0 ? askPrices[0] : NULL_VALUE;
+    }
+
+    public long bestAskSize() {
+        return askLevels > 0 ? askSizes[0] : NULL_VALUE;
+    }
+
+    // Levels are 1-based to match BidAskEntry.level
+    public long bidPrice(int level) {
+        return level >= 1 && level <= bidLevels ? bidPrices[level - 1] : NULL_VALUE;
+    }
+
+    public long bidSize(int level) {
+        return level >= 1 && level <= bidLevels ? bidSizes[level - 1] : NULL_VALUE;
+    }
+
+    public long askPrice(int level) {
+        return level >= 1 && level <= askLevels ? askPrices[level - 1] : NULL_VALUE;
+    }
+
+    public long askSize(int level) {
+        return level >= 1 && level <= askLevels ? askSizes[level - 1] : NULL_VALUE;
+    }
+
+    public long lastSequenceId() {
+        return lastSequenceId;
+    }
+
+    public long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("OrderBook[").append(symbol);
+        builder.append(", bids=");
+        appendSide(builder, bidPrices, bidSizes, bidLevels);
+        builder.append(", asks=");
+        appendSide(builder, askPrices, askSizes, askLevels);
+        return builder.append(']').toString();
+    }
+
+    private static void appendSide(StringBuilder builder, long[] prices, long[] sizes, int levels) {
+        builder.append('[');
+        for (int i = 0; i < levels; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(sizes[i]).append('@').append(prices[i]);
+        }
+        builder.append(']');
+    }
+}
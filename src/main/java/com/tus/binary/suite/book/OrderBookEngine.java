@@ -0,0 +1,164 @@
+package com.tus.binary.suite.book;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.DirectBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+// Applies decoded BidAskEntry updates to one OrderBook per Instrument.symbol.
+// Books are found through an open-addressing table compared char by char against the
+// incoming CharSequence, so views over the wire buffer never have to become Strings.
+// Not thread-safe: feed it from a single thread, or one engine per feed thread.
+@Component
+public class OrderBookEngine {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int depth;
+    private String[] symbols = new String[INITIAL_CAPACITY];
+    private OrderBook[] books = new OrderBook[INITIAL_CAPACITY];
+    private int bookCount;
+
+    private long appliedEntries;
+    private long rejectedEntries;
+
+    public OrderBookEngine(@Value("${orderbook.depth:10}") int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be positive: " + depth);
+        }
+        this.depth = depth;
+    }
+
+    // Decodes with the serializer's reusable view and applies the message, allocation free on
+    // protocols whose view reads the buffer in place
+    public OrderBook onMessage(ProtocolSerializer serializer, DirectBuffer buffer, int offset, int length)
+            throws IOException {
+        return apply(serializer.wrap(buffer, offset, length));
+    }
+
+    public OrderBook apply(MarketDataView view) {
+        OrderBook book = bookFor(view.symbol());
+        for (int i = 0; i < view.entryCount(); i++) {
+            count(book.apply(view.side(i), view.updateAction(i), view.level(i), view.price(i), view.size(i)));
+        }
+        book.onMessage(view.sequenceId(), view.timestamp());
+        return book;
+    }
+
+    public OrderBook apply(MarketDataPayload payload) {
+        OrderBook book = bookFor(payload.instrument().symbol());
+        for (MarketDataPayload.BidAskEntry entry : payload.entries()) {
+            count(book.apply(entry.side(), entry.updateAction(), entry.level(), entry.price(), entry.size()));
+        }
+        book.onMessage(payload.header().sequenceId(), payload.header().timestamp());
+        return book;
+    }
+
+    private void count(boolean applied) {
+        if (applied) {
+            appliedEntries++;
+        } else {
+            rejectedEntries++;
+        }
+    }
+
+    // Returns null when no update for the symbol has been seen yet
+    public OrderBook book(CharSequence symbol) {
+        int index = indexOf(symbol, hash(symbol));
+        return symbols[index] != null ? books[index] : null;
+    }
+
+    public OrderBook bookFor(CharSequence symbol) {
+        int hash = hash(symbol);
+        int index = indexOf(symbol, hash);
+        if (symbols[index] != null) {
+            return books[index];
+        }
+
+        if ((bookCount + 1) * 2 > symbols.length) {
+            resize();
+            index = indexOf(symbol, hash);
+        }
+
+        OrderBook book = new OrderBook(symbol.toString(), depth);
+        symbols[index] = book.symbol();
+        books[index] = book;
+        bookCount++;
+        return book;
+    }
+
+    public void forEach(Consumer<OrderBook> consumer) {
+        for (OrderBook book : books) {
+            if (book != null) {
+                consumer.accept(book);
+            }
+        }
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int bookCount() {
+        return bookCount;
+    }
+
+    public long appliedEntries() {
+        return appliedEntries;
+    }
+
+    public long rejectedEntries() {
+        return rejectedEntries;
+    }
+
+    private int indexOf(CharSequence symbol, int hash) {
+        int mask = symbols.length - 1;
+        int index = hash & mask;
+        while (symbols[index] != null && !contentEquals(symbols[index], symbol)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        String[] oldSymbols = symbols;
+        OrderBook[] oldBooks = books;
+        symbols = new String[oldSymbols.length * 2];
+        books = new OrderBook[oldBooks.length * 2];
+
+        for (int i = 0; i < oldSymbols.length; i++) {
+            if (oldSymbols[i] != null) {
+                int index = indexOf(oldSymbols[i], hash(oldSymbols[i]));
+                symbols[index] = oldSymbols[i];
+                books[index] = oldBooks[i];
+            }
+        }
+    }
+
+    // Same value as String.hashCode, so it works for Strings and buffer-backed views alike
+    private static int hash(CharSequence symbol) {
+        int hash = 0;
+        for (int i = 0; i < symbol.length(); i++) {
+            hash = 31 * hash + symbol.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String symbol, CharSequence other) {
+        int length = symbol.length();
+        if (length != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+package com.tus.binary.suite.conflation;
+
+import com.tus.binary.suite.book.OrderBook;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Hands the latest state per Instrument.symbol to consumers that may fall behind, instead of
+// queueing every update. While a symbol waits to be taken, later updates for it are merged into
+// the waiting message: per side and level the latest BidAskEntry wins, the header becomes the
+// latest one, and a snapshot replaces whatever was waiting. An ADD the consumer has not seen yet
+// stays an ADD when an UPDATE for the same level follows, so the level still gets inserted, and
+// disappears when a DELETE follows, since the consumer never had the level to remove. A DELETE
+// followed by an ADD on the same level replaces the level, so it goes out as an UPDATE.
+// Merging is exact for UPDATEs; ADD and DELETE shift deeper levels in the book, so a consumer
+// that must follow every shift should not conflate.
+//
+// Symbols wait in a bounded ready queue in the order they first changed, each at most once, so
+// memory is bounded by maxSymbols messages however far behind the consumers are. offer() refuses
+// a symbol beyond maxSymbols.
+//
+// One producer thread calls offer(); any number of consumer threads call poll() or drain().
+// The handoff is lock-free: a waiting message is immutable and replaced with compareAndSet, and a
+// consumer takes it with getAndSet, so neither side ever sees the other half-way through a merge.
+// Messages for a symbol are taken in order, but only a single consumer also handles them in that
+// order: with several, a later message can be processed before an earlier one that another
+// consumer took first. A consumer that applies updates incrementally must be the only one.
+//
+// stats() reports the conflation ratio (updates offered per message delivered) and staleness,
+// the age of the oldest update folded into each delivered message.
+public class ConflatingQueue {
+
+    public static final int DEFAULT_MAX_SYMBOLS = 16 * 1024;
+
+    public record Stats(long offered, long delivered, long refused, int waiting, Histogram staleness) {
+
+        public double conflationRatio() {
+            return delivered == 0 ? 0 : (double) offered / delivered;
+        }
+    }
+
+    private record Pending(MarketDataPayload payload, long firstNanos) {
+    }
+
+    private static final class Slot {
+        private final AtomicReference<Pending> pending = new AtomicReference<>();
+    }
+
+    private final int maxSymbols;
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final ManyToManyConcurrentArrayQueue<Slot> ready;
+
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final LongAdder delivered = new LongAdder();
+    private final Recorder stalenessRecorder = new Recorder(3);
+    private final Histogram stalenessTotal = new Histogram(3);
+
+    public ConflatingQueue() {
+        this(DEFAULT_MAX_SYMBOLS);
+    }
+
+    public ConflatingQueue(int maxSymbols) {
+        if (maxSymbols < 1) {
+            throw new IllegalArgumentException("maxSymbols must be positive: " + maxSymbols);
+        }
+        this.maxSymbols = maxSymbols;
+        // Headroom for cells a consumer has taken but not yet released, see offer()
+        this.ready = new ManyToManyConcurrentArrayQueue<>(2 * maxSymbols);
+    }
+
+    // Producer thread only. Returns false when the symbol is new and maxSymbols are already known.
+    public boolean offer(MarketDataPayload payload) {
+        String symbol = payload.instrument().symbol();
+        Slot slot = slots.get(symbol);
+        if (slot == null) {
+            if (slots.size() >= maxSymbols) {
+                refused.lazySet(refused.get() + 1);
+                return false;
+            }
+            slot = new Slot();
+            slots.put(symbol, slot);
+        }
+
+        while (true) {
+            Pending current = slot.pending.get();
+            if (current == null) {
+                // Nothing waiting, so the slot is not queued and no consumer can be holding it
+                slot.pending.set(new Pending(payload, System.nanoTime()));
+                // Each slot is queued at most once, so a failed offer only means the cell is still
+                // held by a consumer half-way through poll(), which is about to release it
+                while (!ready.offer(slot)) {
+                    Thread.onSpinWait();
+                }
+                break;
+            }
+            Pending merged = new Pending(merge(current.payload(), payload), current.firstNanos());
+            if (slot.pending.compareAndSet(current, merged)) {
+                break;
+            }
+            // A consumer took the waiting message meanwhile; this update starts a new one
+        }
+        offered.lazySet(offered.get() + 1);
+        return true;
+    }
+
+    // Any thread. Returns null when no symbol is waiting.
+    public MarketDataPayload poll() {
+        Slot slot = ready.poll();
+        if (slot == null) {
+            return null;
+        }
+        Pending pending = slot.pending.getAndSet(null);
+        delivered.increment();
+        stalenessRecorder.recordValue(Math.max(0, System.nanoTime() - pending.firstNanos()));
+        return pending.payload();
+    }
+
+    public int drain(Consumer<MarketDataPayload> consumer, int limit) {
+        int count = 0;
+        MarketDataPayload payload;
+        while (count < limit && (payload = poll()) != null) {
+            consumer.accept(payload);
+            count++;
+        }
+        return count;
+    }
+
+    public int waiting() {
+        return ready.size();
+    }
+
+    public synchronized Stats stats() {
+        stalenessTotal.add(stalenessRecorder.getIntervalHistogram());
+        return new Stats(offered.get(), delivered.sum(), refused.get(), ready.size(), stalenessTotal.copy());
+    }
+
+    static MarketDataPayload merge(MarketDataPayload waiting, MarketDataPayload update) {
+        if (MarketDataPayload.Header.SNAPSHOT.equals(update.header().messageType())) {
+            return update;
+        }
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(waiting.entries());
+        for (MarketDataPayload.BidAskEntry entry : update.entries()) {
+            int index = indexOf(entries, entry.side(), entry.level());
+            if (index < 0) {
+                entries.add(entry);
+                continue;
+            }
+            int waitingAction = entries.get(index).updateAction();
+            if (waitingAction == OrderBook.DELETE && entry.updateAction() == OrderBook.ADD) {
+                entry = new MarketDataPayload.BidAskEntry(entry.price(), entry.size(), entry.level(),
+                        entry.side(), OrderBook.UPDATE);
+            } else if (waitingAction == OrderBook.ADD) {
+                if (entry.updateAction() == OrderBook.DELETE) {
+                    entries.remove(index);
+                    continue;
+                }
+                if (entry.updateAction() == OrderBook.UPDATE) {
+                    entry = new MarketDataPayload.BidAskEntry(entry.price(), entry.size(), entry.level(),
+                            entry.side(), OrderBook.ADD);
+                }
+            }
+            entries.set(index, entry);
+        }
+
+        // A waiting snapshot stays a snapshot, now with the later changes folded in
+        MarketDataPayload.Header header = update.header();
+        String messageType = waiting.header().messageType();
+        if (MarketDataPayload.Header.SNAPSHOT.equals(messageType)) {
+            header = new MarketDataPayload.Header(messageType, header.timestamp(), header.sequenceId(),
+                    header.version());
+        }
+        return new MarketDataPayload(header, update.instrument(), entries);
+    }
+
+    private static int indexOf(List<MarketDataPayload.BidAskEntry> entries, int side, int level) {
+        for (int i = 0; i < entries.size(); i++) {
+            MarketDataPayload.BidAskEntry entry = entries.get(i);
+            if (entry.side() == side && entry.level() == level) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
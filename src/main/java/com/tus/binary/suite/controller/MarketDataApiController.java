@@ -0,0 +1,44 @@
+package com.tus.binary.suite.controller;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Market data in and out over HTTP in any registered format: JSON, application/x-sbe,
+// application/x-protobuf, application/x-flatbuffers or avro/binary. The request format follows
+// Content-Type and the response format follows Accept, so a client can post SBE and read
+// Protobuf back. Keeps the latest message per symbol.
+@RestController
+@RequestMapping("/api/market-data")
+public class MarketDataApiController {
+
+    private final Map<String, MarketDataPayload> latest = new ConcurrentHashMap<>();
+
+    // Stores the message as its symbol's latest and returns it, re-encoded as requested
+    @PostMapping
+    public MarketDataPayload publish(@RequestBody MarketDataPayload payload) {
+        if (payload.instrument() != null && payload.instrument().symbol() != null) {
+            latest.put(payload.instrument().symbol(), payload);
+        }
+        return payload;
+    }
+
+    @GetMapping("/sample")
+    public MarketDataPayload sample() {
+        return MarketDataPayload.createSample();
+    }
+
+    @GetMapping("/{symbol}")
+    public ResponseEntity<MarketDataPayload> latest(@PathVariable String symbol) {
+        MarketDataPayload payload = latest.get(symbol);
+        return payload != null ? ResponseEntity.ok(payload) : ResponseEntity.notFound().build();
+    }
+}
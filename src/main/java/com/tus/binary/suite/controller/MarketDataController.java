@@ -2,185 +2,135 @@ package com.tus.binary.suite.controller;
 
 import com.tus.binary.suite.dto.MarketDataPayload;
 import com.tus.binary.suite.dto.ValidationResult;
-import com.tus.binary.suite.service.FlatBuffersSerializer;
-import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.metrics.ProtocolMetrics;
+import com.tus.binary.suite.service.ProtocolRegistry;
 import com.tus.binary.suite.service.ProtocolSerializer;
-import com.tus.binary.suite.service.SbeSerializer;
-import com.tus.binary.suite.service.AvroSerializer;
 import org.HdrHistogram.Histogram;
 import org.knowm.xchart.BitmapEncoder;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
 import org.knowm.xchart.style.Styler;
 import org.knowm.xchart.style.markers.SeriesMarkers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/test")
 public class MarketDataController {
 
-    private final ProtocolSerializer protobufSerializer;
-    private final ProtocolSerializer sbeSerializer;
-    private final ProtocolSerializer flatBuffersSerializer;
-    private final ProtocolSerializer avroSerializer;
-
-    // Histograms
-    private final Histogram sbeSerializeHist = new Histogram(3);
-    private final Histogram sbeDeserializeHist = new Histogram(3);
-    private final Histogram pbSerializeHist = new Histogram(3);
-    private final Histogram pbDeserializeHist = new Histogram(3);
-    private final Histogram fbSerializeHist = new Histogram(3);
-    private final Histogram fbDeserializeHist = new Histogram(3);
-    private final Histogram avroSerializeHist = new Histogram(3);
-    private final Histogram avroDeserializeHist = new Histogram(3);
-
-    public MarketDataController() {
-        this.protobufSerializer = new ProtobufSerializer();
-        this.sbeSerializer = new SbeSerializer();
-        this.flatBuffersSerializer = new FlatBuffersSerializer();
-        this.avroSerializer = new AvroSerializer();
+    // One endpoint per registered protocol, /api/test/{key}, e.g. /api/test/sbe or /api/test/protobuf-wire.
+    // The series are recorder-backed, safe to record from any number of request threads.
+    private record Endpoint(ProtocolSerializer serializer, ProtocolMetrics.Series serializeHist,
+            ProtocolMetrics.Series deserializeHist, ProtocolMetrics.Series sizeHist) {
     }
 
-    @GetMapping("/protobuf")
-    public ValidationResult testProtobuf() {
-        MarketDataPayload payload = MarketDataPayload.createSample();
+    private final ProtocolMetrics metrics;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
 
-        try {
-            long start = System.nanoTime();
-            byte[] bytes = protobufSerializer.serialize(payload);
-            pbSerializeHist.recordValue(System.nanoTime() - start);
-
-            start = System.nanoTime();
-            MarketDataPayload decoded = protobufSerializer.deserialize(bytes);
-            pbDeserializeHist.recordValue(System.nanoTime() - start);
-
-            boolean match = payload.equals(decoded);
-            return new ValidationResult("Protobuf", bytes.length, match, payload.toString(), decoded.toString());
-        } catch (IOException e) {
-            return new ValidationResult("Protobuf", 0, false, e.getMessage(), "");
-        }
+    public MarketDataController() {
+        this(new ProtocolMetrics(), ProtocolRegistry.discover());
     }
 
-    @GetMapping("/sbe")
-    public ValidationResult testSbe() {
-        MarketDataPayload payload = MarketDataPayload.createSample();
-
-        try {
-            long start = System.nanoTime();
-            byte[] bytes = sbeSerializer.serialize(payload);
-            sbeSerializeHist.recordValue(System.nanoTime() - start);
-
-            start = System.nanoTime();
-            MarketDataPayload decoded = sbeSerializer.deserialize(bytes);
-            sbeDeserializeHist.recordValue(System.nanoTime() - start);
-
-            boolean match = payload.equals(decoded);
-            return new ValidationResult("SBE", bytes.length, match, payload.toString(), decoded.toString());
-        } catch (IOException e) {
-            return new ValidationResult("SBE", 0, false, e.getMessage(), "");
+    @Autowired
+    public MarketDataController(ProtocolMetrics metrics, ProtocolRegistry registry) {
+        this.metrics = metrics;
+        for (ProtocolSerializer serializer : registry.serializers()) {
+            String key = ProtocolRegistry.key(serializer.getName());
+            endpoints.put(key, new Endpoint(serializer,
+                    metrics.latency(key, "serialize"),
+                    metrics.latency(key, "deserialize"),
+                    metrics.encodedSize(key)));
         }
     }
 
-    @GetMapping("/flatbuffers")
-    public ValidationResult testFlatBuffers() {
-        MarketDataPayload payload = MarketDataPayload.createSample();
-
-        try {
-            long start = System.nanoTime();
-            byte[] bytes = flatBuffersSerializer.serialize(payload);
-            fbSerializeHist.recordValue(System.nanoTime() - start);
-
-            start = System.nanoTime();
-            MarketDataPayload decoded = flatBuffersSerializer.deserialize(bytes);
-            fbDeserializeHist.recordValue(System.nanoTime() - start);
-
-            boolean match = payload.equals(decoded);
-            return new ValidationResult("FlatBuffers", bytes.length, match, payload.toString(), decoded.toString());
-        } catch (IOException e) {
-            return new ValidationResult("FlatBuffers", 0, false, e.getMessage(), "");
-        }
+    public List<String> protocols() {
+        return List.copyOf(endpoints.keySet());
     }
 
-    @GetMapping("/avro")
-    public ValidationResult testAvro() {
+    @GetMapping("/{protocol}")
+    public ResponseEntity<ValidationResult> test(@PathVariable String protocol) {
+        Endpoint endpoint = endpoints.get(protocol);
+        if (endpoint == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ProtocolSerializer serializer = endpoint.serializer();
         MarketDataPayload payload = MarketDataPayload.createSample();
 
         try {
             long start = System.nanoTime();
-            byte[] bytes = avroSerializer.serialize(payload);
-            avroSerializeHist.recordValue(System.nanoTime() - start);
+            byte[] bytes = serializer.serialize(payload);
+            endpoint.serializeHist().record(System.nanoTime() - start);
+            endpoint.sizeHist().record(bytes.length);
 
             start = System.nanoTime();
-            MarketDataPayload decoded = avroSerializer.deserialize(bytes);
-            avroDeserializeHist.recordValue(System.nanoTime() - start);
+            MarketDataPayload decoded = serializer.deserialize(bytes);
+            endpoint.deserializeHist().record(System.nanoTime() - start);
 
             boolean match = payload.equals(decoded);
-            return new ValidationResult("Avro", bytes.length, match, payload.toString(), decoded.toString());
+            return ResponseEntity.ok(new ValidationResult(serializer.getName(), bytes.length, match,
+                    payload.toString(), decoded.toString()));
         } catch (IOException e) {
-            return new ValidationResult("Avro", 0, false, e.getMessage(), "");
+            return ResponseEntity.ok(new ValidationResult(serializer.getName(), 0, false, e.getMessage(), ""));
         }
     }
 
-    @GetMapping("/hdr/report")
-    public String generateHdrReport() throws IOException {
+    // Cumulative report built in memory, nothing is written to the working directory. It covers the
+    // intervals completed so far; rolling is left to the scheduled task, so reading the report does
+    // not cut an interval short or replace the window /metrics reports from.
+    @GetMapping(value = "/hdr/report", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String generateHdrReport() {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String baseName = timestamp + "_hdr_result.hgrm";
-
-        // 1. Generate Text Report
-        try (PrintWriter writer = new PrintWriter(new FileWriter(baseName))) {
-            writer.println("HDR Histogram Report - " + timestamp);
-            writer.println("==================================================");
-            printHistogram(writer, "Protobuf Serialize", pbSerializeHist);
-            printHistogram(writer, "Protobuf Deserialize", pbDeserializeHist);
-            printHistogram(writer, "SBE Serialize", sbeSerializeHist);
-            printHistogram(writer, "SBE Deserialize", sbeDeserializeHist);
-            printHistogram(writer, "FlatBuffers Serialize", fbSerializeHist);
-            printHistogram(writer, "FlatBuffers Deserialize", fbDeserializeHist);
-            printHistogram(writer, "Avro Serialize", avroSerializeHist);
-            printHistogram(writer, "Avro Deserialize", avroDeserializeHist);
+        StringWriter report = new StringWriter();
+        PrintWriter writer = new PrintWriter(report);
+        writer.println("HDR Histogram Report - " + timestamp);
+        writer.println("==================================================");
+        for (ProtocolMetrics.Series series : metrics.series()) {
+            printHistogram(writer, series.name(), series.total());
         }
+        writer.flush();
+        return report.toString();
+    }
 
-        // 2. Generate Plot
+    @GetMapping(value = "/hdr/chart", produces = MediaType.IMAGE_PNG_VALUE)
+    public byte[] generateHdrChart() throws IOException {
         XYChart chart = new XYChartBuilder().width(800).height(600).title("Latency Distribution")
                 .xAxisTitle("Percentile").yAxisTitle("Latency (ns)").theme(Styler.ChartTheme.Matlab).build();
         chart.getStyler().setYAxisLogarithmic(true);
         chart.getStyler().setLegendVisible(true);
 
-        addSeriesToChart(chart, "Proto Ser", pbSerializeHist);
-        addSeriesToChart(chart, "Proto Deser", pbDeserializeHist);
-        addSeriesToChart(chart, "SBE Ser", sbeSerializeHist);
-        addSeriesToChart(chart, "SBE Deser", sbeDeserializeHist);
-        addSeriesToChart(chart, "FB Ser", fbSerializeHist);
-        addSeriesToChart(chart, "FB Deser", fbDeserializeHist);
-        addSeriesToChart(chart, "Avro Ser", avroSerializeHist);
-        addSeriesToChart(chart, "Avro Deser", avroDeserializeHist);
-
-        String pngFileName = baseName.replace(".hgrm", ".png");
-        BitmapEncoder.saveBitmap(chart, pngFileName, BitmapEncoder.BitmapFormat.PNG);
-
-        return "Report generated: " + baseName + " and " + pngFileName;
+        for (ProtocolMetrics.Series series : metrics.series()) {
+            if (series.isLatency()) {
+                addSeriesToChart(chart, series.name(), series.total());
+            }
+        }
+        return BitmapEncoder.getBitmapBytes(chart, BitmapEncoder.BitmapFormat.PNG);
     }
 
     private void printHistogram(PrintWriter writer, String name, Histogram hist) {
         writer.printf("%s:%n", name);
         writer.printf("  Count: %d%n", hist.getTotalCount());
-        writer.printf("  Min:   %d ns%n", hist.getMinValue());
-        writer.printf("  Mean:  %.2f ns%n", hist.getMean());
-        writer.printf("  Max:   %d ns%n", hist.getMaxValue());
-        writer.printf("  P50:   %d ns%n", hist.getValueAtPercentile(50));
-        writer.printf("  P90:   %d ns%n", hist.getValueAtPercentile(90));
-        writer.printf("  P99:   %d ns%n", hist.getValueAtPercentile(99));
-        writer.printf("  P99.9: %d ns%n", hist.getValueAtPercentile(99.9));
+        writer.printf("  Min:   %d%n", hist.getMinValue());
+        writer.printf("  Mean:  %.2f%n", hist.getMean());
+        writer.printf("  Max:   %d%n", hist.getMaxValue());
+        writer.printf("  P50:   %d%n", hist.getValueAtPercentile(50));
+        writer.printf("  P90:   %d%n", hist.getValueAtPercentile(90));
+        writer.printf("  P99:   %d%n", hist.getValueAtPercentile(99));
+        writer.printf("  P99.9: %d%n", hist.getValueAtPercentile(99.9));
         writer.println("--------------------------------------------------");
     }
 
@@ -0,0 +1,23 @@
+package com.tus.binary.suite.controller;
+
+import com.tus.binary.suite.metrics.ProtocolMetrics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Prometheus scrape target for the latency and encoded-size series
+@RestController
+public class MetricsController {
+
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final ProtocolMetrics metrics;
+
+    public MetricsController(ProtocolMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping(value = "/metrics", produces = PROMETHEUS_TEXT)
+    public String metrics() {
+        return metrics.prometheus();
+    }
+}
@@ -12,6 +12,9 @@ public record MarketDataPayload(
                         long timestamp,
                         long sequenceId,
                         int version) {
+
+                public static final String INCREMENTAL = "MarketDataIncrementalRefresh";
+                public static final String SNAPSHOT = "MarketDataSnapshotFullRefresh";
         }
 
         public record Instrument(
@@ -0,0 +1,49 @@
+package com.tus.binary.suite.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only flyweight over an encoded message. Views are reused by their serializer,
+// so every value (including the CharSequences) is only valid until the next wrap call.
+// Strings are UTF-8 on the wire in every format; the CharSequences hold the decoded chars.
+public interface MarketDataView {
+
+    CharSequence messageType();
+
+    long timestamp();
+
+    long sequenceId();
+
+    int version();
+
+    CharSequence symbol();
+
+    CharSequence exchange();
+
+    CharSequence currency();
+
+    int entryCount();
+
+    long price(int index);
+
+    long size(int index);
+
+    int level(int index);
+
+    int side(int index); // 0=BID, 1=ASK
+
+    int updateAction(int index); // 0=ADD, 1=UPDATE, 2=DELETE
+
+    // Copies the view into a standalone payload, for when the data has to outlive the buffer
+    default MarketDataPayload toPayload() {
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(entryCount());
+        for (int i = 0; i < entryCount(); i++) {
+            entries.add(new MarketDataPayload.BidAskEntry(price(i), size(i), level(i), side(i), updateAction(i)));
+        }
+
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(messageType().toString(), timestamp(), sequenceId(), version()),
+                new MarketDataPayload.Instrument(symbol().toString(), exchange().toString(), currency().toString()),
+                entries);
+    }
+}
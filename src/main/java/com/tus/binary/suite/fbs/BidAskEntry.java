@@ -28,10 +28,15 @@ public final class BidAskEntry extends Table {
   public BidAskEntry __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
 
   public long price() { int o = __offset(4); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public boolean mutatePrice(long price) { int o = __offset(4); if (o != 0) { bb.putLong(o + bb_pos, price); return true; } else { return false; } }
   public long size() { int o = __offset(6); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public boolean mutateSize(long size) { int o = __offset(6); if (o != 0) { bb.putLong(o + bb_pos, size); return true; } else { return false; } }
   public int level() { int o = __offset(8); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public boolean mutateLevel(int level) { int o = __offset(8); if (o != 0) { bb.putInt(o + bb_pos, level); return true; } else { return false; } }
   public byte side() { int o = __offset(10); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public boolean mutateSide(byte side) { int o = __offset(10); if (o != 0) { bb.put(o + bb_pos, side); return true; } else { return false; } }
   public byte updateAction() { int o = __offset(12); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public boolean mutateUpdateAction(byte updateAction) { int o = __offset(12); if (o != 0) { bb.put(o + bb_pos, updateAction); return true; } else { return false; } }
 
   public static int createBidAskEntry(FlatBufferBuilder builder,
       long price,
@@ -31,8 +31,11 @@ public final class MarketData extends Table {
   public ByteBuffer messageTypeAsByteBuffer() { return __vector_as_bytebuffer(4, 1); }
   public ByteBuffer messageTypeInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 4, 1); }
   public long timestamp() { int o = __offset(6); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public boolean mutateTimestamp(long timestamp) { int o = __offset(6); if (o != 0) { bb.putLong(o + bb_pos, timestamp); return true; } else { return false; } }
   public long sequenceId() { int o = __offset(8); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public boolean mutateSequenceId(long sequenceId) { int o = __offset(8); if (o != 0) { bb.putLong(o + bb_pos, sequenceId); return true; } else { return false; } }
   public int version() { int o = __offset(10); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public boolean mutateVersion(int version) { int o = __offset(10); if (o != 0) { bb.putInt(o + bb_pos, version); return true; } else { return false; } }
   public Instrument instrument() { return instrument(new Instrument()); }
   public Instrument instrument(Instrument obj) { int o = __offset(12); return o != 0 ? obj.__assign(__indirect(o + bb_pos), bb) : null; }
   public BidAskEntry bidAskEntries(int j) { return bidAskEntries(new BidAskEntry(), j); }
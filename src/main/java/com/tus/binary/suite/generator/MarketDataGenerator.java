@@ -0,0 +1,207 @@
+package com.tus.binary.suite.generator;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeded stream of market data shaped by a Shape: how many symbols and how skewed their activity
+// is, how many entries each message carries, the book depth those entries range over, the
+// ADD/UPDATE/DELETE mix and the string lengths. Each symbol keeps its own random-walk mid price
+// so consecutive updates look like a real book, and sequenceId and timestamp only move forward.
+// The same seed and shape always give the same messages. Not thread-safe.
+public class MarketDataGenerator {
+
+    private static final long TICK = 5;
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+
+    // symbolSkew is the Zipf exponent of symbol activity: 0 spreads messages evenly, around 1 lets
+    // a handful of symbols dominate the way a real feed does. Action percentages must add up to 100.
+    public record Shape(int symbols, double symbolSkew, int symbolLength, int exchangeLength, int depth,
+            int minEntries, int maxEntries, int addPercent, int updatePercent, int deletePercent) {
+
+        public Shape {
+            if (symbols < 1 || symbolLength < 1 || exchangeLength < 1 || depth < 1) {
+                throw new IllegalArgumentException("symbols, string lengths and depth must be positive");
+            }
+            if (minEntries < 1 || maxEntries < minEntries) {
+                throw new IllegalArgumentException("entries must satisfy 1 <= min <= max: "
+                        + minEntries + ".." + maxEntries);
+            }
+            if (addPercent < 0 || updatePercent < 0 || deletePercent < 0
+                    || addPercent + updatePercent + deletePercent != 100) {
+                throw new IllegalArgumentException("action mix must add up to 100: "
+                        + addPercent + "/" + updatePercent + "/" + deletePercent);
+            }
+        }
+
+        // Single-entry trade-like updates across a skewed universe
+        public static Shape trades(int symbols) {
+            return new Shape(symbols, 1.0, 4, 6, 10, 1, 1, 10, 80, 10);
+        }
+
+        // The usual incremental refresh, a few levels touched per message
+        public static Shape incremental(int symbols) {
+            return new Shape(symbols, 1.0, 4, 6, 10, 1, 8, 30, 50, 20);
+        }
+
+        // Full book on both sides, every entry an ADD
+        public static Shape snapshot(int symbols, int depth) {
+            return new Shape(symbols, 1.0, 4, 6, depth, 2 * depth, 2 * depth, 100, 0, 0);
+        }
+
+        public Shape withEntries(int min, int max) {
+            return new Shape(symbols, symbolSkew, symbolLength, exchangeLength, Math.max(depth, (max + 1) / 2),
+                    min, max, addPercent, updatePercent, deletePercent);
+        }
+
+        public Shape withSymbols(int count, double skew) {
+            return new Shape(count, skew, symbolLength, exchangeLength, depth, minEntries, maxEntries,
+                    addPercent, updatePercent, deletePercent);
+        }
+
+        public Shape withStringLengths(int symbol, int exchange) {
+            return new Shape(symbols, symbolSkew, symbol, exchange, depth, minEntries, maxEntries,
+                    addPercent, updatePercent, deletePercent);
+        }
+    }
+
+    private final Shape shape;
+    private final SplittableRandom random;
+    private final String[] symbols;
+    private final String[] exchanges;
+    private final String[] currencies;
+    private final long[] mids;
+    private final double[] cumulativeWeights;
+
+    private long sequenceId;
+    private long timestamp;
+
+    public MarketDataGenerator(long seed, Shape shape) {
+        this.shape = shape;
+        this.random = new SplittableRandom(seed);
+        this.symbols = new String[shape.symbols()];
+        this.exchanges = new String[shape.symbols()];
+        this.currencies = new String[shape.symbols()];
+        this.mids = new long[shape.symbols()];
+
+        String[] exchangePool = new String[8];
+        for (int i = 0; i < exchangePool.length; i++) {
+            exchangePool[i] = randomString(shape.exchangeLength());
+        }
+        int[] offsets = new int[shape.symbolLength()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = random.nextInt(26);
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = uniqueSymbol(i, offsets);
+            exchanges[i] = exchangePool[random.nextInt(exchangePool.length)];
+            currencies[i] = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            mids[i] = (1_000 + random.nextInt(500_000)) * TICK;
+        }
+
+        cumulativeWeights = new double[symbols.length];
+        double total = 0;
+        for (int i = 0; i < symbols.length; i++) {
+            total += 1.0 / Math.pow(i + 1, shape.symbolSkew());
+            cumulativeWeights[i] = total;
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            cumulativeWeights[i] /= total;
+        }
+
+        this.sequenceId = 1 + random.nextInt(1_000_000);
+        this.timestamp = 1_678_899_887_123_000_000L;
+    }
+
+    public Shape shape() {
+        return shape;
+    }
+
+    public MarketDataPayload next() {
+        int symbol = pickSymbol();
+        long mid = mids[symbol] += (random.nextInt(7) - 3) * TICK;
+        timestamp += 1 + random.nextInt(50_000);
+
+        int count = shape.minEntries() == shape.maxEntries()
+                ? shape.minEntries()
+                : shape.minEntries() + random.nextInt(shape.maxEntries() - shape.minEntries() + 1);
+        boolean snapshot = shape.addPercent() == 100 && count >= 2 * shape.depth();
+
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int side;
+            int level;
+            if (snapshot) {
+                // Walk the book: bid and ask at level 1, then level 2 and so on
+                side = i & 1;
+                level = i / 2 % shape.depth() + 1;
+            } else {
+                side = random.nextInt(2);
+                level = skewedLevel();
+            }
+            long offset = level * TICK;
+            long price = side == 0 ? mid - offset : mid + offset;
+            int action = action();
+            long size = action == 2 ? 0 : 100L * (1 + random.nextInt(50));
+            entries.add(new MarketDataPayload.BidAskEntry(price, size, level, side, action));
+        }
+
+        String messageType = snapshot ? MarketDataPayload.Header.SNAPSHOT : MarketDataPayload.Header.INCREMENTAL;
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(messageType, timestamp, sequenceId++, 1),
+                new MarketDataPayload.Instrument(symbols[symbol], exchanges[symbol], currencies[symbol]),
+                entries);
+    }
+
+    public MarketDataPayload[] next(int count) {
+        MarketDataPayload[] payloads = new MarketDataPayload[count];
+        for (int i = 0; i < count; i++) {
+            payloads[i] = next();
+        }
+        return payloads;
+    }
+
+    private int pickSymbol() {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, symbols.length - 1);
+    }
+
+    // Activity concentrates near the top of the book, roughly halving with every level
+    private int skewedLevel() {
+        int level = 1;
+        while (level < shape.depth() && random.nextInt(2) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    private int action() {
+        int roll = random.nextInt(100);
+        if (roll < shape.addPercent()) {
+            return 0;
+        }
+        return roll < shape.addPercent() + shape.updatePercent() ? 1 : 2;
+    }
+
+    // Base-26 digits of the index, each shifted by a per-position offset so symbols look random
+    // but stay distinct for up to 26^symbolLength symbols
+    private String uniqueSymbol(int index, int[] offsets) {
+        char[] chars = new char[offsets.length];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = (char) ('A' + (index % 26 + offsets[i]) % 26);
+            index /= 26;
+        }
+        return new String(chars);
+    }
+
+    private String randomString(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('A' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,18 @@
+package com.tus.binary.suite.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+// A batch decode runs from deserializeBatch until its iterator is exhausted
+@Name("com.tus.binary.suite.Batch")
+@Label("Batch")
+@Threshold("1 ms")
+public final class BatchEvent extends SerializerEvent {
+
+    @Label("Decode")
+    boolean decode;
+
+    @Label("Message Count")
+    int messageCount;
+}
@@ -0,0 +1,14 @@
+package com.tus.binary.suite.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.tus.binary.suite.Decode")
+@Label("Decode")
+@Threshold("100 us")
+public final class DecodeEvent extends SerializerEvent {
+
+    @Label("View")
+    boolean view;
+}
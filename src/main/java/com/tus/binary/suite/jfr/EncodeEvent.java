@@ -0,0 +1,11 @@
+package com.tus.binary.suite.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.tus.binary.suite.Encode")
+@Label("Encode")
+@Threshold("100 us")
+public final class EncodeEvent extends SerializerEvent {
+}
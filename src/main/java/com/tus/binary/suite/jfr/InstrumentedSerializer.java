@@ -0,0 +1,151 @@
+package com.tus.binary.suite.jfr;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+// Emits EncodeEvent, DecodeEvent and BatchEvent around another serializer. Fields are only filled
+// in once shouldCommit() says the event is enabled and over its threshold, so with no recording
+// running, or a recording with a high threshold, a call costs two timestamps at most.
+// Thresholds are set per event in the recording settings, e.g. com.tus.binary.suite.Encode#threshold.
+public class InstrumentedSerializer implements ProtocolSerializer {
+
+    private final ProtocolSerializer delegate;
+    private final String protocol;
+
+    public InstrumentedSerializer(ProtocolSerializer delegate) {
+        this.delegate = delegate;
+        this.protocol = delegate.getName();
+    }
+
+    @Override
+    public byte[] serialize(MarketDataPayload payload) throws IOException {
+        EncodeEvent event = new EncodeEvent();
+        event.begin();
+        byte[] encoded = delegate.serialize(payload);
+        if (event.shouldCommit()) {
+            commit(event, encoded.length, payload.entries().size());
+        }
+        return encoded;
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer buffer, int offset) throws IOException {
+        EncodeEvent event = new EncodeEvent();
+        event.begin();
+        int length = delegate.serialize(payload, buffer, offset);
+        if (event.shouldCommit()) {
+            commit(event, length, payload.entries().size());
+        }
+        return length;
+    }
+
+    @Override
+    public MarketDataPayload deserialize(byte[] data) throws IOException {
+        DecodeEvent event = new DecodeEvent();
+        event.begin();
+        MarketDataPayload payload = delegate.deserialize(data);
+        if (event.shouldCommit()) {
+            commit(event, data.length, payload.entries().size());
+        }
+        return payload;
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer buffer, int offset, int length) throws IOException {
+        DecodeEvent event = new DecodeEvent();
+        event.begin();
+        MarketDataPayload payload = delegate.deserialize(buffer, offset, length);
+        if (event.shouldCommit()) {
+            commit(event, length, payload.entries().size());
+        }
+        return payload;
+    }
+
+    @Override
+    public MarketDataView wrap(DirectBuffer buffer, int offset, int length) throws IOException {
+        DecodeEvent event = new DecodeEvent();
+        event.begin();
+        MarketDataView view = delegate.wrap(buffer, offset, length);
+        if (event.shouldCommit()) {
+            event.view = true;
+            commit(event, length, view.entryCount());
+        }
+        return view;
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer buffer, int offset)
+            throws IOException {
+        BatchEvent event = new BatchEvent();
+        event.begin();
+        int length = delegate.serializeBatch(payloads, buffer, offset);
+        if (event.shouldCommit()) {
+            int entries = 0;
+            for (MarketDataPayload payload : payloads) {
+                entries += payload.entries().size();
+            }
+            event.messageCount = payloads.size();
+            commit(event, length, entries);
+        }
+        return length;
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer buffer, int offset, int length)
+            throws IOException {
+        BatchEvent event = new BatchEvent();
+        event.begin();
+        Iterator<MarketDataPayload> payloads = delegate.deserializeBatch(buffer, offset, length);
+        return new Iterator<>() {
+            private int messages;
+            private int entries;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = payloads.hasNext();
+                if (!hasNext && !done) {
+                    done = true;
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.decode = true;
+                        event.messageCount = messages;
+                        commit(event, length, entries);
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public MarketDataPayload next() {
+                MarketDataPayload payload = payloads.next();
+                messages++;
+                entries += payload.entries().size();
+                return payload;
+            }
+        };
+    }
+
+    public ProtocolSerializer delegate() {
+        return delegate;
+    }
+
+    private void commit(SerializerEvent event, int encodedSize, int entryCount) {
+        event.protocol = protocol;
+        event.encodedSize = encodedSize;
+        event.entryCount = entryCount;
+        event.commit();
+    }
+
+    @Override
+    public String getName() {
+        return protocol;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tus.binary.suite.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// Fields shared by every serializer event; the duration comes from JFR itself
+@Category({"Binary Proto Suite", "Serializer"})
+@StackTrace(false)
+abstract class SerializerEvent extends Event {
+
+    @Label("Protocol")
+    String protocol;
+
+    @Label("Encoded Size")
+    @Description("Bytes of the encoded message or batch frame")
+    @DataAmount
+    int encodedSize;
+
+    @Label("Entry Count")
+    @Description("Bid/ask entries, summed over the batch for batch events")
+    int entryCount;
+}
@@ -0,0 +1,431 @@
+package com.tus.binary.suite.journal;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Append-only journal of encoded messages in rolling memory-mapped segment files.
+//
+// Frame layout, 8-byte aligned:
+//   0  int32 payload length (written last, 0 marks the end of the segment)
+//   4  int32 reserved
+//   8  int64 Header.sequenceId
+//   16 int64 Header.timestamp
+//   24 payload encoded by the journal's ProtocolSerializer
+//
+// Every indexInterval-th frame (and the first frame of each segment) goes into a sparse in-memory
+// index of sequenceId and timestamp, so lookups binary search the index and then scan at most
+// indexInterval frames. A sealed segment's index is saved next to it as <segment>.index, so only
+// the last segment is scanned when a journal is reopened. Sequence ids and timestamps are
+// expected to be non-decreasing, as they are on a feed.
+//
+// Single writer, and reads are made from the writer's thread; the instance is not thread-safe.
+public class Journal implements AutoCloseable {
+
+    public static final int FRAME_HEADER_LENGTH = 24;
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL = 64;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int SEQUENCE_ID_OFFSET = 8;
+    private static final int TIMESTAMP_OFFSET = 16;
+    private static final int FRAME_ALIGNMENT = 8;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final int INDEX_HEADER_LENGTH = 8;
+    private static final int INDEX_ENTRY_LENGTH = 24;
+
+    @FunctionalInterface
+    public interface FrameHandler {
+        void onFrame(DirectBuffer buffer, int offset, int length, long sequenceId, long timestamp);
+    }
+
+    private static final class Segment {
+        private final int number;
+        private final Path path;
+        private final MappedByteBuffer mapped;
+        private final UnsafeBuffer buffer;
+        private int limit;
+        private long frames;
+
+        private Segment(int number, Path path, MappedByteBuffer mapped) {
+            this.number = number;
+            this.path = path;
+            this.mapped = mapped;
+            this.buffer = new UnsafeBuffer(mapped);
+        }
+    }
+
+    private final Path directory;
+    private final ProtocolSerializer serializer;
+    private final int segmentSize;
+    private final int indexInterval;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final UnsafeBuffer frameWindow = new UnsafeBuffer(0, 0);
+    private Segment active;
+    private int framesSinceIndex;
+    private long frameCount;
+
+    // Sparse index, one slot per indexed frame in journal order
+    private long[] indexSequenceIds = new long[256];
+    private long[] indexTimestamps = new long[256];
+    private int[] indexSegments = new int[256];
+    private int[] indexPositions = new int[256];
+    private int indexSize;
+
+    // Read cursor, reused so lookups do not allocate
+    private int cursorSegment;
+    private int cursorPosition;
+    private int frameOffset;
+    private int frameLength;
+    private long frameSequenceId;
+    private long frameTimestamp;
+
+    public Journal(Path directory, ProtocolSerializer serializer) throws IOException {
+        this(directory, serializer, DEFAULT_SEGMENT_SIZE, DEFAULT_INDEX_INTERVAL);
+    }
+
+    public Journal(Path directory, ProtocolSerializer serializer, int segmentSize, int indexInterval)
+            throws IOException {
+        if (segmentSize < 4096 || segmentSize % FRAME_ALIGNMENT != 0) {
+            throw new IllegalArgumentException("segmentSize must be a multiple of 8 and at least 4096: " + segmentSize);
+        }
+        if (indexInterval < 1) {
+            throw new IllegalArgumentException("indexInterval must be positive: " + indexInterval);
+        }
+        this.directory = directory;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+
+        Files.createDirectories(directory);
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(directory)) {
+            existing = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (int i = 0; i < existing.size(); i++) {
+            Path path = existing.get(i);
+            boolean last = i == existing.size() - 1;
+            Segment segment = new Segment(segments.size(), path, IoUtil.mapExistingFile(
+                    path.toFile(), last ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, "journal"));
+            segments.add(segment);
+            if (last || !loadIndex(segment)) {
+                scan(segment);
+            }
+        }
+
+        active = segments.isEmpty() ? newSegment() : segments.get(segments.size() - 1);
+    }
+
+    // Encodes the payload straight into the mapped segment, returns the encoded length
+    public int append(MarketDataPayload payload) throws IOException {
+        long sequenceId = payload.header().sequenceId();
+        long timestamp = payload.header().timestamp();
+
+        int length;
+        try {
+            length = encodeAt(active, payload);
+        } catch (IndexOutOfBoundsException | IllegalStateException e) {
+            if (active.limit == 0) {
+                throw new IOException("Message does not fit in a " + segmentSize + " byte segment", e);
+            }
+            roll();
+            length = encodeAt(active, payload);
+        }
+
+        commit(length, sequenceId, timestamp);
+        return length;
+    }
+
+    // Records an already encoded message, reading its header through the serializer's view
+    public int append(DirectBuffer buffer, int offset, int length) throws IOException {
+        MarketDataView view = serializer.wrap(buffer, offset, length);
+        long sequenceId = view.sequenceId();
+        long timestamp = view.timestamp();
+
+        int frameLength = BitUtil.align(FRAME_HEADER_LENGTH + length, FRAME_ALIGNMENT);
+        if (frameLength > segmentSize) {
+            throw new IOException("Message does not fit in a " + segmentSize + " byte segment");
+        }
+        if (active.limit + frameLength > active.buffer.capacity()) {
+            roll();
+        }
+
+        active.buffer.putBytes(active.limit + FRAME_HEADER_LENGTH, buffer, offset, length);
+        commit(length, sequenceId, timestamp);
+        return length;
+    }
+
+    private int encodeAt(Segment segment, MarketDataPayload payload) throws IOException {
+        int available = segment.buffer.capacity() - segment.limit - FRAME_HEADER_LENGTH;
+        if (available <= 0) {
+            throw new IllegalStateException("segment full");
+        }
+        frameWindow.wrap(segment.buffer, segment.limit + FRAME_HEADER_LENGTH, available);
+        return serializer.serialize(payload, frameWindow, 0);
+    }
+
+    private void commit(int length, long sequenceId, long timestamp) {
+        int position = active.limit;
+        UnsafeBuffer buffer = active.buffer;
+        buffer.putLong(position + SEQUENCE_ID_OFFSET, sequenceId, ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(position + TIMESTAMP_OFFSET, timestamp, ByteOrder.LITTLE_ENDIAN);
+        // Length goes last with release semantics so a concurrent tailer never sees a half frame
+        buffer.putIntOrdered(position + LENGTH_OFFSET, length);
+
+        onFrame(active, position, sequenceId, timestamp);
+        active.limit = position + BitUtil.align(FRAME_HEADER_LENGTH + length, FRAME_ALIGNMENT);
+    }
+
+    private void onFrame(Segment segment, int position, long sequenceId, long timestamp) {
+        if (position == 0 || framesSinceIndex >= indexInterval) {
+            addIndexEntry(sequenceId, timestamp, segment.number, position);
+            framesSinceIndex = 0;
+        }
+        framesSinceIndex++;
+        segment.frames++;
+        frameCount++;
+    }
+
+    // Delivers the frame with the given sequence id, returns false when it is not in the journal
+    public boolean readBySequenceId(long sequenceId, FrameHandler handler) {
+        int entry = floor(indexSequenceIds, sequenceId);
+        seek(entry);
+        while (nextFrame()) {
+            if (frameSequenceId == sequenceId) {
+                deliver(handler);
+                return true;
+            }
+            if (frameSequenceId > sequenceId) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // Delivers every frame with fromTimestamp <= timestamp <= toTimestamp, returns the frame count
+    public int scanByTime(long fromTimestamp, long toTimestamp, FrameHandler handler) {
+        // Start from the last indexed frame strictly before the range, earlier frames cannot match
+        seek(fromTimestamp == Long.MIN_VALUE ? -1 : floor(indexTimestamps, fromTimestamp - 1));
+
+        int delivered = 0;
+        while (nextFrame()) {
+            if (frameTimestamp > toTimestamp) {
+                break;
+            }
+            if (frameTimestamp >= fromTimestamp) {
+                deliver(handler);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    // Delivers every frame in journal order, returns the frame count
+    public long replay(FrameHandler handler) {
+        seek(-1);
+        long delivered = 0;
+        while (nextFrame()) {
+            deliver(handler);
+            delivered++;
+        }
+        return delivered;
+    }
+
+    public void flush() {
+        active.mapped.force();
+    }
+
+    public long frameCount() {
+        return frameCount;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public int indexSize() {
+        return indexSize;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        active.mapped.force();
+        for (Segment segment : segments) {
+            IoUtil.unmap(segment.mapped);
+        }
+        segments.clear();
+    }
+
+    private void deliver(FrameHandler handler) {
+        handler.onFrame(segments.get(cursorSegment).buffer, frameOffset, frameLength, frameSequenceId, frameTimestamp);
+    }
+
+    // Positions the cursor on an index entry, or on the start of the journal for -1
+    private void seek(int entry) {
+        if (entry < 0) {
+            cursorSegment = 0;
+            cursorPosition = 0;
+        } else {
+            cursorSegment = indexSegments[entry];
+            cursorPosition = indexPositions[entry];
+        }
+    }
+
+    private boolean nextFrame() {
+        while (cursorSegment < segments.size()) {
+            Segment segment = segments.get(cursorSegment);
+            if (cursorPosition < segment.limit) {
+                UnsafeBuffer buffer = segment.buffer;
+                frameLength = buffer.getIntVolatile(cursorPosition + LENGTH_OFFSET);
+                frameSequenceId = buffer.getLong(cursorPosition + SEQUENCE_ID_OFFSET, ByteOrder.LITTLE_ENDIAN);
+                frameTimestamp = buffer.getLong(cursorPosition + TIMESTAMP_OFFSET, ByteOrder.LITTLE_ENDIAN);
+                frameOffset = cursorPosition + FRAME_HEADER_LENGTH;
+                cursorPosition += BitUtil.align(FRAME_HEADER_LENGTH + frameLength, FRAME_ALIGNMENT);
+                return true;
+            }
+            cursorSegment++;
+            cursorPosition = 0;
+        }
+        return false;
+    }
+
+    private void roll() throws IOException {
+        active.mapped.force();
+        saveIndex(active);
+        active = newSegment();
+    }
+
+    private Segment newSegment() throws IOException {
+        int number = segments.size();
+        Path path = directory.resolve(String.format("%010d%s", number, SEGMENT_SUFFIX));
+        Segment segment = new Segment(number, path, IoUtil.mapNewFile(path.toFile(), segmentSize, false));
+        segments.add(segment);
+        framesSinceIndex = 0;
+        return segment;
+    }
+
+    // Rebuilds the limit and index entries of a segment by walking its frames
+    private void scan(Segment segment) {
+        UnsafeBuffer buffer = segment.buffer;
+        int position = 0;
+        framesSinceIndex = 0;
+        while (position + FRAME_HEADER_LENGTH <= buffer.capacity()) {
+            int length = buffer.getIntVolatile(position + LENGTH_OFFSET);
+            if (length <= 0) {
+                break;
+            }
+            onFrame(segment, position,
+                    buffer.getLong(position + SEQUENCE_ID_OFFSET, ByteOrder.LITTLE_ENDIAN),
+                    buffer.getLong(position + TIMESTAMP_OFFSET, ByteOrder.LITTLE_ENDIAN));
+            position += BitUtil.align(FRAME_HEADER_LENGTH + length, FRAME_ALIGNMENT);
+        }
+        segment.limit = position;
+    }
+
+    // Index file: int64 segment limit, int64 frame count, then (sequenceId, timestamp, position) entries
+    private void saveIndex(Segment segment) throws IOException {
+        int first = firstIndexEntry(segment.number);
+        int count = indexSize - first;
+
+        ByteBuffer out = ByteBuffer.allocate(INDEX_HEADER_LENGTH * 2 + count * INDEX_ENTRY_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.putLong(segment.limit).putLong(segment.frames);
+        for (int i = first; i < indexSize; i++) {
+            out.putLong(indexSequenceIds[i]).putLong(indexTimestamps[i]).putLong(indexPositions[i]);
+        }
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(indexPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    private boolean loadIndex(Segment segment) throws IOException {
+        Path path = indexPath(segment);
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        segment.limit = (int) in.getLong();
+        segment.frames = in.getLong();
+        frameCount += segment.frames;
+        while (in.remaining() >= INDEX_ENTRY_LENGTH) {
+            addIndexEntry(in.getLong(), in.getLong(), segment.number, (int) in.getLong());
+        }
+        return true;
+    }
+
+    private Path indexPath(Segment segment) {
+        String name = segment.path.getFileName().toString();
+        return segment.path.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private int firstIndexEntry(int segmentNumber) {
+        int entry = indexSize;
+        while (entry > 0 && indexSegments[entry - 1] == segmentNumber) {
+            entry--;
+        }
+        return entry;
+    }
+
+    private void addIndexEntry(long sequenceId, long timestamp, int segment, int position) {
+        if (indexSize == indexSequenceIds.length) {
+            int capacity = indexSize * 2;
+            indexSequenceIds = Arrays.copyOf(indexSequenceIds, capacity);
+            indexTimestamps = Arrays.copyOf(indexTimestamps, capacity);
+            indexSegments = Arrays.copyOf(indexSegments, capacity);
+            indexPositions = Arrays.copyOf(indexPositions, capacity);
+        }
+        indexSequenceIds[indexSize] = sequenceId;
+        indexTimestamps[indexSize] = timestamp;
+        indexSegments[indexSize] = segment;
+        indexPositions[indexSize] = position;
+        indexSize++;
+    }
+
+    // Last entry whose key is <= target, or -1 when every entry is greater
+    private int floor(long[] keys, long target) {
+        int low = 0;
+        int high = indexSize - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= target) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+}
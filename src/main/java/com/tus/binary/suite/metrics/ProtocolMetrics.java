@@ -0,0 +1,201 @@
+package com.tus.binary.suite.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and encoded-size distributions per protocol, recorded through HdrHistogram Recorders so
+// any number of request threads can record without locking. Every interval the recorders are
+// swapped out: the interval histogram becomes the window the Prometheus percentiles are read
+// from, is written to the current .hlog file, and is added to a running total for the report.
+// The .hlog file is replaced every rotateMinutes; an empty directory turns the log off.
+@Component
+public class ProtocolMetrics implements DisposableBean {
+
+    public static final String LATENCY = "latency";
+    public static final String ENCODED_SIZE = "encoded_size";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    // One recorded distribution, e.g. protobuf serialize latency. Record through this handle on the
+    // hot path instead of looking the series up by name.
+    public static final class Series {
+        private final String kind;
+        private final String protocol;
+        private final String operation;
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final Histogram total = new Histogram(3);
+        private Histogram interval;
+        private volatile Histogram window = new Histogram(3);
+
+        private Series(String kind, String protocol, String operation) {
+            this.kind = kind;
+            this.protocol = protocol;
+            this.operation = operation;
+        }
+
+        public void record(long value) {
+            recorder.recordValue(value);
+            count.increment();
+            sum.add(value);
+        }
+
+        public boolean isLatency() {
+            return LATENCY.equals(kind);
+        }
+
+        public String name() {
+            return protocol + " " + (operation.isEmpty() ? kind : operation);
+        }
+
+        // Everything recorded up to the last completed interval
+        public synchronized Histogram total() {
+            return total.copy();
+        }
+
+        private synchronized void roll() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            window = interval.copy();
+            window.setTag(kind + "." + protocol + (operation.isEmpty() ? "" : "." + operation));
+        }
+    }
+
+    private final List<Series> series = new CopyOnWriteArrayList<>();
+    private final File logDirectory;
+    private final long rotateMillis;
+
+    private HistogramLogWriter logWriter;
+    private long logStartMillis;
+
+    public ProtocolMetrics() {
+        this("", 60);
+    }
+
+    @Autowired
+    public ProtocolMetrics(@Value("${metrics.hlog.directory:}") String logDirectory,
+            @Value("${metrics.hlog.rotate-minutes:60}") long rotateMinutes) {
+        this.logDirectory = logDirectory.isEmpty() ? null : new File(logDirectory);
+        this.rotateMillis = TimeUnit.MINUTES.toMillis(rotateMinutes);
+    }
+
+    public Series latency(String protocol, String operation) {
+        return register(new Series(LATENCY, protocol, operation));
+    }
+
+    public Series encodedSize(String protocol) {
+        return register(new Series(ENCODED_SIZE, protocol, ""));
+    }
+
+    private Series register(Series added) {
+        series.add(added);
+        return added;
+    }
+
+    public List<Series> series() {
+        return List.copyOf(series);
+    }
+
+    @Scheduled(fixedRateString = "${metrics.interval-ms:5000}", initialDelayString = "${metrics.interval-ms:5000}")
+    public synchronized void roll() {
+        for (Series s : series) {
+            s.roll();
+        }
+        if (logDirectory == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (logWriter == null || now - logStartMillis >= rotateMillis) {
+            openLog(now);
+        }
+        for (Series s : series) {
+            if (s.window.getTotalCount() > 0) {
+                logWriter.outputIntervalHistogram(s.window);
+            }
+        }
+    }
+
+    private void openLog(long now) {
+        closeLog();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        try {
+            logDirectory.mkdirs();
+            logWriter = new HistogramLogWriter(new File(logDirectory, timestamp + "_latency.hlog"));
+        } catch (FileNotFoundException e) {
+            throw new IllegalStateException("Cannot open histogram log in " + logDirectory, e);
+        }
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(now);
+        logWriter.setBaseTime(now);
+        logWriter.outputLegend();
+        logStartMillis = now;
+    }
+
+    private void closeLog() {
+        if (logWriter != null) {
+            logWriter.close();
+            logWriter = null;
+        }
+    }
+
+    // Prometheus text exposition format (version 0.0.4). Quantiles cover the last completed
+    // interval, count and sum everything since start.
+    public String prometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP market_data_latency_seconds Serializer call latency, quantiles over the last interval\n");
+        out.append("# TYPE market_data_latency_seconds summary\n");
+        for (Series s : series) {
+            if (LATENCY.equals(s.kind)) {
+                appendSummary(out, "market_data_latency_seconds", s, 1e-9);
+            }
+        }
+        out.append("# HELP market_data_encoded_bytes Encoded message size, quantiles over the last interval\n");
+        out.append("# TYPE market_data_encoded_bytes summary\n");
+        for (Series s : series) {
+            if (ENCODED_SIZE.equals(s.kind)) {
+                appendSummary(out, "market_data_encoded_bytes", s, 1);
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendSummary(StringBuilder out, String name, Series s, double scale) {
+        String labels = "protocol=\"" + s.protocol + "\""
+                + (s.operation.isEmpty() ? "" : ",operation=\"" + s.operation + "\"");
+        Histogram window = s.window;
+        for (double quantile : QUANTILES) {
+            double value = window.getTotalCount() > 0 ? window.getValueAtPercentile(quantile * 100) * scale : Double.NaN;
+            out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(format(value)).append('\n');
+        }
+        out.append(name).append("_sum{").append(labels).append("} ").append(format(s.sum.sum() * scale)).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(s.count.sum()).append('\n');
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "NaN" : String.format(Locale.ROOT, "%.9g", value);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeLog();
+    }
+}
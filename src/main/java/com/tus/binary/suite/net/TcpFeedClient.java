@@ -0,0 +1,52 @@
+package com.tus.binary.suite.net;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.stream.MessageStreamReader;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+
+// Blocking subscriber to a TcpFeedServer. read() and readView() block until the next message
+// and return null once the server has closed the connection.
+// Not thread-safe.
+public class TcpFeedClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final MessageStreamReader reader;
+    private long messagesReceived;
+
+    public TcpFeedClient(ProtocolSerializer serializer, SocketAddress server) throws IOException {
+        this.channel = SocketChannel.open(server);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.reader = new MessageStreamReader(serializer, channel);
+    }
+
+    public MarketDataPayload read() throws IOException {
+        return count(reader.read());
+    }
+
+    // The view is only valid until the next read
+    public MarketDataView readView() throws IOException {
+        return count(reader.readView());
+    }
+
+    private <T> T count(T message) {
+        if (message != null) {
+            messagesReceived++;
+        }
+        return message;
+    }
+
+    public long messagesReceived() {
+        return messagesReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
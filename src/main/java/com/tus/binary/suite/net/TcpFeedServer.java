@@ -0,0 +1,363 @@
+package com.tus.binary.suite.net;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.tus.binary.suite.stream.MessageStreamWriter.FRAME_HEADER_LENGTH;
+
+// Fans one feed out to every connected client over TCP, framed like MessageStreamWriter so
+// TcpFeedClient (or any MessageStreamReader) can read it.
+//
+// publish() encodes on the caller's thread into a ring buffer and never blocks: when the ring is
+// full the message is dropped and counted. A single selector thread drains the ring into a batch
+// of whole frames and sends the batch to all clients once it reaches maxBatchBytes or its oldest
+// message has waited maxDelayNanos. Batches grow with the load: at low rates most messages only
+// wait out the delay, under load whatever queued up goes out in one write.
+//
+// A client that cannot keep up gets the unwritten part of each batch queued in its own backlog,
+// which is sent ahead of the next batch with a gathering write. Once the backlog would exceed
+// maxClientBacklogBytes the client is disconnected rather than holding up the others.
+// close() sends what is still queued once, without waiting on clients that are behind.
+//
+// An I/O error on one connection only closes that client. Should the selector itself fail, the
+// server thread stops and closes every client; failure() then returns the cause, and publish()
+// throws it instead of queueing messages nobody will send.
+public class TcpFeedServer implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_BYTES = 16 * 1024;
+    public static final long DEFAULT_MAX_DELAY_NANOS = 50_000;
+    public static final int DEFAULT_MAX_CLIENT_BACKLOG_BYTES = 1024 * 1024;
+    public static final int DEFAULT_RING_CAPACITY = 4 * 1024 * 1024;
+
+    private static final int MESSAGE_TYPE = 1;
+
+    private static final class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer backlog;
+        private final ByteBuffer[] gather = new ByteBuffer[2];
+
+        private Client(SocketChannel channel, int maxBacklogBytes) {
+            this.channel = channel;
+            // Kept in read mode: the unsent bytes sit between position and limit
+            this.backlog = ByteBuffer.allocateDirect(maxBacklogBytes).limit(0);
+        }
+    }
+
+    private final ProtocolSerializer serializer;
+    private final SocketAddress bindAddress;
+    private final int maxBatchBytes;
+    private final long maxDelayNanos;
+    private final int maxClientBacklogBytes;
+    private final ManyToOneRingBuffer ring;
+    private final ThreadLocal<ExpandableDirectByteBuffer> encodeBuffers =
+            ThreadLocal.withInitial(() -> new ExpandableDirectByteBuffer(1024));
+
+    private final ByteBuffer batch;
+    private final UnsafeBuffer batchBuffer;
+    private final MessageHandler drainHandler = this::append;
+    private long batchStartNanos;
+
+    private final ByteBuffer readScratch = ByteBuffer.allocateDirect(256);
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile Exception failure;
+
+    private final LongAdder messagesPublished = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private volatile int clientCount;
+    private volatile long batchesSent;
+    private volatile long slowConsumersDisconnected;
+    private volatile long acceptFailures;
+
+    public TcpFeedServer(ProtocolSerializer serializer, SocketAddress bindAddress) {
+        this(serializer, bindAddress, DEFAULT_MAX_BATCH_BYTES, DEFAULT_MAX_DELAY_NANOS,
+                DEFAULT_MAX_CLIENT_BACKLOG_BYTES, DEFAULT_RING_CAPACITY);
+    }
+
+    public TcpFeedServer(ProtocolSerializer serializer, SocketAddress bindAddress, int maxBatchBytes,
+            long maxDelayNanos, int maxClientBacklogBytes, int ringCapacity) {
+        if (maxBatchBytes <= FRAME_HEADER_LENGTH) {
+            throw new IllegalArgumentException("maxBatchBytes too small: " + maxBatchBytes);
+        }
+        if (maxClientBacklogBytes < maxBatchBytes) {
+            throw new IllegalArgumentException("maxClientBacklogBytes must hold at least one batch: "
+                    + maxClientBacklogBytes);
+        }
+        this.serializer = serializer;
+        this.bindAddress = bindAddress;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxDelayNanos = maxDelayNanos;
+        this.maxClientBacklogBytes = maxClientBacklogBytes;
+        this.ring = new ManyToOneRingBuffer(new UnsafeBuffer(
+                ByteBuffer.allocateDirect(ringCapacity + RingBufferDescriptor.TRAILER_LENGTH)));
+        this.batch = ByteBuffer.allocateDirect(maxBatchBytes);
+        this.batchBuffer = new UnsafeBuffer(batch);
+    }
+
+    public TcpFeedServer start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open().bind(bindAddress);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        thread = new Thread(this::run, "tcp-feed-server");
+        thread.start();
+        return this;
+    }
+
+    public InetSocketAddress localAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    // Safe to call from any number of threads. Returns false when the message was dropped because
+    // the ring buffer is full or the message does not fit a batch.
+    public boolean publish(MarketDataPayload payload) throws IOException {
+        Exception failed = failure;
+        if (failed != null) {
+            throw new IOException("TCP feed server stopped after a failure", failed);
+        }
+        ExpandableDirectByteBuffer buffer = encodeBuffers.get();
+        int length = serializer.serialize(payload, buffer, 0);
+        if (FRAME_HEADER_LENGTH + length > maxBatchBytes || !ring.write(MESSAGE_TYPE, buffer, 0, length)) {
+            messagesDropped.increment();
+            return false;
+        }
+        messagesPublished.increment();
+        return true;
+    }
+
+    private void run() {
+        // Parking longer than the flush delay would stretch it, so cap the back-off there
+        IdleStrategy idleStrategy = new BackoffIdleStrategy(100, 10, 1_000, Math.max(1_000, maxDelayNanos));
+        try {
+            while (running) {
+                int work = ring.read(drainHandler);
+                if (batch.position() > 0 && System.nanoTime() - batchStartNanos >= maxDelayNanos) {
+                    sendBatch();
+                    work++;
+                }
+                work += selector.selectNow();
+                if (work > 0) {
+                    handleSelected();
+                }
+                idleStrategy.idle(work);
+            }
+            // Whatever is still queued goes out before the clients are closed
+            ring.read(drainHandler, Integer.MAX_VALUE);
+            sendBatch();
+        } catch (IOException | RuntimeException e) {
+            // The selector itself failed, client errors are handled where they happen
+            failure = e;
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void append(int msgTypeId, DirectBuffer buffer, int index, int length) {
+        if (batch.position() + FRAME_HEADER_LENGTH + length > maxBatchBytes) {
+            sendBatch();
+        }
+        int position = batch.position();
+        if (position == 0) {
+            batchStartNanos = System.nanoTime();
+        }
+        batchBuffer.putInt(position, length, ByteOrder.LITTLE_ENDIAN);
+        batchBuffer.putBytes(position + FRAME_HEADER_LENGTH, buffer, index, length);
+        batch.position(position + FRAME_HEADER_LENGTH + length);
+    }
+
+    private void sendBatch() {
+        if (batch.position() == 0) {
+            return;
+        }
+        batch.flip();
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof Client client) {
+                send(key, client);
+            }
+        }
+        batch.clear();
+        batchesSent++;
+    }
+
+    private void send(SelectionKey key, Client client) {
+        ByteBuffer frames = batch.duplicate();
+        try {
+            if (client.backlog.hasRemaining()) {
+                client.gather[0] = client.backlog;
+                client.gather[1] = frames;
+                client.channel.write(client.gather);
+            } else {
+                client.channel.write(frames);
+            }
+        } catch (IOException e) {
+            disconnect(key, client);
+            return;
+        }
+
+        if (frames.hasRemaining()) {
+            ByteBuffer backlog = client.backlog;
+            if (backlog.remaining() + frames.remaining() > maxClientBacklogBytes) {
+                slowConsumersDisconnected++;
+                disconnect(key, client);
+                return;
+            }
+            backlog.compact().put(frames).flip();
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void handleSelected() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+
+            Client client = (Client) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    // Clients never send anything, a read only tells us they went away
+                    readScratch.clear();
+                    if (client.channel.read(readScratch) < 0) {
+                        disconnect(key, client);
+                        continue;
+                    }
+                }
+                if (key.isWritable()) {
+                    client.channel.write(client.backlog);
+                    if (!client.backlog.hasRemaining()) {
+                        key.interestOps(SelectionKey.OP_READ);
+                    }
+                }
+            } catch (IOException e) {
+                disconnect(key, client);
+            }
+        }
+    }
+
+    // A connection that fails while being set up (reset by the peer, out of file descriptors) is
+    // dropped and counted; the server keeps accepting
+    private void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Client(channel, maxClientBacklogBytes));
+            clientCount++;
+        } catch (IOException e) {
+            acceptFailures++;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Already gone
+                }
+            }
+        }
+    }
+
+    // Cancelled keys stay in the key set until the next select, so this can be reached twice
+    private void disconnect(SelectionKey key, Client client) {
+        if (!key.isValid()) {
+            return;
+        }
+        key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+        clientCount--;
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Client client) {
+                disconnect(key, client);
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // Shutting down anyway
+        }
+    }
+
+    public int clientCount() {
+        return clientCount;
+    }
+
+    public long messagesPublished() {
+        return messagesPublished.sum();
+    }
+
+    public long messagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    public long batchesSent() {
+        return batchesSent;
+    }
+
+    public long slowConsumersDisconnected() {
+        return slowConsumersDisconnected;
+    }
+
+    public long acceptFailures() {
+        return acceptFailures;
+    }
+
+    // The error that stopped the server thread, or null while it is healthy or after a clean close()
+    public Exception failure() {
+        return failure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while stopping the feed server", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.tus.binary.suite.net;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+
+import static com.tus.binary.suite.stream.MessageStreamWriter.FRAME_HEADER_LENGTH;
+
+// Packs encoded messages into datagrams, each message framed like MessageStreamWriter does
+// (little-endian int32 length, then the message), so one datagram carries as many messages as fit.
+// offer() adds a message and sends the pending datagram first when the message would not fit in
+// it; flush() sends whatever is pending. publish() is offer plus flush, one message per datagram.
+// Not thread-safe.
+public class UdpPublisher implements AutoCloseable {
+
+    // 1500 byte Ethernet MTU less the IPv4 and UDP headers, so datagrams are never fragmented
+    public static final int DEFAULT_MAX_DATAGRAM_LENGTH = 1472;
+
+    private final ProtocolSerializer serializer;
+    private final DatagramChannel channel;
+    private final SocketAddress target;
+    private final int maxDatagramLength;
+    private final ByteBuffer datagram;
+    private final UnsafeBuffer datagramBuffer;
+    private final ExpandableDirectByteBuffer encodeBuffer = new ExpandableDirectByteBuffer(1024);
+
+    private int pendingLength;
+    private int pendingMessages;
+    private long messagesSent;
+    private long messagesDropped;
+    private long datagramsSent;
+    private long datagramsDropped;
+    private long bytesSent;
+
+    public UdpPublisher(ProtocolSerializer serializer, DatagramChannel channel, SocketAddress target) {
+        this(serializer, channel, target, DEFAULT_MAX_DATAGRAM_LENGTH);
+    }
+
+    public UdpPublisher(ProtocolSerializer serializer, DatagramChannel channel, SocketAddress target,
+            int maxDatagramLength) {
+        if (maxDatagramLength <= FRAME_HEADER_LENGTH) {
+            throw new IllegalArgumentException("maxDatagramLength too small: " + maxDatagramLength);
+        }
+        this.serializer = serializer;
+        this.channel = channel;
+        this.target = target;
+        this.maxDatagramLength = maxDatagramLength;
+        this.datagram = ByteBuffer.allocateDirect(maxDatagramLength);
+        this.datagramBuffer = new UnsafeBuffer(datagram);
+    }
+
+    public void publish(MarketDataPayload payload) throws IOException {
+        offer(payload);
+        flush();
+    }
+
+    public void offer(MarketDataPayload payload) throws IOException {
+        int length = serializer.serialize(payload, encodeBuffer, 0);
+        int frameLength = FRAME_HEADER_LENGTH + length;
+        if (frameLength > maxDatagramLength) {
+            throw new IOException("Message of " + length + " bytes does not fit a " + maxDatagramLength
+                    + " byte datagram");
+        }
+        if (pendingLength + frameLength > maxDatagramLength) {
+            flush();
+        }
+
+        datagramBuffer.putInt(pendingLength, length, ByteOrder.LITTLE_ENDIAN);
+        datagramBuffer.putBytes(pendingLength + FRAME_HEADER_LENGTH, encodeBuffer, 0, length);
+        pendingLength += frameLength;
+        pendingMessages++;
+    }
+
+    // A full socket send buffer drops the datagram on a non-blocking channel (send returns 0), the
+    // same as a loss on the wire, which the subscriber reports as a gap. It is counted as dropped
+    // here, not as sent.
+    public void flush() throws IOException {
+        if (pendingLength == 0) {
+            return;
+        }
+        datagram.limit(pendingLength).position(0);
+        int written = channel.send(datagram, target);
+        datagram.clear();
+        if (written == 0) {
+            datagramsDropped++;
+            messagesDropped += pendingMessages;
+        } else {
+            datagramsSent++;
+            messagesSent += pendingMessages;
+            bytesSent += written;
+        }
+        pendingLength = 0;
+        pendingMessages = 0;
+    }
+
+    public long messagesSent() {
+        return messagesSent;
+    }
+
+    public long messagesDropped() {
+        return messagesDropped;
+    }
+
+    public long datagramsSent() {
+        return datagramsSent;
+    }
+
+    public long datagramsDropped() {
+        return datagramsDropped;
+    }
+
+    public long bytesSent() {
+        return bytesSent;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
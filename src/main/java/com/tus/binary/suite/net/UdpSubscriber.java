@@ -0,0 +1,144 @@
+package com.tus.binary.suite.net;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.HdrHistogram.Histogram;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.util.function.Consumer;
+
+import static com.tus.binary.suite.stream.MessageStreamWriter.FRAME_HEADER_LENGTH;
+
+// Receives UdpPublisher datagrams into one reusable direct buffer and hands every message to the
+// handler as the serializer's view over that buffer. Header.sequenceId is treated as one sequence
+// for the whole feed: a jump forward counts the skipped ids as lost, anything at or below the
+// last seen id is dropped as a duplicate (a late, reordered datagram lands there too, after its
+// ids were already counted as lost).
+//
+// The latency histogram records, per message, the nanoseconds from the datagram leaving
+// receive() to the handler returning, so the handler is where the decode being measured belongs.
+// Not thread-safe.
+public class UdpSubscriber implements AutoCloseable {
+
+    private static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+    private final ProtocolSerializer serializer;
+    private final DatagramChannel channel;
+    private final ByteBuffer datagram;
+    private final UnsafeBuffer datagramBuffer;
+    private final Histogram latency = new Histogram(3);
+
+    private long lastSequenceId = NO_SEQUENCE;
+    private long datagramsReceived;
+    private long messagesReceived;
+    private long gaps;
+    private long lostMessages;
+    private long duplicates;
+    private long malformedDatagrams;
+
+    public UdpSubscriber(ProtocolSerializer serializer, DatagramChannel channel) {
+        this(serializer, channel, UdpPublisher.DEFAULT_MAX_DATAGRAM_LENGTH);
+    }
+
+    public UdpSubscriber(ProtocolSerializer serializer, DatagramChannel channel, int maxDatagramLength) {
+        this.serializer = serializer;
+        this.channel = channel;
+        this.datagram = ByteBuffer.allocateDirect(maxDatagramLength);
+        this.datagramBuffer = new UnsafeBuffer(datagram);
+    }
+
+    // Receives at most one datagram and returns the number of messages handed to the handler.
+    // Blocks on a blocking channel, returns 0 straight away on a non-blocking one with nothing queued.
+    // The view is only valid inside the handler.
+    public int poll(Consumer<MarketDataView> handler) throws IOException {
+        datagram.clear();
+        if (channel.receive(datagram) == null) {
+            return 0;
+        }
+        long receivedAt = System.nanoTime();
+        datagramsReceived++;
+
+        int length = datagram.position();
+        int offset = 0;
+        int delivered = 0;
+        while (offset < length) {
+            if (length - offset < FRAME_HEADER_LENGTH) {
+                malformedDatagrams++;
+                break;
+            }
+            int frameLength = datagramBuffer.getInt(offset, ByteOrder.LITTLE_ENDIAN);
+            offset += FRAME_HEADER_LENGTH;
+            if (frameLength < 0 || frameLength > length - offset) {
+                malformedDatagrams++;
+                break;
+            }
+
+            MarketDataView view = serializer.wrap(datagramBuffer, offset, frameLength);
+            offset += frameLength;
+            messagesReceived++;
+            if (!inSequence(view.sequenceId())) {
+                continue;
+            }
+            handler.accept(view);
+            latency.recordValue(System.nanoTime() - receivedAt);
+            delivered++;
+        }
+        return delivered;
+    }
+
+    private boolean inSequence(long sequenceId) {
+        if (lastSequenceId != NO_SEQUENCE) {
+            if (sequenceId <= lastSequenceId) {
+                duplicates++;
+                return false;
+            }
+            if (sequenceId > lastSequenceId + 1) {
+                gaps++;
+                lostMessages += sequenceId - lastSequenceId - 1;
+            }
+        }
+        lastSequenceId = sequenceId;
+        return true;
+    }
+
+    public long lastSequenceId() {
+        return lastSequenceId;
+    }
+
+    public long datagramsReceived() {
+        return datagramsReceived;
+    }
+
+    public long messagesReceived() {
+        return messagesReceived;
+    }
+
+    public long gaps() {
+        return gaps;
+    }
+
+    public long lostMessages() {
+        return lostMessages;
+    }
+
+    public long duplicates() {
+        return duplicates;
+    }
+
+    public long malformedDatagrams() {
+        return malformedDatagrams;
+    }
+
+    public Histogram latency() {
+        return latency;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,416 @@
+package com.tus.binary.suite.pipeline;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.sbe.MarketDataDecoder;
+import com.tus.binary.suite.sbe.MessageHeaderDecoder;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.transcode.MarketDataWriter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Staged in-process feed handler. Each stage is an Agrona Agent on its own thread, and the stages
+// are connected by ring buffers over off-heap memory:
+//
+//   offer() --ManyToOne--> decode --OneToOne--> handle --OneToOne--> publish --> Publisher
+//
+// Messages stay SBE-encoded the whole way. A stage reads its message in place through the
+// SbeSerializer's view and forwards it into space claimed in the next ring, so a hop is one bulk
+// copy between rings and nothing is decoded into objects. Every record carries two timestamps
+// ahead of the message: when it entered the pipeline and when it entered the current ring.
+// A full ring pushes back: the stage leaves the message in its input and retries on the next
+// duty cycle, and offer() returns false once the inbound ring is full.
+//
+//   decode  - checks the SBE header and reads the message through a view bounded to the frame,
+//             so a truncated or foreign frame is dropped here instead of reaching the handler
+//   handle  - runs the Handler and forwards the messages it returns true for, e.g.
+//             view -> engine.apply(view) != null to keep an OrderBookEngine up to date
+//   publish - re-encodes with a MarketDataWriter, or passes the SBE bytes straight through when
+//             there is none, and hands the result to the Publisher
+//
+// Per stage the time from entering its input ring to leaving the stage is recorded, along with
+// its input queue depth in messages, sampled on every duty cycle that found work. Publish also
+// records the end-to-end time from offer().
+public class MarketDataPipeline implements AutoCloseable {
+
+    public static final int DEFAULT_RING_CAPACITY = 4 * 1024 * 1024;
+    public static final String DEFAULT_IDLE_STRATEGY = "backoff";
+
+    private static final int ORIGIN_OFFSET = 0;
+    private static final int ENQUEUED_OFFSET = 8;
+    private static final int RECORD_HEADER_LENGTH = 16;
+    private static final int MESSAGE_TYPE = 1;
+    private static final int READ_LIMIT = 256;
+
+    @FunctionalInterface
+    public interface Handler {
+        // The view is only valid during the call. Returning false stops the message here.
+        // OrderBookEngine.apply returns the book it updated, so adapt it with a lambda.
+        boolean onMessage(MarketDataView view);
+    }
+
+    @FunctionalInterface
+    public interface Publisher {
+        // The bytes are only valid during the call
+        void onMessage(DirectBuffer buffer, int offset, int length);
+    }
+
+    public record StageStats(String stage, long messages, long dropped, Histogram latency, Histogram queueDepth) {
+    }
+
+    private static final class Channel {
+        private final RingBuffer ring;
+        private final AtomicLong written = new AtomicLong();
+
+        private Channel(RingBuffer ring) {
+            this.ring = ring;
+        }
+    }
+
+    private abstract static class Stage implements Agent, ControlledMessageHandler {
+        private final String name;
+        private final Channel input;
+        private final Channel output;
+        private final Recorder latencyRecorder = new Recorder(3);
+        private final Recorder depthRecorder = new Recorder(3);
+        private final Histogram latencyTotal = new Histogram(3);
+        private final Histogram depthTotal = new Histogram(3);
+        private final AtomicLong messages = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private long consumed;
+        private long completedNanos;
+
+        private Stage(String name, Channel input, Channel output) {
+            this.name = name;
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public int doWork() {
+            // The producer counts after it commits, so this can trail what is already in the ring
+            long depth = input.written.get() - consumed;
+            int read = input.ring.controlledRead(this, READ_LIMIT);
+            if (read > 0) {
+                depthRecorder.recordValue(Math.max(depth, read));
+                consumed += read;
+                messages.lazySet(consumed);
+            }
+            return read;
+        }
+
+        @Override
+        public Action onMessage(int msgTypeId, MutableDirectBuffer buffer, int index, int length) {
+            long origin = buffer.getLong(index + ORIGIN_OFFSET);
+            long enqueued = buffer.getLong(index + ENQUEUED_OFFSET);
+            try {
+                if (!process(buffer, index + RECORD_HEADER_LENGTH, length - RECORD_HEADER_LENGTH, origin)) {
+                    return Action.ABORT;
+                }
+            } catch (IOException | RuntimeException e) {
+                drop();
+            }
+            latencyRecorder.recordValue(Math.max(0, completedNanos - enqueued));
+            return Action.CONTINUE;
+        }
+
+        // Returns false to leave the message in the input ring and try again later
+        abstract boolean process(DirectBuffer buffer, int offset, int length, long origin) throws IOException;
+
+        final boolean forward(DirectBuffer buffer, int offset, int length, long origin) {
+            int index = claim(length);
+            if (index < 0) {
+                return false;
+            }
+            commit(index, buffer, offset, length, origin);
+            return true;
+        }
+
+        // Space for a message of length in the output ring, or a negative value when it is full.
+        // A claimed slot must be either committed or aborted before the next claim.
+        final int claim(int length) {
+            return output.ring.tryClaim(MESSAGE_TYPE, RECORD_HEADER_LENGTH + length);
+        }
+
+        final void commit(int index, DirectBuffer buffer, int offset, int length, long origin) {
+            completedNanos = System.nanoTime();
+            AtomicBuffer target = output.ring.buffer();
+            target.putLong(index + ORIGIN_OFFSET, origin);
+            target.putLong(index + ENQUEUED_OFFSET, completedNanos);
+            target.putBytes(index + RECORD_HEADER_LENGTH, buffer, offset, length);
+            output.ring.commit(index);
+            output.written.lazySet(output.written.get() + 1);
+        }
+
+        final void abort(int index) {
+            output.ring.abort(index);
+        }
+
+        final void complete() {
+            completedNanos = System.nanoTime();
+        }
+
+        final void drop() {
+            complete();
+            dropped.lazySet(dropped.get() + 1);
+        }
+
+        // Everything counted as written to the input has been taken out of it
+        final boolean caughtUp() {
+            return input.ring.size() == 0 && messages.get() == input.written.get();
+        }
+
+        final long passed() {
+            return messages.get() - dropped.get();
+        }
+
+        @Override
+        public String roleName() {
+            return "pipeline-" + name;
+        }
+
+        private synchronized StageStats stats() {
+            latencyTotal.add(latencyRecorder.getIntervalHistogram());
+            depthTotal.add(depthRecorder.getIntervalHistogram());
+            return new StageStats(name, messages.get(), dropped.get(), latencyTotal.copy(), depthTotal.copy());
+        }
+    }
+
+    private final class DecodeStage extends Stage {
+        private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+        private final UnsafeBuffer frame = new UnsafeBuffer(0, 0);
+
+        private DecodeStage() {
+            super("decode", inbound, decoded);
+        }
+
+        @Override
+        boolean process(DirectBuffer buffer, int offset, int length, long origin) {
+            if (length < MessageHeaderDecoder.ENCODED_LENGTH) {
+                drop();
+                return true;
+            }
+            // Bounded to the frame, so reading past its end throws rather than running into the next record
+            frame.wrap(buffer, offset, length);
+            headerDecoder.wrap(frame, 0);
+            if (headerDecoder.schemaId() != MarketDataDecoder.SCHEMA_ID
+                    || headerDecoder.templateId() != MarketDataDecoder.TEMPLATE_ID) {
+                drop();
+                return true;
+            }
+            serializer.wrap(frame, 0, length);
+            return forward(buffer, offset, length, origin);
+        }
+    }
+
+    private final class HandleStage extends Stage {
+        private HandleStage() {
+            super("handle", decoded, handled);
+        }
+
+        // The output slot is claimed before the handler runs: a message left in the input for a
+        // full ring is delivered again, and a handler with side effects such as an order book
+        // must not see it twice
+        @Override
+        boolean process(DirectBuffer buffer, int offset, int length, long origin) {
+            int index = claim(length);
+            if (index < 0) {
+                return false;
+            }
+            boolean accepted;
+            try {
+                accepted = handler.onMessage(serializer.wrap(buffer, offset, length));
+            } catch (RuntimeException e) {
+                abort(index);
+                throw e;
+            }
+            if (!accepted) {
+                abort(index);
+                drop();
+                return true;
+            }
+            commit(index, buffer, offset, length, origin);
+            return true;
+        }
+    }
+
+    private final class PublishStage extends Stage {
+        private final ExpandableDirectByteBuffer encodeBuffer = new ExpandableDirectByteBuffer(1024);
+        private final Recorder endToEndRecorder = new Recorder(3);
+        private final Histogram endToEndTotal = new Histogram(3);
+
+        private PublishStage() {
+            super("publish", handled, null);
+        }
+
+        @Override
+        boolean process(DirectBuffer buffer, int offset, int length, long origin) throws IOException {
+            if (writer == null) {
+                publisher.onMessage(buffer, offset, length);
+            } else {
+                int encoded = writer.write(serializer.wrap(buffer, offset, length), encodeBuffer, 0);
+                publisher.onMessage(encodeBuffer, 0, encoded);
+            }
+            complete();
+            endToEndRecorder.recordValue(Math.max(0, System.nanoTime() - origin));
+            return true;
+        }
+
+        private synchronized Histogram endToEnd() {
+            endToEndTotal.add(endToEndRecorder.getIntervalHistogram());
+            return endToEndTotal.copy();
+        }
+    }
+
+    private final SbeSerializer serializer = new SbeSerializer();
+    private final Handler handler;
+    private final MarketDataWriter writer;
+    private final Publisher publisher;
+    private final String idleStrategy;
+
+    private final Channel inbound;
+    private final Channel decoded;
+    private final Channel handled;
+    private final List<Stage> stages = new ArrayList<>();
+    private final PublishStage publishStage;
+    private final List<AgentRunner> runners = new ArrayList<>();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public MarketDataPipeline(Handler handler, Publisher publisher) {
+        this(handler, null, publisher, DEFAULT_IDLE_STRATEGY, DEFAULT_RING_CAPACITY);
+    }
+
+    // writer may be null to publish the SBE bytes as they are
+    public MarketDataPipeline(Handler handler, MarketDataWriter writer, Publisher publisher, String idleStrategy,
+            int ringCapacity) {
+        // Fails on an unknown name here rather than on start()
+        idleStrategy(idleStrategy);
+        this.handler = handler;
+        this.writer = writer;
+        this.publisher = publisher;
+        this.idleStrategy = idleStrategy;
+        this.inbound = new Channel(new ManyToOneRingBuffer(ringBuffer(ringCapacity)));
+        this.decoded = new Channel(new OneToOneRingBuffer(ringBuffer(ringCapacity)));
+        this.handled = new Channel(new OneToOneRingBuffer(ringBuffer(ringCapacity)));
+        this.publishStage = new PublishStage();
+        stages.add(new DecodeStage());
+        stages.add(new HandleStage());
+        stages.add(publishStage);
+    }
+
+    private static UnsafeBuffer ringBuffer(int capacity) {
+        return new UnsafeBuffer(ByteBuffer.allocateDirect(capacity + RingBufferDescriptor.TRAILER_LENGTH));
+    }
+
+    // busy-spin burns a core per stage for the lowest latency, yield gives the core up between
+    // polls, backoff spins, yields and then parks, so an idle pipeline costs next to nothing
+    public static IdleStrategy idleStrategy(String name) {
+        return switch (name) {
+            case "busy-spin" -> new BusySpinIdleStrategy();
+            case "yield" -> new YieldingIdleStrategy();
+            case "backoff" -> new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                    TimeUnit.MICROSECONDS.toNanos(100));
+            default -> throw new IllegalArgumentException("Unknown idle strategy: " + name);
+        };
+    }
+
+    public MarketDataPipeline start() {
+        for (Stage stage : stages) {
+            AgentRunner runner = new AgentRunner(idleStrategy(idleStrategy), error -> errors.increment(), null, stage);
+            runners.add(runner);
+            AgentRunner.startOnThread(runner);
+        }
+        return this;
+    }
+
+    // Copies one SBE-encoded frame into the inbound ring. Safe to call from any number of threads;
+    // returns false when the ring is full.
+    public boolean offer(DirectBuffer buffer, int offset, int length) {
+        RingBuffer ring = inbound.ring;
+        int index = ring.tryClaim(MESSAGE_TYPE, RECORD_HEADER_LENGTH + length);
+        if (index < 0) {
+            rejected.increment();
+            return false;
+        }
+        long now = System.nanoTime();
+        AtomicBuffer target = ring.buffer();
+        target.putLong(index + ORIGIN_OFFSET, now);
+        target.putLong(index + ENQUEUED_OFFSET, now);
+        target.putBytes(index + RECORD_HEADER_LENGTH, buffer, offset, length);
+        ring.commit(index);
+        inbound.written.incrementAndGet();
+        return true;
+    }
+
+    // Waits until everything offered so far has been published or dropped
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!stages.stream().allMatch(Stage::caughtUp)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    public List<StageStats> stats() {
+        List<StageStats> stats = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            stats.add(stage.stats());
+        }
+        return stats;
+    }
+
+    public Histogram endToEndLatency() {
+        return publishStage.endToEnd();
+    }
+
+    public long offered() {
+        return inbound.written.get();
+    }
+
+    public long published() {
+        return publishStage.passed();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    @Override
+    public void close() {
+        for (AgentRunner runner : runners) {
+            runner.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.avro.MarketData;
+import com.tus.binary.suite.dto.MarketDataView;
+
+// Avro has no in-place reader either. The record handed in is read with object reuse,
+// so the records and entry array are recycled between messages and only the strings are new.
+public final class AvroMarketDataView implements MarketDataView {
+
+    private MarketData record;
+
+    // The record to pass back into SpecificDatumReader.read for reuse
+    public MarketData record() {
+        return record;
+    }
+
+    public AvroMarketDataView wrap(MarketData record) {
+        this.record = record;
+        return this;
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return record.getHeader().getMessageType();
+    }
+
+    @Override
+    public long timestamp() {
+        return record.getHeader().getTimestamp();
+    }
+
+    @Override
+    public long sequenceId() {
+        return record.getHeader().getSequenceId();
+    }
+
+    @Override
+    public int version() {
+        return record.getHeader().getVersion();
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return record.getInstrument().getSymbol();
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return record.getInstrument().getExchange();
+    }
+
+    @Override
+    public CharSequence currency() {
+        return record.getInstrument().getCurrency();
+    }
+
+    @Override
+    public int entryCount() {
+        return record.getEntries().size();
+    }
+
+    @Override
+    public long price(int index) {
+        return record.getEntries().get(index).getPrice();
+    }
+
+    @Override
+    public long size(int index) {
+        return record.getEntries().get(index).getSize();
+    }
+
+    @Override
+    public int level(int index) {
+        return record.getEntries().get(index).getLevel();
+    }
+
+    @Override
+    public int side(int index) {
+        return record.getEntries().get(index).getSide();
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return record.getEntries().get(index).getUpdateAction();
+    }
+}
@@ -0,0 +1,63 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.avro.MarketData;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.specific.SpecificDatumReader;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Writer schemas of market_data.avsc, keyed by the CRC-64-AVRO parsing fingerprint that the
+// single-object encoding header carries. Writers and readers roll out schema versions on their
+// own, so each known writer schema gets one resolving reader against the MarketData class compiled
+// into this build; the schema pair is resolved once and not per message.
+// The current schema is always registered. Thread-safe.
+public class AvroSchemaRegistry {
+
+    private final StringCache stringCache;
+    private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+    private final Map<Long, SpecificDatumReader<MarketData>> readers = new ConcurrentHashMap<>();
+
+    public AvroSchemaRegistry() {
+        this(new StringCache());
+    }
+
+    public AvroSchemaRegistry(StringCache stringCache) {
+        this.stringCache = stringCache;
+        register(MarketData.getClassSchema());
+    }
+
+    public static long fingerprint(Schema schema) {
+        return SchemaNormalization.parsingFingerprint64(schema);
+    }
+
+    // Returns the fingerprint messages written with the schema will carry
+    public long register(Schema writerSchema) {
+        long fingerprint = fingerprint(writerSchema);
+        schemas.putIfAbsent(fingerprint, writerSchema);
+        return fingerprint;
+    }
+
+    public boolean isRegistered(long fingerprint) {
+        return schemas.containsKey(fingerprint);
+    }
+
+    public SpecificDatumReader<MarketData> reader(long fingerprint) throws IOException {
+        SpecificDatumReader<MarketData> reader = readers.get(fingerprint);
+        if (reader != null) {
+            return reader;
+        }
+
+        Schema writerSchema = schemas.get(fingerprint);
+        if (writerSchema == null) {
+            throw new IOException(String.format("Unknown Avro writer schema fingerprint %016x", fingerprint));
+        }
+        return readers.computeIfAbsent(fingerprint, key -> new CachingDatumReader(writerSchema, stringCache));
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+}
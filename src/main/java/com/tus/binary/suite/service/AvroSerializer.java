@@ -5,17 +5,26 @@ import com.tus.binary.suite.avro.Header;
 import com.tus.binary.suite.avro.Instrument;
 import com.tus.binary.suite.avro.BidAskEntry;
 import com.tus.binary.suite.dto.MarketDataPayload;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.io.DirectBufferInputStream;
+import org.agrona.io.DirectBufferOutputStream;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
-import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
@@ -23,55 +32,166 @@ public class AvroSerializer implements ProtocolSerializer {
 
     private final SpecificDatumWriter<MarketData> writer;
     private final SpecificDatumReader<MarketData> reader;
+    // Datum readers and writers are thread-safe, the reused encoder, decoder, streams and record graphs are not
+    private static final class Context {
+        private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+        private final ExpandableDirectBufferOutputStream expandableOut = new ExpandableDirectBufferOutputStream();
+        private final DirectBufferOutputStream fixedOut = new DirectBufferOutputStream();
+        private final MarketData encodeRecord = new MarketData(new Header(), new Instrument(), new ArrayList<>());
+        private final AvroMarketDataView view = new AvroMarketDataView();
+        private BinaryEncoder encoder;
+        private BinaryDecoder viewDecoder;
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+    private final StringCache stringCache;
 
     public AvroSerializer() {
+        this(new StringCache());
+    }
+
+    public AvroSerializer(StringCache stringCache) {
+        this.stringCache = stringCache;
         this.writer = new SpecificDatumWriter<>(MarketData.class);
-        this.reader = new SpecificDatumReader<>(MarketData.class);
+        this.reader = new CachingDatumReader(stringCache);
     }
 
     @Override
     public byte[] serialize(MarketDataPayload payload) throws IOException {
-        Header header = Header.newBuilder()
-                .setMessageType(payload.header().messageType())
-                .setTimestamp(payload.header().timestamp())
-                .setSequenceId(payload.header().sequenceId())
-                .setVersion(payload.header().version())
-                .build();
-
-        Instrument instrument = Instrument.newBuilder()
-                .setSymbol(payload.instrument().symbol())
-                .setExchange(payload.instrument().exchange())
-                .setCurrency(payload.instrument().currency())
-                .build();
-
-        List<BidAskEntry> entries = new ArrayList<>();
-        for (MarketDataPayload.BidAskEntry entry : payload.entries()) {
-            entries.add(BidAskEntry.newBuilder()
-                    .setPrice(entry.price())
-                    .setSize(entry.size())
-                    .setLevel(entry.level())
-                    .setSide(entry.side())
-                    .setUpdateAction(entry.updateAction())
-                    .build());
-        }
+        ExpandableArrayBuffer buffer = contexts.get().buffer;
+        int length = serialize(payload, buffer, 0);
+        return Arrays.copyOf(buffer.byteArray(), length);
+    }
 
-        MarketData marketData = MarketData.newBuilder()
-                .setHeader(header)
-                .setInstrument(instrument)
-                .setEntries(entries)
-                .build();
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int offset) throws IOException {
+        Context ctx = contexts.get();
+        OutputStream out = output(ctx, target, offset);
+        ctx.encoder = EncoderFactory.get().directBinaryEncoder(out, ctx.encoder);
+        writer.write(fill(ctx.encodeRecord, payload), ctx.encoder);
+        ctx.encoder.flush();
+        return position(out);
+    }
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Encoder encoder = EncoderFactory.get().binaryEncoder(out, null);
-        writer.write(marketData, encoder);
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset)
+            throws IOException {
+        // One Avro array block: item count, then the records, then the zero-count terminator
+        Context ctx = contexts.get();
+        OutputStream out = output(ctx, target, offset);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, ctx.encoder);
+        ctx.encoder = encoder;
+        encoder.writeArrayStart();
+        encoder.setItemCount(payloads.size());
+        for (MarketDataPayload payload : payloads) {
+            encoder.startItem();
+            writer.write(fill(ctx.encodeRecord, payload), encoder);
+        }
+        encoder.writeArrayEnd();
         encoder.flush();
-        return out.toByteArray();
+        return position(out);
+    }
+
+    private static OutputStream output(Context ctx, MutableDirectBuffer target, int offset) {
+        if (target.isExpandable()) {
+            ctx.expandableOut.wrap(target, offset);
+            return ctx.expandableOut;
+        }
+        ctx.fixedOut.wrap(target, offset, target.capacity() - offset);
+        return ctx.fixedOut;
+    }
+
+    static int position(OutputStream out) {
+        return out instanceof ExpandableDirectBufferOutputStream expandable
+                ? expandable.position()
+                : ((DirectBufferOutputStream) out).position();
+    }
+
+    // Copies the payload into the reused record graph instead of going through the builders,
+    // which allocate and validate every field
+    static MarketData fill(MarketData record, MarketDataPayload payload) {
+        Header header = record.getHeader();
+        header.setMessageType(payload.header().messageType());
+        header.setTimestamp(payload.header().timestamp());
+        header.setSequenceId(payload.header().sequenceId());
+        header.setVersion(payload.header().version());
+
+        Instrument instrument = record.getInstrument();
+        instrument.setSymbol(payload.instrument().symbol());
+        instrument.setExchange(payload.instrument().exchange());
+        instrument.setCurrency(payload.instrument().currency());
+
+        List<BidAskEntry> entries = record.getEntries();
+        List<MarketDataPayload.BidAskEntry> source = payload.entries();
+        while (entries.size() < source.size()) {
+            entries.add(new BidAskEntry());
+        }
+        entries.subList(source.size(), entries.size()).clear();
+        for (int i = 0; i < source.size(); i++) {
+            MarketDataPayload.BidAskEntry from = source.get(i);
+            BidAskEntry to = entries.get(i);
+            to.setPrice(from.price());
+            to.setSize(from.size());
+            to.setLevel(from.level());
+            to.setSide(from.side());
+            to.setUpdateAction(from.updateAction());
+        }
+        return record;
     }
 
     @Override
     public MarketDataPayload deserialize(byte[] data) throws IOException {
         Decoder decoder = DecoderFactory.get().binaryDecoder(data, null);
-        MarketData marketData = reader.read(null, decoder);
+        return fromAvro(reader.read(null, decoder));
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int offset, int length) throws IOException {
+        return fromAvro(reader.read(null, decoder(source, offset, length, null)));
+    }
+
+    @Override
+    public AvroMarketDataView wrap(DirectBuffer source, int offset, int length) throws IOException {
+        // Both the decoder and the record graph are handed back to Avro for reuse
+        Context ctx = contexts.get();
+        ctx.viewDecoder = decoder(source, offset, length, ctx.viewDecoder);
+        return ctx.view.wrap(reader.read(ctx.view.record(), ctx.viewDecoder));
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length)
+            throws IOException {
+        BinaryDecoder decoder = decoder(source, offset, length, null);
+        long firstBlock = decoder.readArrayStart();
+        return new BatchIterator() {
+            private long remainingInBlock = firstBlock;
+
+            @Override
+            public boolean hasNext() {
+                return remainingInBlock > 0;
+            }
+
+            @Override
+            protected MarketDataPayload decodeNext() throws IOException {
+                MarketDataPayload payload = fromAvro(reader.read(null, decoder));
+                if (--remainingInBlock == 0) {
+                    remainingInBlock = decoder.arrayNext();
+                }
+                return payload;
+            }
+        };
+    }
+
+    private BinaryDecoder decoder(DirectBuffer source, int offset, int length, BinaryDecoder reuse) {
+        if (source.byteArray() != null) {
+            return DecoderFactory.get().binaryDecoder(
+                    source.byteArray(), source.wrapAdjustment() + offset, length, reuse);
+        }
+        // Direct decoder reads the stream as needed instead of buffering 8 KB ahead
+        return DecoderFactory.get().directBinaryDecoder(new DirectBufferInputStream(source, offset, length), reuse);
+    }
+
+    static MarketDataPayload fromAvro(MarketData marketData) {
 
         Header header = marketData.getHeader();
         MarketDataPayload.Header dtoHeader = new MarketDataPayload.Header(
@@ -102,6 +222,10 @@ public class AvroSerializer implements ProtocolSerializer {
         return new MarketDataPayload(dtoHeader, dtoInstrument, dtoEntries);
     }
 
+    public StringCache stringCache() {
+        return stringCache;
+    }
+
     @Override
     public String getName() {
         return "Avro";
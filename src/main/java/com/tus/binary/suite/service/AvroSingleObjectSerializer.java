@@ -0,0 +1,207 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.avro.Header;
+import com.tus.binary.suite.avro.Instrument;
+import com.tus.binary.suite.avro.MarketData;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.io.DirectBufferInputStream;
+import org.agrona.io.DirectBufferOutputStream;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// Avro single-object encoding: the 0xC3 0x01 marker, the writer schema's CRC-64-AVRO fingerprint
+// (little-endian) and then the binary record, the same bytes as MarketData.toByteBuffer().
+// The fingerprint picks the resolving reader from the AvroSchemaRegistry, so messages written with
+// an older or newer market_data.avsc decode into this build's MarketData.
+//
+// As in AvroSerializer, the encoder, decoders, streams and record graphs are reused per thread.
+// A batch is one single-object header followed by an Avro array block of records.
+public class AvroSingleObjectSerializer implements ProtocolSerializer {
+
+    public static final int HEADER_LENGTH = 10;
+
+    private static final byte MARKER_0 = (byte) 0xC3;
+    private static final byte MARKER_1 = (byte) 0x01;
+    private static final int FINGERPRINT_OFFSET = 2;
+
+    private static final class Context {
+        private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+        private final ExpandableDirectBufferOutputStream expandableOut = new ExpandableDirectBufferOutputStream();
+        private final DirectBufferOutputStream fixedOut = new DirectBufferOutputStream();
+        private final DirectBufferInputStream in = new DirectBufferInputStream();
+        private final MarketData encodeRecord = new MarketData(new Header(), new Instrument(), new ArrayList<>());
+        private final AvroMarketDataView view = new AvroMarketDataView();
+        private BinaryEncoder encoder;
+        private BinaryDecoder arrayDecoder;
+        private BinaryDecoder streamDecoder;
+        private MarketData decodeRecord;
+
+        // Last writer schema seen, a feed rarely switches so this skips the registry lookup
+        private long fingerprint;
+        private SpecificDatumReader<MarketData> reader;
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+    private final SpecificDatumWriter<MarketData> writer = new SpecificDatumWriter<>(MarketData.class);
+    private final AvroSchemaRegistry registry;
+    private final long writerFingerprint;
+
+    public AvroSingleObjectSerializer() {
+        this(new AvroSchemaRegistry());
+    }
+
+    public AvroSingleObjectSerializer(AvroSchemaRegistry registry) {
+        this.registry = registry;
+        this.writerFingerprint = registry.register(MarketData.getClassSchema());
+    }
+
+    @Override
+    public byte[] serialize(MarketDataPayload payload) throws IOException {
+        ExpandableArrayBuffer buffer = contexts.get().buffer;
+        int length = serialize(payload, buffer, 0);
+        return Arrays.copyOf(buffer.byteArray(), length);
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int offset) throws IOException {
+        Context ctx = contexts.get();
+        OutputStream out = body(ctx, target, offset);
+        ctx.encoder = EncoderFactory.get().directBinaryEncoder(out, ctx.encoder);
+        writer.write(AvroSerializer.fill(ctx.encodeRecord, payload), ctx.encoder);
+        ctx.encoder.flush();
+        return HEADER_LENGTH + AvroSerializer.position(out);
+    }
+
+    @Override
+    public MarketDataPayload deserialize(byte[] data) throws IOException {
+        return deserialize(new UnsafeBuffer(data), 0, data.length);
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int offset, int length) throws IOException {
+        Context ctx = contexts.get();
+        SpecificDatumReader<MarketData> reader = reader(ctx, source, offset, length);
+        ctx.decodeRecord = reader.read(ctx.decodeRecord, decoder(ctx, source, offset, length));
+        return AvroSerializer.fromAvro(ctx.decodeRecord);
+    }
+
+    @Override
+    public AvroMarketDataView wrap(DirectBuffer source, int offset, int length) throws IOException {
+        Context ctx = contexts.get();
+        SpecificDatumReader<MarketData> reader = reader(ctx, source, offset, length);
+        return ctx.view.wrap(reader.read(ctx.view.record(), decoder(ctx, source, offset, length)));
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset)
+            throws IOException {
+        Context ctx = contexts.get();
+        OutputStream out = body(ctx, target, offset);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, ctx.encoder);
+        ctx.encoder = encoder;
+        encoder.writeArrayStart();
+        encoder.setItemCount(payloads.size());
+        for (MarketDataPayload payload : payloads) {
+            encoder.startItem();
+            writer.write(AvroSerializer.fill(ctx.encodeRecord, payload), encoder);
+        }
+        encoder.writeArrayEnd();
+        encoder.flush();
+        return HEADER_LENGTH + AvroSerializer.position(out);
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length)
+            throws IOException {
+        // The iterator may outlive other calls on this thread, so it gets its own decoder
+        SpecificDatumReader<MarketData> reader = reader(contexts.get(), source, offset, length);
+        BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(
+                new DirectBufferInputStream(source, offset + HEADER_LENGTH, length - HEADER_LENGTH), null);
+        long firstBlock = decoder.readArrayStart();
+        return new BatchIterator() {
+            private long remainingInBlock = firstBlock;
+            private MarketData record;
+
+            @Override
+            public boolean hasNext() {
+                return remainingInBlock > 0;
+            }
+
+            @Override
+            protected MarketDataPayload decodeNext() throws IOException {
+                record = reader.read(record, decoder);
+                if (--remainingInBlock == 0) {
+                    remainingInBlock = decoder.arrayNext();
+                }
+                return AvroSerializer.fromAvro(record);
+            }
+        };
+    }
+
+    // Writes the single-object header and returns a stream positioned on the record body
+    private OutputStream body(Context ctx, MutableDirectBuffer target, int offset) {
+        target.putByte(offset, MARKER_0);
+        target.putByte(offset + 1, MARKER_1);
+        target.putLong(offset + FINGERPRINT_OFFSET, writerFingerprint, ByteOrder.LITTLE_ENDIAN);
+        if (target.isExpandable()) {
+            ctx.expandableOut.wrap(target, offset + HEADER_LENGTH);
+            return ctx.expandableOut;
+        }
+        ctx.fixedOut.wrap(target, offset + HEADER_LENGTH, target.capacity() - offset - HEADER_LENGTH);
+        return ctx.fixedOut;
+    }
+
+    private SpecificDatumReader<MarketData> reader(Context ctx, DirectBuffer source, int offset, int length)
+            throws IOException {
+        if (length < HEADER_LENGTH
+                || source.getByte(offset) != MARKER_0 || source.getByte(offset + 1) != MARKER_1) {
+            throw new IOException("Not an Avro single-object encoded message");
+        }
+
+        long fingerprint = source.getLong(offset + FINGERPRINT_OFFSET, ByteOrder.LITTLE_ENDIAN);
+        if (ctx.reader == null || ctx.fingerprint != fingerprint) {
+            ctx.reader = registry.reader(fingerprint);
+            ctx.fingerprint = fingerprint;
+        }
+        return ctx.reader;
+    }
+
+    private static BinaryDecoder decoder(Context ctx, DirectBuffer source, int offset, int length) {
+        int bodyOffset = offset + HEADER_LENGTH;
+        int bodyLength = length - HEADER_LENGTH;
+        if (source.byteArray() != null) {
+            ctx.arrayDecoder = DecoderFactory.get().binaryDecoder(
+                    source.byteArray(), source.wrapAdjustment() + bodyOffset, bodyLength, ctx.arrayDecoder);
+            return ctx.arrayDecoder;
+        }
+        ctx.in.wrap(source, bodyOffset, bodyLength);
+        ctx.streamDecoder = DecoderFactory.get().directBinaryDecoder(ctx.in, ctx.streamDecoder);
+        return ctx.streamDecoder;
+    }
+
+    public AvroSchemaRegistry registry() {
+        return registry;
+    }
+
+    @Override
+    public String getName() {
+        return "Avro Single-Object";
+    }
+}
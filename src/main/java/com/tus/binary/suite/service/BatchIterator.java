@@ -0,0 +1,27 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Decodes one message of a batch frame per next() call, so large batches are never
+// materialized as a list up front.
+abstract class BatchIterator implements Iterator<MarketDataPayload> {
+
+    @Override
+    public MarketDataPayload next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return decodeNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract MarketDataPayload decodeNext() throws IOException;
+}
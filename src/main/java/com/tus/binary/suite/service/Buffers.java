@@ -0,0 +1,30 @@
+package com.tus.binary.suite.service;
+
+import org.agrona.DirectBuffer;
+
+import java.nio.ByteBuffer;
+
+// Bridges Agrona buffers to the ByteBuffer based APIs of Protobuf and FlatBuffers.
+public final class Buffers {
+
+    private Buffers() {
+    }
+
+    // Returns a ByteBuffer view of buffer[offset, offset + length) positioned at 0.
+    // Heap and ByteBuffer backed buffers are shared, raw off-heap addresses are copied.
+    public static ByteBuffer slice(DirectBuffer buffer, int offset, int length) {
+        byte[] array = buffer.byteArray();
+        if (array != null) {
+            return ByteBuffer.wrap(array, buffer.wrapAdjustment() + offset, length).slice();
+        }
+
+        ByteBuffer byteBuffer = buffer.byteBuffer();
+        if (byteBuffer != null) {
+            return byteBuffer.slice(buffer.wrapAdjustment() + offset, length);
+        }
+
+        byte[] copy = new byte[length];
+        buffer.getBytes(offset, copy);
+        return ByteBuffer.wrap(copy);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.avro.MarketData;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+
+// Reads every string field into a reusable Utf8 and resolves it through the cache, instead of
+// letting the decoder create a new String per field
+final class CachingDatumReader extends SpecificDatumReader<MarketData> {
+
+    private final StringCache stringCache;
+    private final ThreadLocal<Utf8> scratch = ThreadLocal.withInitial(Utf8::new);
+
+    CachingDatumReader(StringCache stringCache) {
+        super(MarketData.class);
+        this.stringCache = stringCache;
+    }
+
+    // Resolves data written with writerSchema into the MarketData class compiled into this build
+    CachingDatumReader(Schema writerSchema, StringCache stringCache) {
+        super(writerSchema, MarketData.getClassSchema());
+        this.stringCache = stringCache;
+    }
+
+    @Override
+    protected Object readString(Object old, Schema expected, Decoder in) throws IOException {
+        Utf8 utf8 = in.readString(scratch.get());
+        return stringCache.get(utf8.getBytes(), 0, utf8.getByteLength());
+    }
+}
@@ -0,0 +1,190 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Raw deflate over any other serializer. A single message is too short for deflate to find
+// repeats in, so both sides are primed with the same preset dictionary, typically trained from
+// sample traffic of that protocol with trainDictionary. Without one it is plain deflate.
+// serialize compresses every message on its own, serializeBatch compresses the delegate's whole
+// batch frame as one stream. Deflater and Inflater are reset per call and reused per thread.
+public class CompressingSerializer implements ProtocolSerializer {
+
+    public static final int DEFAULT_DICTIONARY_LENGTH = 1024;
+
+    // Deflate cannot reference further back than its 32 KB window
+    public static final int MAX_DICTIONARY_LENGTH = 32 * 1024;
+
+    private static final class Context {
+        private final Deflater deflater;
+        private final Inflater inflater = new Inflater(true);
+        private final ExpandableArrayBuffer raw = new ExpandableArrayBuffer(512);
+        private final ExpandableArrayBuffer inflated = new ExpandableArrayBuffer(512);
+        private byte[] compressed = new byte[512];
+
+        private Context(int level) {
+            deflater = new Deflater(level, true);
+        }
+    }
+
+    private final ProtocolSerializer delegate;
+    private final byte[] dictionary;
+    private final ThreadLocal<Context> contexts;
+
+    public CompressingSerializer(ProtocolSerializer delegate, byte[] dictionary) {
+        this(delegate, dictionary, Deflater.BEST_SPEED);
+    }
+
+    public CompressingSerializer(ProtocolSerializer delegate, byte[] dictionary, int level) {
+        if (dictionary.length > MAX_DICTIONARY_LENGTH) {
+            throw new IllegalArgumentException("dictionary longer than " + MAX_DICTIONARY_LENGTH + ": "
+                    + dictionary.length);
+        }
+        this.delegate = delegate;
+        this.dictionary = dictionary.clone();
+        this.contexts = ThreadLocal.withInitial(() -> new Context(level));
+    }
+
+    // Encodes the samples with the serializer and keeps the last maxLength bytes. Deflate finds
+    // matches near the end of the dictionary cheapest, so list the most typical samples last.
+    public static byte[] trainDictionary(ProtocolSerializer serializer, List<MarketDataPayload> samples,
+            int maxLength) throws IOException {
+        if (maxLength < 0 || maxLength > MAX_DICTIONARY_LENGTH) {
+            throw new IllegalArgumentException("maxLength must be within 0.." + MAX_DICTIONARY_LENGTH + ": "
+                    + maxLength);
+        }
+        ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(maxLength + 256);
+        int length = 0;
+        for (MarketDataPayload sample : samples) {
+            length += serializer.serialize(sample, buffer, length);
+        }
+        int start = Math.max(0, length - maxLength);
+        return Arrays.copyOfRange(buffer.byteArray(), start, length);
+    }
+
+    public byte[] dictionary() {
+        return dictionary.clone();
+    }
+
+    @Override
+    public byte[] serialize(MarketDataPayload payload) throws IOException {
+        Context context = contexts.get();
+        int length = compress(context, delegate.serialize(payload, context.raw, 0));
+        return Arrays.copyOf(context.compressed, length);
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer buffer, int offset) throws IOException {
+        Context context = contexts.get();
+        int length = compress(context, delegate.serialize(payload, context.raw, 0));
+        buffer.putBytes(offset, context.compressed, 0, length);
+        return length;
+    }
+
+    @Override
+    public MarketDataPayload deserialize(byte[] data) throws IOException {
+        return deserialize(new UnsafeBuffer(data), 0, data.length);
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer buffer, int offset, int length) throws IOException {
+        Context context = contexts.get();
+        return delegate.deserialize(context.inflated, 0, inflate(context, buffer, offset, length));
+    }
+
+    // The view reads the per-thread inflate buffer, which the next call on this thread overwrites,
+    // in line with the wrap contract
+    @Override
+    public MarketDataView wrap(DirectBuffer buffer, int offset, int length) throws IOException {
+        Context context = contexts.get();
+        return delegate.wrap(context.inflated, 0, inflate(context, buffer, offset, length));
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer buffer, int offset)
+            throws IOException {
+        Context context = contexts.get();
+        int length = compress(context, delegate.serializeBatch(payloads, context.raw, 0));
+        buffer.putBytes(offset, context.compressed, 0, length);
+        return length;
+    }
+
+    // The iterator decodes lazily, so it gets its own copy of the inflated frame rather than the
+    // per-thread buffer a later call would overwrite
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer buffer, int offset, int length)
+            throws IOException {
+        Context context = contexts.get();
+        int inflatedLength = inflate(context, buffer, offset, length);
+        byte[] frame = Arrays.copyOf(context.inflated.byteArray(), inflatedLength);
+        return delegate.deserializeBatch(new UnsafeBuffer(frame), 0, inflatedLength);
+    }
+
+    private int compress(Context context, int rawLength) {
+        Deflater deflater = context.deflater;
+        deflater.reset();
+        if (dictionary.length > 0) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(context.raw.byteArray(), 0, rawLength);
+        deflater.finish();
+
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == context.compressed.length) {
+                context.compressed = Arrays.copyOf(context.compressed, length * 2);
+            }
+            length += deflater.deflate(context.compressed, length, context.compressed.length - length);
+        }
+        return length;
+    }
+
+    private int inflate(Context context, DirectBuffer buffer, int offset, int length) throws IOException {
+        Inflater inflater = context.inflater;
+        inflater.reset();
+        if (dictionary.length > 0) {
+            inflater.setDictionary(dictionary);
+        }
+        ByteBuffer input = Buffers.slice(buffer, offset, length);
+        inflater.setInput(input);
+
+        ExpandableArrayBuffer output = context.inflated;
+        int inflated = 0;
+        try {
+            while (!inflater.finished()) {
+                if (inflated == output.capacity()) {
+                    output.checkLimit(inflated + 1);
+                }
+                int count = inflater.inflate(output.byteArray(), inflated, output.capacity() - inflated);
+                inflated += count;
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw inflater.needsInput()
+                            ? new EOFException("Truncated deflate stream after " + inflated + " bytes")
+                            : new IOException("Deflate stream needs a dictionary");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflate stream", e);
+        }
+        return inflated;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + (dictionary.length > 0 ? " Deflate+Dict" : " Deflate");
+    }
+}
@@ -0,0 +1,99 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataView;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// The delegate's view with the delta-decoded prices and sizes and the remembered strings
+// laid over it. Everything else reads straight through to the delegate.
+public final class DeltaMarketDataView implements MarketDataView {
+
+    private MarketDataView delta;
+    private CharSequence messageType;
+    private CharSequence exchange;
+    private CharSequence currency;
+    private long[] prices = new long[8];
+    private long[] sizes = new long[8];
+
+    void wrap(MarketDataView delta, CharSequence messageType, CharSequence exchange, CharSequence currency) {
+        this.delta = delta;
+        this.messageType = messageType;
+        this.exchange = exchange;
+        this.currency = currency;
+        if (prices.length < delta.entryCount()) {
+            prices = Arrays.copyOf(prices, delta.entryCount());
+            sizes = Arrays.copyOf(sizes, delta.entryCount());
+        }
+    }
+
+    void entry(int index, long price, long size) {
+        prices[index] = price;
+        sizes[index] = size;
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return messageType;
+    }
+
+    @Override
+    public long timestamp() {
+        return delta.timestamp();
+    }
+
+    @Override
+    public long sequenceId() {
+        return delta.sequenceId();
+    }
+
+    @Override
+    public int version() {
+        return delta.version();
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return delta.symbol();
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return exchange;
+    }
+
+    @Override
+    public CharSequence currency() {
+        return currency;
+    }
+
+    @Override
+    public int entryCount() {
+        return delta.entryCount();
+    }
+
+    @Override
+    public long price(int index) {
+        return prices[Objects.checkIndex(index, delta.entryCount())];
+    }
+
+    @Override
+    public long size(int index) {
+        return sizes[Objects.checkIndex(index, delta.entryCount())];
+    }
+
+    @Override
+    public int level(int index) {
+        return delta.level(index);
+    }
+
+    @Override
+    public int side(int index) {
+        return delta.side(index);
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return delta.updateAction(index);
+    }
+}
@@ -0,0 +1,245 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Stateful delta mode on top of any of the existing schemas. Per symbol, both sides remember the
+// last price and size seen for each side and level, and the last messageType, exchange and currency.
+// Entries then carry the zigzag-encoded difference instead of the full value, which the varint
+// formats (Protobuf, Avro) send in a byte or two, and unchanged strings are sent empty. The
+// symbol is always sent, it is the key of the context.
+//
+// The encoder and decoder contexts must see the same messages in the same order, so this only
+// fits an ordered, lossless stream such as a TCP session or a file; call reset() on reconnect.
+// An empty string is read as "unchanged", so a field cannot change back to empty.
+// Not thread-safe: one instance per stream, its encoder and decoder contexts are kept apart.
+public class DeltaSerializer implements ProtocolSerializer {
+
+    public static final int MAX_LEVELS = 32;
+
+    private static final class SymbolState {
+        private String messageType;
+        private String exchange;
+        private String currency;
+        private final long[] prices = new long[2 * MAX_LEVELS];
+        private final long[] sizes = new long[2 * MAX_LEVELS];
+
+        private SymbolState copy() {
+            SymbolState copy = new SymbolState();
+            copy.messageType = messageType;
+            copy.exchange = exchange;
+            copy.currency = currency;
+            System.arraycopy(prices, 0, copy.prices, 0, prices.length);
+            System.arraycopy(sizes, 0, copy.sizes, 0, sizes.length);
+            return copy;
+        }
+    }
+
+    private final ProtocolSerializer delegate;
+    private final Map<String, SymbolState> encoderStates = new HashMap<>();
+    private final Map<String, SymbolState> decoderStates = new HashMap<>();
+    // Encoder state as of the message(s) being encoded. It only replaces encoderStates once the
+    // delegate has written them, so a failed write leaves the encoder in step with the decoder.
+    private final Map<String, SymbolState> pendingStates = new HashMap<>();
+    private final DeltaMarketDataView view = new DeltaMarketDataView();
+
+    public DeltaSerializer(ProtocolSerializer delegate) {
+        this.delegate = delegate;
+    }
+
+    public void reset() {
+        encoderStates.clear();
+        decoderStates.clear();
+        pendingStates.clear();
+    }
+
+    @Override
+    public byte[] serialize(MarketDataPayload payload) throws IOException {
+        try {
+            byte[] encoded = delegate.serialize(toDelta(payload));
+            encoderStates.putAll(pendingStates);
+            return encoded;
+        } finally {
+            pendingStates.clear();
+        }
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer buffer, int offset) throws IOException {
+        try {
+            int length = delegate.serialize(toDelta(payload), buffer, offset);
+            encoderStates.putAll(pendingStates);
+            return length;
+        } finally {
+            pendingStates.clear();
+        }
+    }
+
+    @Override
+    public MarketDataPayload deserialize(byte[] data) throws IOException {
+        return fromDelta(delegate.deserialize(data));
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer buffer, int offset, int length) throws IOException {
+        return fromDelta(delegate.deserialize(buffer, offset, length));
+    }
+
+    @Override
+    public DeltaMarketDataView wrap(DirectBuffer buffer, int offset, int length) throws IOException {
+        MarketDataView delta = delegate.wrap(buffer, offset, length);
+        SymbolState state = decoderStates.computeIfAbsent(delta.symbol().toString(), symbol -> new SymbolState());
+        state.messageType = resolve(state.messageType, delta.messageType());
+        state.exchange = resolve(state.exchange, delta.exchange());
+        state.currency = resolve(state.currency, delta.currency());
+
+        view.wrap(delta, state.messageType, state.exchange, state.currency);
+        for (int i = 0; i < delta.entryCount(); i++) {
+            int slot = slot(delta.side(i), delta.level(i));
+            view.entry(i, restore(state.prices, slot, delta.price(i)), restore(state.sizes, slot, delta.size(i)));
+        }
+        return view;
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer buffer, int offset)
+            throws IOException {
+        try {
+            List<MarketDataPayload> deltas = new ArrayList<>(payloads.size());
+            for (MarketDataPayload payload : payloads) {
+                deltas.add(toDelta(payload));
+            }
+            int length = delegate.serializeBatch(deltas, buffer, offset);
+            encoderStates.putAll(pendingStates);
+            return length;
+        } finally {
+            pendingStates.clear();
+        }
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer buffer, int offset, int length)
+            throws IOException {
+        Iterator<MarketDataPayload> deltas = delegate.deserializeBatch(buffer, offset, length);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return deltas.hasNext();
+            }
+
+            @Override
+            public MarketDataPayload next() {
+                return fromDelta(deltas.next());
+            }
+        };
+    }
+
+    private MarketDataPayload toDelta(MarketDataPayload payload) {
+        MarketDataPayload.Instrument instrument = payload.instrument();
+        SymbolState state = pendingStates.computeIfAbsent(instrument.symbol(), symbol -> {
+            SymbolState current = encoderStates.get(symbol);
+            return current != null ? current.copy() : new SymbolState();
+        });
+
+        String messageType = payload.header().messageType();
+        String exchange = instrument.exchange();
+        String currency = instrument.currency();
+        MarketDataPayload.Header header = new MarketDataPayload.Header(
+                messageType.equals(state.messageType) ? "" : messageType,
+                payload.header().timestamp(), payload.header().sequenceId(), payload.header().version());
+        MarketDataPayload.Instrument deltaInstrument = new MarketDataPayload.Instrument(instrument.symbol(),
+                exchange.equals(state.exchange) ? "" : exchange,
+                currency.equals(state.currency) ? "" : currency);
+        state.messageType = messageType;
+        state.exchange = exchange;
+        state.currency = currency;
+
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(payload.entries().size());
+        for (MarketDataPayload.BidAskEntry entry : payload.entries()) {
+            int slot = slot(entry.side(), entry.level());
+            entries.add(new MarketDataPayload.BidAskEntry(
+                    delta(state.prices, slot, entry.price()),
+                    delta(state.sizes, slot, entry.size()),
+                    entry.level(), entry.side(), entry.updateAction()));
+        }
+        return new MarketDataPayload(header, deltaInstrument, entries);
+    }
+
+    private MarketDataPayload fromDelta(MarketDataPayload delta) {
+        MarketDataPayload.Instrument instrument = delta.instrument();
+        SymbolState state = decoderStates.computeIfAbsent(instrument.symbol(), symbol -> new SymbolState());
+        state.messageType = resolve(state.messageType, delta.header().messageType());
+        state.exchange = resolve(state.exchange, instrument.exchange());
+        state.currency = resolve(state.currency, instrument.currency());
+
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(delta.entries().size());
+        for (MarketDataPayload.BidAskEntry entry : delta.entries()) {
+            int slot = slot(entry.side(), entry.level());
+            entries.add(new MarketDataPayload.BidAskEntry(
+                    restore(state.prices, slot, entry.price()),
+                    restore(state.sizes, slot, entry.size()),
+                    entry.level(), entry.side(), entry.updateAction()));
+        }
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(state.messageType,
+                        delta.header().timestamp(), delta.header().sequenceId(), delta.header().version()),
+                new MarketDataPayload.Instrument(instrument.symbol(), state.exchange, state.currency),
+                entries);
+    }
+
+    private static String resolve(String previous, CharSequence value) {
+        if (value.length() == 0) {
+            return previous != null ? previous : "";
+        }
+        return value.toString();
+    }
+
+    // Levels past MAX_LEVELS (or unknown sides) are sent absolute, still zigzag encoded
+    private static int slot(int side, int level) {
+        if ((side != 0 && side != 1) || level < 1 || level > MAX_LEVELS) {
+            return -1;
+        }
+        return side * MAX_LEVELS + level - 1;
+    }
+
+    private static long delta(long[] previous, int slot, long value) {
+        if (slot < 0) {
+            return zigzag(value);
+        }
+        long delta = value - previous[slot];
+        previous[slot] = value;
+        return zigzag(delta);
+    }
+
+    private static long restore(long[] previous, int slot, long encoded) {
+        long delta = unzigzag(encoded);
+        if (slot < 0) {
+            return delta;
+        }
+        long value = previous[slot] + delta;
+        previous[slot] = value;
+        return value;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + " Delta";
+    }
+}
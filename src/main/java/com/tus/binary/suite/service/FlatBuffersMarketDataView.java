@@ -0,0 +1,152 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.fbs.BidAskEntry;
+import com.tus.binary.suite.fbs.Instrument;
+import com.tus.binary.suite.fbs.MarketData;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+// Reuses one set of table accessors over the FlatBuffers message. The ByteBuffer views of the
+// backing storage are only recreated when the caller switches to a different buffer.
+public final class FlatBuffersMarketDataView implements MarketDataView {
+
+    private final MarketData marketData = new MarketData();
+    private final Instrument instrument = new Instrument();
+    private final BidAskEntry entry = new BidAskEntry();
+
+    private final UnsafeBuffer stringBuffer = new UnsafeBuffer(0, 0);
+    private final Utf8SequenceView messageType = new Utf8SequenceView();
+    private final Utf8SequenceView symbol = new Utf8SequenceView();
+    private final Utf8SequenceView exchange = new Utf8SequenceView();
+    private final Utf8SequenceView currency = new Utf8SequenceView();
+
+    private Object backing;
+    private ByteBuffer data;
+    private ByteBuffer stringWindow;
+    private boolean hasInstrument;
+
+    public FlatBuffersMarketDataView wrap(DirectBuffer source, int offset, int length) {
+        byte[] array = source.byteArray();
+        if (array != null) {
+            if (array != backing) {
+                rebind(array, ByteBuffer.wrap(array));
+            }
+            return wrapAt(source.wrapAdjustment() + offset);
+        }
+
+        ByteBuffer byteBuffer = source.byteBuffer();
+        if (byteBuffer != null) {
+            if (byteBuffer != backing) {
+                rebind(byteBuffer, byteBuffer.duplicate());
+            }
+            return wrapAt(source.wrapAdjustment() + offset);
+        }
+
+        // Raw off-heap address, FlatBuffers can only read through a ByteBuffer
+        ByteBuffer copy = Buffers.slice(source, offset, length);
+        rebind(copy, copy);
+        return wrapAt(0);
+    }
+
+    public FlatBuffersMarketDataView wrap(ByteBuffer source, int offset, int length) {
+        if (source != backing) {
+            rebind(source, source.duplicate());
+        }
+        return wrapAt(offset);
+    }
+
+    private void rebind(Object newBacking, ByteBuffer view) {
+        backing = newBacking;
+        data = view.order(ByteOrder.LITTLE_ENDIAN);
+        stringWindow = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        stringBuffer.wrap(data);
+    }
+
+    private FlatBuffersMarketDataView wrapAt(int index) {
+        marketData.__assign(data.getInt(index) + index, data);
+        hasInstrument = marketData.instrument(instrument) != null;
+        return this;
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return window(messageType, marketData.messageTypeInByteBuffer(stringWindow));
+    }
+
+    @Override
+    public long timestamp() {
+        return marketData.timestamp();
+    }
+
+    @Override
+    public long sequenceId() {
+        return marketData.sequenceId();
+    }
+
+    @Override
+    public int version() {
+        return marketData.version();
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return window(symbol, hasInstrument ? instrument.symbolInByteBuffer(stringWindow) : null);
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return window(exchange, hasInstrument ? instrument.exchangeInByteBuffer(stringWindow) : null);
+    }
+
+    @Override
+    public CharSequence currency() {
+        return window(currency, hasInstrument ? instrument.currencyInByteBuffer(stringWindow) : null);
+    }
+
+    @Override
+    public int entryCount() {
+        return marketData.bidAskEntriesLength();
+    }
+
+    @Override
+    public long price(int index) {
+        return entry(index).price();
+    }
+
+    @Override
+    public long size(int index) {
+        return entry(index).size();
+    }
+
+    @Override
+    public int level(int index) {
+        return entry(index).level();
+    }
+
+    @Override
+    public int side(int index) {
+        return entry(index).side();
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return entry(index).updateAction();
+    }
+
+    private BidAskEntry entry(int index) {
+        return marketData.bidAskEntries(entry, Objects.checkIndex(index, marketData.bidAskEntriesLength()));
+    }
+
+    // Absent strings come back as null and read as empty, the same as an unset FlatBuffers field
+    private CharSequence window(Utf8SequenceView view, ByteBuffer string) {
+        if (string == null) {
+            return view.wrap(stringBuffer, 0, 0);
+        }
+        return view.wrap(stringBuffer, string.position(), string.remaining());
+    }
+}
@@ -1,21 +1,155 @@
 package com.tus.binary.suite.service;
 
+import com.google.flatbuffers.Constants;
 import com.google.flatbuffers.FlatBufferBuilder;
 import com.tus.binary.suite.dto.MarketDataPayload;
 import com.tus.binary.suite.fbs.BidAskEntry;
 import com.tus.binary.suite.fbs.Instrument;
 import com.tus.binary.suite.fbs.MarketData;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+@Service
 public class FlatBuffersSerializer implements ProtocolSerializer {
 
+    // One builder and view per thread: the builder is cleared and reused instead of allocated per message
+    private static final class Context {
+        private final FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        private final FlatBuffersMarketDataView view = new FlatBuffersMarketDataView();
+        private final Map<String, Template> templates = new HashMap<>();
+        private final BidAskEntry entry = new BidAskEntry();
+        private FlatBufferBuilder templateBuilder;
+    }
+
+    // Last full encoding of an instrument's message, patched in place while only scalars change.
+    // Built with forceDefaults so every scalar has a slot to patch, even when it was 0.
+    private static final class Template {
+        private final ByteBuffer data;
+        private final MarketData marketData = new MarketData();
+        private final String messageType;
+        private final String exchange;
+        private final String currency;
+        private final int entryCount;
+
+        private Template(byte[] encoded, MarketDataPayload payload) {
+            this.data = ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN);
+            MarketData.getRootAsMarketData(data, marketData);
+            this.messageType = payload.header().messageType();
+            this.exchange = payload.instrument().exchange();
+            this.currency = payload.instrument().currency();
+            this.entryCount = payload.entries().size();
+        }
+
+        private boolean matches(MarketDataPayload payload) {
+            return entryCount == payload.entries().size()
+                    && messageType.equals(payload.header().messageType())
+                    && exchange.equals(payload.instrument().exchange())
+                    && currency.equals(payload.instrument().currency());
+        }
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+    private final StringCache stringCache;
+    private final boolean patchTemplates;
+
+    public FlatBuffersSerializer() {
+        this(new StringCache(), false);
+    }
+
+    public FlatBuffersSerializer(StringCache stringCache) {
+        this(stringCache, false);
+    }
+
+    // With patchTemplates, each thread keeps the last encoding per symbol and only rewrites the
+    // fixed-width fields when strings and entry count are unchanged, as on most incremental updates.
+    // Templates use forceDefaults, so the output can be a few bytes longer than a full rebuild.
+    public FlatBuffersSerializer(StringCache stringCache, boolean patchTemplates) {
+        this.stringCache = stringCache;
+        this.patchTemplates = patchTemplates;
+    }
+
     @Override
     public byte[] serialize(MarketDataPayload payload) throws IOException {
-        FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        ByteBuffer data = encode(payload);
+        byte[] result = new byte[data.remaining()];
+        data.get(data.position(), result);
+        return result;
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int offset) throws IOException {
+        // The builder writes back to front, so the finished message is copied once into place
+        ByteBuffer data = encode(payload);
+        int length = data.remaining();
+        target.putBytes(offset, data, data.position(), length);
+        return length;
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, ByteBuffer target, int offset) throws IOException {
+        ByteBuffer data = encode(payload);
+        int length = data.remaining();
+        target.put(offset, data, data.position(), length);
+        return length;
+    }
+
+    // Returns the finished message between position and limit, valid until the next call on this thread
+    private ByteBuffer encode(MarketDataPayload payload) {
+        Context ctx = contexts.get();
+        if (patchTemplates) {
+            return encodeFromTemplate(ctx, payload);
+        }
+
+        FlatBufferBuilder builder = ctx.builder;
+        build(builder, payload);
+        return builder.dataBuffer();
+    }
+
+    private ByteBuffer encodeFromTemplate(Context ctx, MarketDataPayload payload) {
+        Template template = ctx.templates.get(payload.instrument().symbol());
+        if (template != null && template.matches(payload) && patch(template, ctx.entry, payload)) {
+            return template.data;
+        }
+
+        // New instrument, or a string or the entry count changed: full rebuild into a new template
+        if (ctx.templateBuilder == null) {
+            ctx.templateBuilder = new FlatBufferBuilder(1024).forceDefaults(true);
+        }
+        build(ctx.templateBuilder, payload);
+        template = new Template(ctx.templateBuilder.sizedByteArray(), payload);
+        ctx.templates.put(payload.instrument().symbol(), template);
+        return template.data;
+    }
+
+    private static boolean patch(Template template, BidAskEntry entry, MarketDataPayload payload) {
+        MarketData md = template.marketData;
+        boolean patched = md.mutateTimestamp(payload.header().timestamp())
+                & md.mutateSequenceId(payload.header().sequenceId())
+                & md.mutateVersion(payload.header().version());
+        for (int i = 0; i < template.entryCount; i++) {
+            MarketDataPayload.BidAskEntry e = payload.entries().get(i);
+            md.bidAskEntries(entry, i);
+            patched &= entry.mutatePrice(e.price())
+                    & entry.mutateSize(e.size())
+                    & entry.mutateLevel(e.level())
+                    & entry.mutateSide((byte) e.side())
+                    & entry.mutateUpdateAction((byte) e.updateAction());
+        }
+        return patched;
+    }
+
+    private static void build(FlatBufferBuilder builder, MarketDataPayload payload) {
+        builder.clear();
 
         int msgTypeOffset = builder.createString(payload.header().messageType());
 
@@ -52,16 +186,31 @@ public class FlatBuffersSerializer implements ProtocolSerializer {
         int mdOffset = MarketData.endMarketData(builder);
 
         builder.finish(mdOffset);
-        return builder.sizedByteArray();
     }
 
     @Override
     public MarketDataPayload deserialize(byte[] data) throws IOException {
-        ByteBuffer bb = ByteBuffer.wrap(data);
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int offset, int length) throws IOException {
+        return decode(Buffers.slice(source, offset, length));
+    }
+
+    @Override
+    public MarketDataPayload deserialize(ByteBuffer source, int offset, int length) throws IOException {
+        // Slice so getRootAsMarketData does not change the caller's byte order
+        return decode(source.slice(offset, length));
+    }
+
+    private MarketDataPayload decode(ByteBuffer bb) {
         MarketData md = MarketData.getRootAsMarketData(bb);
+        // Strings are located through one window and looked up in the cache, not decoded
+        ByteBuffer window = bb.duplicate();
 
         MarketDataPayload.Header header = new MarketDataPayload.Header(
-                md.messageType(),
+                string(md.messageTypeInByteBuffer(window)),
                 md.timestamp(),
                 md.sequenceId(),
                 md.version()
@@ -69,9 +218,9 @@ public class FlatBuffersSerializer implements ProtocolSerializer {
 
         Instrument inst = md.instrument();
         MarketDataPayload.Instrument instrument = new MarketDataPayload.Instrument(
-                inst.symbol(),
-                inst.exchange(),
-                inst.currency()
+                string(inst.symbolInByteBuffer(window)),
+                string(inst.exchangeInByteBuffer(window)),
+                string(inst.currencyInByteBuffer(window))
         );
 
         List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>(md.bidAskEntriesLength());
@@ -89,6 +238,60 @@ public class FlatBuffersSerializer implements ProtocolSerializer {
         return new MarketDataPayload(header, instrument, entries);
     }
 
+    // Absent strings stay null, as the generated accessors return them
+    private String string(ByteBuffer window) {
+        return window != null ? stringCache.get(window, window.position(), window.remaining()) : null;
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset) {
+        // Each message is preceded by its little-endian int32 size, as finishSizePrefixed would write it
+        int position = offset;
+        for (MarketDataPayload payload : payloads) {
+            ByteBuffer data = encode(payload);
+            int length = data.remaining();
+            target.putInt(position, length, ByteOrder.LITTLE_ENDIAN);
+            target.putBytes(position + Constants.SIZE_PREFIX_LENGTH, data, data.position(), length);
+            position += Constants.SIZE_PREFIX_LENGTH + length;
+        }
+        return position - offset;
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length) {
+        int end = offset + length;
+        return new BatchIterator() {
+            private int position = offset;
+
+            @Override
+            public boolean hasNext() {
+                return position < end;
+            }
+
+            @Override
+            protected MarketDataPayload decodeNext() {
+                int size = source.getInt(position, ByteOrder.LITTLE_ENDIAN);
+                int start = position + Constants.SIZE_PREFIX_LENGTH;
+                position = start + size;
+                return decode(Buffers.slice(source, start, size));
+            }
+        };
+    }
+
+    @Override
+    public FlatBuffersMarketDataView wrap(DirectBuffer source, int offset, int length) {
+        return contexts.get().view.wrap(source, offset, length);
+    }
+
+    @Override
+    public FlatBuffersMarketDataView wrap(ByteBuffer source, int offset, int length) {
+        return contexts.get().view.wrap(source, offset, length);
+    }
+
+    public StringCache stringCache() {
+        return stringCache;
+    }
+
     @Override
     public String getName() {
         return "FlatBuffers";
@@ -0,0 +1,81 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.proto.MarketData;
+
+// Protobuf has no in-place reader, so this view adapts the parsed message.
+// It saves the DTO copy but not the parse itself.
+public final class ProtobufMarketDataView implements MarketDataView {
+
+    private MarketData message = MarketData.getDefaultInstance();
+
+    public ProtobufMarketDataView wrap(MarketData message) {
+        this.message = message;
+        return this;
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return message.getMessageType();
+    }
+
+    @Override
+    public long timestamp() {
+        return message.getTimestamp();
+    }
+
+    @Override
+    public long sequenceId() {
+        return message.getSequenceId();
+    }
+
+    @Override
+    public int version() {
+        return message.getVersion();
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return message.getInstrument().getSymbol();
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return message.getInstrument().getExchange();
+    }
+
+    @Override
+    public CharSequence currency() {
+        return message.getInstrument().getCurrency();
+    }
+
+    @Override
+    public int entryCount() {
+        return message.getBidAskEntriesCount();
+    }
+
+    @Override
+    public long price(int index) {
+        return message.getBidAskEntries(index).getPrice();
+    }
+
+    @Override
+    public long size(int index) {
+        return message.getBidAskEntries(index).getSize();
+    }
+
+    @Override
+    public int level(int index) {
+        return message.getBidAskEntries(index).getLevel();
+    }
+
+    @Override
+    public int side(int index) {
+        return message.getBidAskEntries(index).getSideValue();
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return message.getBidAskEntries(index).getUpdateActionValue();
+    }
+}
@@ -1,18 +1,50 @@
 package com.tus.binary.suite.service;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.tus.binary.suite.dto.MarketDataPayload;
 import com.tus.binary.suite.proto.MarketData;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class ProtobufSerializer implements ProtocolSerializer {
 
+    private final ThreadLocal<ProtobufMarketDataView> views = ThreadLocal.withInitial(ProtobufMarketDataView::new);
+
     @Override
     public byte[] serialize(MarketDataPayload payload) {
+        return toProto(payload).toByteArray();
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int offset) throws IOException {
+        MarketData message = toProto(payload);
+        int length = message.getSerializedSize();
+        target.checkLimit(offset + length);
+
+        if (target.byteArray() == null && target.byteBuffer() == null) {
+            // Raw off-heap address, CodedOutputStream cannot write there directly
+            target.putBytes(offset, message.toByteArray());
+            return length;
+        }
+
+        CodedOutputStream out = CodedOutputStream.newInstance(Buffers.slice(target, offset, length));
+        message.writeTo(out);
+        out.flush();
+        return length;
+    }
+
+    private MarketData toProto(MarketDataPayload payload) {
         MarketData.Builder builder = MarketData.newBuilder();
 
         // Header
@@ -43,38 +75,130 @@ public class ProtobufSerializer implements ProtocolSerializer {
             }
         }
 
-        return builder.build().toByteArray();
+        return builder.build();
     }
 
     @Override
     public MarketDataPayload deserialize(byte[] data) throws IOException {
         try {
-            MarketData proto = MarketData.parseFrom(data);
-
-            MarketDataPayload.Header header = new MarketDataPayload.Header(
-                    proto.getMessageType(),
-                    proto.getTimestamp(),
-                    proto.getSequenceId(),
-                    proto.getVersion());
-
-            MarketDataPayload.Instrument instrument = null;
-            if (proto.hasInstrument()) {
-                instrument = new MarketDataPayload.Instrument(
-                        proto.getInstrument().getSymbol(),
-                        proto.getInstrument().getExchange(),
-                        proto.getInstrument().getCurrency());
+            return fromProto(MarketData.parseFrom(data));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IOException("Failed to deserialize Protobuf", e);
+        }
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int offset, int length) throws IOException {
+        return deserialize(Buffers.slice(source, offset, length));
+    }
+
+    @Override
+    public MarketDataPayload deserialize(ByteBuffer source, int offset, int length) throws IOException {
+        return deserialize(source.slice(offset, length));
+    }
+
+    private MarketDataPayload deserialize(ByteBuffer slice) throws IOException {
+        try {
+            return fromProto(MarketData.parseFrom(slice));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IOException("Failed to deserialize Protobuf", e);
+        }
+    }
+
+    private MarketDataPayload fromProto(MarketData proto) {
+
+        MarketDataPayload.Header header = new MarketDataPayload.Header(
+                proto.getMessageType(),
+                proto.getTimestamp(),
+                proto.getSequenceId(),
+                proto.getVersion());
+
+        MarketDataPayload.Instrument instrument = null;
+        if (proto.hasInstrument()) {
+            instrument = new MarketDataPayload.Instrument(
+                    proto.getInstrument().getSymbol(),
+                    proto.getInstrument().getExchange(),
+                    proto.getInstrument().getCurrency());
+        }
+
+        var entries = proto.getBidAskEntriesList().stream()
+                .map(e -> new MarketDataPayload.BidAskEntry(
+                        e.getPrice(),
+                        e.getSize(),
+                        e.getLevel(),
+                        e.getSideValue(),
+                        e.getUpdateActionValue()))
+                .collect(Collectors.toList());
+
+        return new MarketDataPayload(header, instrument, entries);
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset)
+            throws IOException {
+        // Length-delimited stream, the same framing as writeDelimitedTo
+        MarketData[] messages = new MarketData[payloads.size()];
+        int length = 0;
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = toProto(payloads.get(i));
+            int size = messages[i].getSerializedSize();
+            length += CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+        }
+        target.checkLimit(offset + length);
+
+        boolean addressOnly = target.byteArray() == null && target.byteBuffer() == null;
+        byte[] scratch = addressOnly ? new byte[length] : null;
+        CodedOutputStream out = addressOnly
+                ? CodedOutputStream.newInstance(scratch)
+                : CodedOutputStream.newInstance(Buffers.slice(target, offset, length));
+        for (MarketData message : messages) {
+            out.writeUInt32NoTag(message.getSerializedSize());
+            message.writeTo(out);
+        }
+        out.flush();
+
+        if (addressOnly) {
+            target.putBytes(offset, scratch);
+        }
+        return length;
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length) {
+        CodedInputStream in = CodedInputStream.newInstance(Buffers.slice(source, offset, length));
+        return new BatchIterator() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return !in.isAtEnd();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
 
-            var entries = proto.getBidAskEntriesList().stream()
-                    .map(e -> new MarketDataPayload.BidAskEntry(
-                            e.getPrice(),
-                            e.getSize(),
-                            e.getLevel(),
-                            e.getSideValue(),
-                            e.getUpdateActionValue()))
-                    .collect(Collectors.toList());
+            @Override
+            protected MarketDataPayload decodeNext() throws IOException {
+                int limit = in.pushLimit(in.readRawVarint32());
+                MarketData message = MarketData.parser().parseFrom(in);
+                in.popLimit(limit);
+                return fromProto(message);
+            }
+        };
+    }
+
+    @Override
+    public ProtobufMarketDataView wrap(DirectBuffer source, int offset, int length) throws IOException {
+        return wrap(Buffers.slice(source, offset, length));
+    }
+
+    @Override
+    public ProtobufMarketDataView wrap(ByteBuffer source, int offset, int length) throws IOException {
+        return wrap(source.slice(offset, length));
+    }
 
-            return new MarketDataPayload(header, instrument, entries);
+    private ProtobufMarketDataView wrap(ByteBuffer slice) throws IOException {
+        try {
+            return views.get().wrap(MarketData.parseFrom(slice));
         } catch (InvalidProtocolBufferException e) {
             throw new IOException("Failed to deserialize Protobuf", e);
         }
@@ -0,0 +1,181 @@
+package com.tus.binary.suite.service;
+
+import com.google.protobuf.CodedInputStream;
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.DirectBuffer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.tus.binary.suite.service.ProtobufWireSerializer.*;
+
+// Protobuf fields can come in any order, so the message is walked once on wrap: scalars land in
+// primitive arrays that grow to the largest entry count seen, and strings become UTF-8 views over
+// the source buffer. Fields missing from the wire read as their proto3 defaults.
+public final class ProtobufWireMarketDataView implements MarketDataView {
+
+    private final Utf8SequenceView messageType = new Utf8SequenceView();
+    private final Utf8SequenceView symbol = new Utf8SequenceView();
+    private final Utf8SequenceView exchange = new Utf8SequenceView();
+    private final Utf8SequenceView currency = new Utf8SequenceView();
+
+    private long timestamp;
+    private long sequenceId;
+    private int version;
+
+    private int entryCount;
+    private long[] prices = new long[8];
+    private long[] sizes = new long[8];
+    private int[] levels = new int[8];
+    private int[] sides = new int[8];
+    private int[] updateActions = new int[8];
+
+    ProtobufWireMarketDataView wrap(CodedInputStream in, DirectBuffer source, int base) throws IOException {
+        messageType.wrap(source, base, 0);
+        symbol.wrap(source, base, 0);
+        exchange.wrap(source, base, 0);
+        currency.wrap(source, base, 0);
+        timestamp = 0;
+        sequenceId = 0;
+        version = 0;
+        entryCount = 0;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case MESSAGE_TYPE_TAG -> string(in, messageType, source, base);
+                case TIMESTAMP_TAG -> timestamp = in.readInt64();
+                case SEQUENCE_ID_TAG -> sequenceId = in.readInt64();
+                case VERSION_TAG -> version = in.readInt32();
+                case INSTRUMENT_TAG -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    readInstrument(in, source, base);
+                    in.popLimit(limit);
+                }
+                case BID_ASK_ENTRIES_TAG -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    readEntry(in);
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return this;
+    }
+
+    private void readInstrument(CodedInputStream in, DirectBuffer source, int base) throws IOException {
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case SYMBOL_TAG -> string(in, symbol, source, base);
+                case EXCHANGE_TAG -> string(in, exchange, source, base);
+                case CURRENCY_TAG -> string(in, currency, source, base);
+                default -> in.skipField(tag);
+            }
+        }
+    }
+
+    private void readEntry(CodedInputStream in) throws IOException {
+        if (entryCount == prices.length) {
+            int capacity = entryCount * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            sides = Arrays.copyOf(sides, capacity);
+            updateActions = Arrays.copyOf(updateActions, capacity);
+        }
+
+        int index = entryCount++;
+        prices[index] = 0;
+        sizes[index] = 0;
+        levels[index] = 0;
+        sides[index] = 0;
+        updateActions[index] = 0;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case PRICE_TAG -> prices[index] = in.readInt64();
+                case SIZE_TAG -> sizes[index] = in.readInt64();
+                case LEVEL_TAG -> levels[index] = in.readInt32();
+                case SIDE_TAG -> sides[index] = in.readEnum();
+                case UPDATE_ACTION_TAG -> updateActions[index] = in.readEnum();
+                default -> in.skipField(tag);
+            }
+        }
+    }
+
+    private static void string(CodedInputStream in, Utf8SequenceView view, DirectBuffer source, int base)
+            throws IOException {
+        int length = in.readRawVarint32();
+        int position = in.getTotalBytesRead();
+        in.skipRawBytes(length);
+        view.wrap(source, base + position, length);
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return messageType;
+    }
+
+    @Override
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long sequenceId() {
+        return sequenceId;
+    }
+
+    @Override
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return symbol;
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return exchange;
+    }
+
+    @Override
+    public CharSequence currency() {
+        return currency;
+    }
+
+    @Override
+    public int entryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public long price(int index) {
+        return prices[Objects.checkIndex(index, entryCount)];
+    }
+
+    @Override
+    public long size(int index) {
+        return sizes[Objects.checkIndex(index, entryCount)];
+    }
+
+    @Override
+    public int level(int index) {
+        return levels[Objects.checkIndex(index, entryCount)];
+    }
+
+    @Override
+    public int side(int index) {
+        return sides[Objects.checkIndex(index, entryCount)];
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return updateActions[Objects.checkIndex(index, entryCount)];
+    }
+}
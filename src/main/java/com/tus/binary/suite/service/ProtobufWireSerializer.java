@@ -0,0 +1,358 @@
+package com.tus.binary.suite.service;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Protobuf codec written against the wire format of market-data.proto, without the generated
+// builders or message graph. Encoding sizes the message up front and writes the payload straight
+// through CodedOutputStream, in field order and skipping proto3 defaults exactly as the generated
+// writeTo does, so the bytes are identical to ProtobufSerializer's. Decoding walks the tags with
+// CodedInputStream into the DTO or a view; strings are looked up in the StringCache in place.
+public class ProtobufWireSerializer implements ProtocolSerializer {
+
+    // MarketData
+    static final int MESSAGE_TYPE = 1;
+    static final int TIMESTAMP = 2;
+    static final int SEQUENCE_ID = 3;
+    static final int VERSION = 4;
+    static final int INSTRUMENT = 5;
+    static final int BID_ASK_ENTRIES = 6;
+
+    // MarketData.Instrument
+    static final int SYMBOL = 1;
+    static final int EXCHANGE = 2;
+    static final int CURRENCY = 3;
+
+    // MarketData.BidAskEntry
+    static final int PRICE = 1;
+    static final int SIZE = 2;
+    static final int LEVEL = 3;
+    static final int SIDE = 4;
+    static final int UPDATE_ACTION = 5;
+
+    // Full tags (WireFormat.makeTag) the decoders match on, so a known field number arriving with
+    // another wire type is skipped like an unknown field instead of being misread
+    static final int MESSAGE_TYPE_TAG = MESSAGE_TYPE << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int TIMESTAMP_TAG = TIMESTAMP << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int SEQUENCE_ID_TAG = SEQUENCE_ID << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int VERSION_TAG = VERSION << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int INSTRUMENT_TAG = INSTRUMENT << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int BID_ASK_ENTRIES_TAG = BID_ASK_ENTRIES << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int SYMBOL_TAG = SYMBOL << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int EXCHANGE_TAG = EXCHANGE << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int CURRENCY_TAG = CURRENCY << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    static final int PRICE_TAG = PRICE << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int SIZE_TAG = SIZE << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int LEVEL_TAG = LEVEL << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int SIDE_TAG = SIDE << 3 | WireFormat.WIRETYPE_VARINT;
+    static final int UPDATE_ACTION_TAG = UPDATE_ACTION << 3 | WireFormat.WIRETYPE_VARINT;
+
+    private final ThreadLocal<ProtobufWireMarketDataView> views =
+            ThreadLocal.withInitial(ProtobufWireMarketDataView::new);
+    private final StringCache stringCache;
+
+    public ProtobufWireSerializer() {
+        this(new StringCache());
+    }
+
+    public ProtobufWireSerializer(StringCache stringCache) {
+        this.stringCache = stringCache;
+    }
+
+    @Override
+    public byte[] serialize(MarketDataPayload payload) throws IOException {
+        byte[] result = new byte[messageSize(payload)];
+        CodedOutputStream out = CodedOutputStream.newInstance(result);
+        writeMessage(out, payload);
+        out.checkNoSpaceLeft();
+        return result;
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int offset) throws IOException {
+        int length = messageSize(payload);
+        target.checkLimit(offset + length);
+
+        if (target.byteArray() == null && target.byteBuffer() == null) {
+            // Raw off-heap address, CodedOutputStream cannot write there directly
+            target.putBytes(offset, serialize(payload));
+            return length;
+        }
+
+        CodedOutputStream out = CodedOutputStream.newInstance(Buffers.slice(target, offset, length));
+        writeMessage(out, payload);
+        out.flush();
+        return length;
+    }
+
+    @Override
+    public MarketDataPayload deserialize(byte[] data) throws IOException {
+        return deserialize(new UnsafeBuffer(data), 0, data.length);
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int offset, int length) throws IOException {
+        return readMessage(input(source, offset, length), source, offset);
+    }
+
+    @Override
+    public ProtobufWireMarketDataView wrap(DirectBuffer source, int offset, int length) throws IOException {
+        return views.get().wrap(input(source, offset, length), source, offset);
+    }
+
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset)
+            throws IOException {
+        // Length-delimited stream, the same framing as ProtobufSerializer and writeDelimitedTo
+        int length = 0;
+        for (MarketDataPayload payload : payloads) {
+            int size = messageSize(payload);
+            length += CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+        }
+        target.checkLimit(offset + length);
+
+        boolean addressOnly = target.byteArray() == null && target.byteBuffer() == null;
+        byte[] scratch = addressOnly ? new byte[length] : null;
+        CodedOutputStream out = addressOnly
+                ? CodedOutputStream.newInstance(scratch)
+                : CodedOutputStream.newInstance(Buffers.slice(target, offset, length));
+        for (MarketDataPayload payload : payloads) {
+            out.writeUInt32NoTag(messageSize(payload));
+            writeMessage(out, payload);
+        }
+        out.flush();
+
+        if (addressOnly) {
+            target.putBytes(offset, scratch);
+        }
+        return length;
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length) {
+        CodedInputStream in = input(source, offset, length);
+        return new BatchIterator() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return !in.isAtEnd();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            protected MarketDataPayload decodeNext() throws IOException {
+                int limit = in.pushLimit(in.readRawVarint32());
+                MarketDataPayload payload = readMessage(in, source, offset);
+                in.popLimit(limit);
+                return payload;
+            }
+        };
+    }
+
+    static CodedInputStream input(DirectBuffer source, int offset, int length) {
+        byte[] array = source.byteArray();
+        if (array != null) {
+            return CodedInputStream.newInstance(array, source.wrapAdjustment() + offset, length);
+        }
+        return CodedInputStream.newInstance(Buffers.slice(source, offset, length));
+    }
+
+    private static int messageSize(MarketDataPayload payload) {
+        MarketDataPayload.Header header = payload.header();
+        int size = stringSize(MESSAGE_TYPE, header.messageType())
+                + int64Size(TIMESTAMP, header.timestamp())
+                + int64Size(SEQUENCE_ID, header.sequenceId())
+                + int32Size(VERSION, header.version());
+        if (payload.instrument() != null) {
+            size += messageFieldSize(INSTRUMENT, instrumentSize(payload.instrument()));
+        }
+        if (payload.entries() != null) {
+            for (MarketDataPayload.BidAskEntry entry : payload.entries()) {
+                size += messageFieldSize(BID_ASK_ENTRIES, entrySize(entry));
+            }
+        }
+        return size;
+    }
+
+    private static int instrumentSize(MarketDataPayload.Instrument instrument) {
+        return stringSize(SYMBOL, instrument.symbol())
+                + stringSize(EXCHANGE, instrument.exchange())
+                + stringSize(CURRENCY, instrument.currency());
+    }
+
+    private static int entrySize(MarketDataPayload.BidAskEntry entry) {
+        return int64Size(PRICE, entry.price())
+                + int64Size(SIZE, entry.size())
+                + int32Size(LEVEL, entry.level())
+                + int32Size(SIDE, entry.side())
+                + int32Size(UPDATE_ACTION, entry.updateAction());
+    }
+
+    private static int messageFieldSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    // proto3 leaves fields holding their default value off the wire
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int int64Size(int field, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int int32Size(int field, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt32Size(field, value);
+    }
+
+    private static void writeMessage(CodedOutputStream out, MarketDataPayload payload) throws IOException {
+        MarketDataPayload.Header header = payload.header();
+        writeString(out, MESSAGE_TYPE, header.messageType());
+        writeInt64(out, TIMESTAMP, header.timestamp());
+        writeInt64(out, SEQUENCE_ID, header.sequenceId());
+        writeInt32(out, VERSION, header.version());
+
+        MarketDataPayload.Instrument instrument = payload.instrument();
+        if (instrument != null) {
+            out.writeTag(INSTRUMENT, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(instrumentSize(instrument));
+            writeString(out, SYMBOL, instrument.symbol());
+            writeString(out, EXCHANGE, instrument.exchange());
+            writeString(out, CURRENCY, instrument.currency());
+        }
+
+        if (payload.entries() != null) {
+            for (MarketDataPayload.BidAskEntry entry : payload.entries()) {
+                out.writeTag(BID_ASK_ENTRIES, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(entrySize(entry));
+                writeInt64(out, PRICE, entry.price());
+                writeInt64(out, SIZE, entry.size());
+                writeInt32(out, LEVEL, entry.level());
+                writeInt32(out, SIDE, entry.side());
+                writeInt32(out, UPDATE_ACTION, entry.updateAction());
+            }
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, long value) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, int value) throws IOException {
+        if (value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    // Reads fields until the end of input or the current limit; source and base locate the bytes
+    // CodedInputStream started from, so strings can be looked up where they lie
+    private MarketDataPayload readMessage(CodedInputStream in, DirectBuffer source, int base) throws IOException {
+        String messageType = "";
+        long timestamp = 0;
+        long sequenceId = 0;
+        int version = 0;
+        MarketDataPayload.Instrument instrument = null;
+        List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>();
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case MESSAGE_TYPE_TAG -> messageType = readString(in, source, base);
+                case TIMESTAMP_TAG -> timestamp = in.readInt64();
+                case SEQUENCE_ID_TAG -> sequenceId = in.readInt64();
+                case VERSION_TAG -> version = in.readInt32();
+                case INSTRUMENT_TAG -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    instrument = readInstrument(in, source, base);
+                    in.popLimit(limit);
+                }
+                case BID_ASK_ENTRIES_TAG -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    entries.add(readEntry(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(messageType, timestamp, sequenceId, version), instrument, entries);
+    }
+
+    private MarketDataPayload.Instrument readInstrument(CodedInputStream in, DirectBuffer source, int base)
+            throws IOException {
+        String symbol = "";
+        String exchange = "";
+        String currency = "";
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case SYMBOL_TAG -> symbol = readString(in, source, base);
+                case EXCHANGE_TAG -> exchange = readString(in, source, base);
+                case CURRENCY_TAG -> currency = readString(in, source, base);
+                default -> in.skipField(tag);
+            }
+        }
+        return new MarketDataPayload.Instrument(symbol, exchange, currency);
+    }
+
+    private static MarketDataPayload.BidAskEntry readEntry(CodedInputStream in) throws IOException {
+        long price = 0;
+        long size = 0;
+        int level = 0;
+        int side = 0;
+        int updateAction = 0;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case PRICE_TAG -> price = in.readInt64();
+                case SIZE_TAG -> size = in.readInt64();
+                case LEVEL_TAG -> level = in.readInt32();
+                case SIDE_TAG -> side = in.readEnum();
+                case UPDATE_ACTION_TAG -> updateAction = in.readEnum();
+                default -> in.skipField(tag);
+            }
+        }
+        return new MarketDataPayload.BidAskEntry(price, size, level, side, updateAction);
+    }
+
+    private String readString(CodedInputStream in, DirectBuffer source, int base) throws IOException {
+        int length = in.readRawVarint32();
+        int position = in.getTotalBytesRead();
+        // Skipping first rejects a negative length or one running past the current limit
+        in.skipRawBytes(length);
+        return stringCache.get(source, base + position, length);
+    }
+
+    public StringCache stringCache() {
+        return stringCache;
+    }
+
+    @Override
+    public String getName() {
+        return "Protobuf Wire";
+    }
+}
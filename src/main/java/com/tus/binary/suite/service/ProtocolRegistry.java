@@ -0,0 +1,141 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.jfr.InstrumentedSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+// Every ProtocolSerializer the application knows about, by name. Spring beans come first, then
+// whatever is listed in META-INF/services/com.tus.binary.suite.service.ProtocolSerializer, so a
+// codec from another jar only needs a service entry to show up in the endpoints and the benchmark
+// matrix. Outside Spring, discover() builds the same set from the service entries alone.
+//
+// Lookups accept the name (getName(), e.g. "Protobuf Wire") or its key, the lower-case dashed form
+// used in URLs and metric labels ("protobuf-wire"). A name ending in +Decorator, e.g. "SBE+Deflate",
+// wraps the registered protocol on first use. Only stateless decorators are offered this way: a
+// DeltaSerializer's output depends on what it encoded before, so it cannot stand in for a codec.
+// The decorated protocol is registered under its own name ("SBE Deflate+Dict") and the requested
+// one. Deflate is primed with a dictionary trained on generated incremental refreshes, as in
+// CompressionBenchmark, since single messages give plain deflate next to nothing to match.
+//
+// In the application, jfr.serializer-events (on by default) registers every protocol wrapped in an
+// InstrumentedSerializer, so the endpoints and HTTP converters emit the JFR events. discover()
+// leaves the serializers bare for the benchmarks.
+@Component
+public class ProtocolRegistry {
+
+    private static final Map<String, UnaryOperator<ProtocolSerializer>> DECORATORS = Map.of(
+            "deflate", ProtocolRegistry::deflate);
+
+    private static final long DICTIONARY_SEED = 42;
+    private static final int DICTIONARY_SAMPLES = 1024;
+
+    private final List<ProtocolSerializer> serializers = new CopyOnWriteArrayList<>();
+    private final Map<String, ProtocolSerializer> byKey = new ConcurrentHashMap<>();
+    private final boolean jfrEvents;
+
+    @Autowired
+    public ProtocolRegistry(ObjectProvider<ProtocolSerializer> beans,
+            @Value("${jfr.serializer-events:true}") boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+        beans.orderedStream().forEach(this::register);
+        ServiceLoader.load(ProtocolSerializer.class).forEach(this::register);
+    }
+
+    private ProtocolRegistry() {
+        this.jfrEvents = false;
+        ServiceLoader.load(ProtocolSerializer.class).forEach(this::register);
+    }
+
+    public static ProtocolRegistry discover() {
+        return new ProtocolRegistry();
+    }
+
+    // Returns false when a protocol with the same key is already registered, which keeps the first
+    public synchronized boolean register(ProtocolSerializer serializer) {
+        String key = key(serializer.getName());
+        if (byKey.containsKey(key)) {
+            return false;
+        }
+        ProtocolSerializer registered = jfrEvents && !(serializer instanceof InstrumentedSerializer)
+                ? new InstrumentedSerializer(serializer)
+                : serializer;
+        byKey.put(key, registered);
+        serializers.add(registered);
+        return true;
+    }
+
+    public Optional<ProtocolSerializer> find(String name) {
+        ProtocolSerializer serializer = byKey.get(key(name));
+        if (serializer != null) {
+            return Optional.of(serializer);
+        }
+        int plus = name.lastIndexOf('+');
+        if (plus <= 0) {
+            return Optional.empty();
+        }
+        UnaryOperator<ProtocolSerializer> decorator = DECORATORS.get(key(name.substring(plus + 1)));
+        if (decorator == null) {
+            return Optional.empty();
+        }
+        return find(name.substring(0, plus)).map(base -> decorate(name, base, decorator));
+    }
+
+    private synchronized ProtocolSerializer decorate(String name, ProtocolSerializer base,
+            UnaryOperator<ProtocolSerializer> decorator) {
+        ProtocolSerializer decorated = byKey.get(key(name));
+        if (decorated != null) {
+            return decorated;
+        }
+        // Decorate the bare codec, the decorated one gets its own events on registration
+        decorated = decorator.apply(base instanceof InstrumentedSerializer instrumented
+                ? instrumented.delegate()
+                : base);
+        register(decorated);
+        decorated = byKey.get(key(decorated.getName()));
+        byKey.put(key(name), decorated);
+        return decorated;
+    }
+
+    private static ProtocolSerializer deflate(ProtocolSerializer delegate) {
+        List<MarketDataPayload> samples = List.of(new MarketDataGenerator(DICTIONARY_SEED,
+                MarketDataGenerator.Shape.incremental(16)).next(DICTIONARY_SAMPLES));
+        try {
+            return new CompressingSerializer(delegate, CompressingSerializer.trainDictionary(delegate, samples,
+                    CompressingSerializer.DEFAULT_DICTIONARY_LENGTH));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ProtocolSerializer get(String name) {
+        return find(name).orElseThrow(() -> new IllegalArgumentException("Unknown protocol: " + name));
+    }
+
+    // In registration order: Spring beans first, then service entries, then anything added since
+    public List<ProtocolSerializer> serializers() {
+        return List.copyOf(serializers);
+    }
+
+    public List<String> names() {
+        return serializers.stream().map(ProtocolSerializer::getName).toList();
+    }
+
+    public static String key(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+}
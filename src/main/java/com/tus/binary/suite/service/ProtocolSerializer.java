@@ -1,13 +1,63 @@
 package com.tus.binary.suite.service;
 
 import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 public interface ProtocolSerializer {
     byte[] serialize(MarketDataPayload media) throws IOException;
 
     MarketDataPayload deserialize(byte[] data) throws IOException;
 
+    // Encodes straight into the caller's buffer starting at offset and returns the encoded length.
+    // Expandable buffers grow as needed, fixed buffers throw when too small.
+    int serialize(MarketDataPayload payload, MutableDirectBuffer buffer, int offset) throws IOException;
+
+    // Decodes the message held in buffer[offset, offset + length) without copying it out first.
+    MarketDataPayload deserialize(DirectBuffer buffer, int offset, int length) throws IOException;
+
+    // ByteBuffer offsets are absolute, position and limit are left untouched.
+    default int serialize(MarketDataPayload payload, ByteBuffer buffer, int offset) throws IOException {
+        return serialize(payload, new UnsafeBuffer(buffer), offset);
+    }
+
+    default MarketDataPayload deserialize(ByteBuffer buffer, int offset, int length) throws IOException {
+        return deserialize(new UnsafeBuffer(buffer), offset, length);
+    }
+
+    // Wraps the message in a view owned by this serializer instead of materializing a payload.
+    // The same view instance is returned on every call and is only valid until the next wrap.
+    MarketDataView wrap(DirectBuffer buffer, int offset, int length) throws IOException;
+
+    default MarketDataView wrap(ByteBuffer buffer, int offset, int length) throws IOException {
+        return wrap(new UnsafeBuffer(buffer), offset, length);
+    }
+
+    // Packs the messages into one contiguous frame using the protocol's own framing:
+    // SBE back to back, Protobuf length-delimited, FlatBuffers size-prefixed, Avro array blocks.
+    int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer buffer, int offset) throws IOException;
+
+    // Decodes the batch lazily, one message per next(). Decode errors surface as UncheckedIOException.
+    Iterator<MarketDataPayload> deserializeBatch(DirectBuffer buffer, int offset, int length) throws IOException;
+
+    default byte[] serializeBatch(List<MarketDataPayload> payloads) throws IOException {
+        ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(256 * Math.max(1, payloads.size()));
+        int length = serializeBatch(payloads, buffer, 0);
+        return Arrays.copyOf(buffer.byteArray(), length);
+    }
+
+    default Iterator<MarketDataPayload> deserializeBatch(byte[] data) throws IOException {
+        return deserializeBatch(new UnsafeBuffer(data), 0, data.length);
+    }
+
     String getName();
 }
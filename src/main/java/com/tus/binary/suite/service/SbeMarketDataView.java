@@ -0,0 +1,137 @@
+package com.tus.binary.suite.service;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.sbe.MarketDataDecoder;
+import com.tus.binary.suite.sbe.MarketDataDecoder.BidAskEntriesDecoder;
+import com.tus.binary.suite.sbe.MessageHeaderDecoder;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static com.tus.binary.suite.sbe.MarketDataDecoder.BYTE_ORDER;
+
+// Reads fields straight out of the SBE buffer. Group entries are addressed by index instead of
+// walking the group decoder, and the var strings are exposed as UTF-8 views over the buffer.
+public final class SbeMarketDataView implements MarketDataView {
+
+    private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+    private final MarketDataDecoder marketDataDecoder = new MarketDataDecoder();
+    private final UnsafeBuffer byteBufferWrapper = new UnsafeBuffer(0, 0);
+
+    private final Utf8SequenceView messageType = new Utf8SequenceView();
+    private final Utf8SequenceView symbol = new Utf8SequenceView();
+    private final Utf8SequenceView exchange = new Utf8SequenceView();
+    private final Utf8SequenceView currency = new Utf8SequenceView();
+
+    private DirectBuffer buffer;
+    private int entriesOffset;
+    private int entryBlockLength;
+    private int entryCount;
+
+    public SbeMarketDataView wrap(ByteBuffer source, int offset, int length) {
+        byteBufferWrapper.wrap(source);
+        return wrap(byteBufferWrapper, offset, length);
+    }
+
+    public SbeMarketDataView wrap(DirectBuffer source, int offset, int length) {
+        messageHeaderDecoder.wrap(source, offset);
+        marketDataDecoder.wrap(source, offset + messageHeaderDecoder.encodedLength(),
+                messageHeaderDecoder.blockLength(), messageHeaderDecoder.version());
+        buffer = source;
+
+        // Group header moves the limit onto the first entry
+        BidAskEntriesDecoder entries = marketDataDecoder.bidAskEntries();
+        entriesOffset = marketDataDecoder.limit();
+        entryBlockLength = entries.actingBlockLength();
+        entryCount = entries.count();
+        marketDataDecoder.limit(entriesOffset + entryCount * entryBlockLength);
+
+        // Var data must be visited in schema order: messageType, symbol, exchange, currency
+        int limit = marketDataDecoder.limit();
+        messageType.wrap(source, limit + MarketDataDecoder.messageTypeHeaderLength(), marketDataDecoder.skipMessageType());
+        limit = marketDataDecoder.limit();
+        symbol.wrap(source, limit + MarketDataDecoder.symbolHeaderLength(), marketDataDecoder.skipSymbol());
+        limit = marketDataDecoder.limit();
+        exchange.wrap(source, limit + MarketDataDecoder.exchangeHeaderLength(), marketDataDecoder.skipExchange());
+        limit = marketDataDecoder.limit();
+        currency.wrap(source, limit + MarketDataDecoder.currencyHeaderLength(), marketDataDecoder.skipCurrency());
+
+        return this;
+    }
+
+    // Total bytes of the wrapped message, header included
+    public int encodedLength() {
+        return messageHeaderDecoder.encodedLength() + marketDataDecoder.encodedLength();
+    }
+
+    @Override
+    public CharSequence messageType() {
+        return messageType;
+    }
+
+    @Override
+    public long timestamp() {
+        return marketDataDecoder.timestamp();
+    }
+
+    @Override
+    public long sequenceId() {
+        return marketDataDecoder.sequenceId();
+    }
+
+    @Override
+    public int version() {
+        return marketDataDecoder.version();
+    }
+
+    @Override
+    public CharSequence symbol() {
+        return symbol;
+    }
+
+    @Override
+    public CharSequence exchange() {
+        return exchange;
+    }
+
+    @Override
+    public CharSequence currency() {
+        return currency;
+    }
+
+    @Override
+    public int entryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public long price(int index) {
+        return buffer.getLong(entryOffset(index) + BidAskEntriesDecoder.priceEncodingOffset(), BYTE_ORDER);
+    }
+
+    @Override
+    public long size(int index) {
+        return buffer.getLong(entryOffset(index) + BidAskEntriesDecoder.sizeEncodingOffset(), BYTE_ORDER);
+    }
+
+    @Override
+    public int level(int index) {
+        return buffer.getInt(entryOffset(index) + BidAskEntriesDecoder.levelEncodingOffset(), BYTE_ORDER);
+    }
+
+    @Override
+    public int side(int index) {
+        return buffer.getByte(entryOffset(index) + BidAskEntriesDecoder.sideEncodingOffset()) & 0xFF;
+    }
+
+    @Override
+    public int updateAction(int index) {
+        return buffer.getByte(entryOffset(index) + BidAskEntriesDecoder.updateActionEncodingOffset()) & 0xFF;
+    }
+
+    private int entryOffset(int index) {
+        return entriesOffset + Objects.checkIndex(index, entryCount) * entryBlockLength;
+    }
+}
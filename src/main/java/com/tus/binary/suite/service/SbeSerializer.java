@@ -2,35 +2,67 @@ package com.tus.binary.suite.service;
 
 import com.tus.binary.suite.dto.MarketDataPayload;
 import com.tus.binary.suite.sbe.*;
+import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
 public class SbeSerializer implements ProtocolSerializer {
 
-    private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
-    private final MarketDataEncoder marketDataEncoder = new MarketDataEncoder();
-    private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
-    private final MarketDataDecoder marketDataDecoder = new MarketDataDecoder();
+    // Flyweights are stateful, so each thread gets its own set instead of sharing one across requests
+    private static final class Context {
+        private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
+        private final MarketDataEncoder marketDataEncoder = new MarketDataEncoder();
+        private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+        private final MarketDataDecoder marketDataDecoder = new MarketDataDecoder();
+        private final SbeMarketDataView view = new SbeMarketDataView();
 
-    // Buffer for serialization (expandable)
-    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+        // Buffer for serialization (expandable)
+        private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+    private final StringCache stringCache;
+
+    public SbeSerializer() {
+        this(new StringCache());
+    }
+
+    public SbeSerializer(StringCache stringCache) {
+        this.stringCache = stringCache;
+    }
 
     @Override
     public byte[] serialize(MarketDataPayload payload) {
+        ExpandableArrayBuffer buffer = contexts.get().buffer;
+        int length = serialize(payload, buffer, 0);
+        byte[] result = new byte[length];
+        buffer.getBytes(0, result);
+        return result;
+    }
+
+    @Override
+    public int serialize(MarketDataPayload payload, MutableDirectBuffer target, int targetOffset) {
+        Context ctx = contexts.get();
+        MessageHeaderEncoder messageHeaderEncoder = ctx.messageHeaderEncoder;
+        MarketDataEncoder marketDataEncoder = ctx.marketDataEncoder;
+
         // Encode Header
-        messageHeaderEncoder.wrap(buffer, 0);
+        messageHeaderEncoder.wrap(target, targetOffset);
         messageHeaderEncoder.blockLength(marketDataEncoder.sbeBlockLength())
                 .templateId(marketDataEncoder.sbeTemplateId())
                 .schemaId(marketDataEncoder.sbeSchemaId())
                 .version(marketDataEncoder.sbeSchemaVersion());
 
-        int offset = messageHeaderEncoder.encodedLength();
-        marketDataEncoder.wrap(buffer, offset);
+        int headerLength = messageHeaderEncoder.encodedLength();
+        marketDataEncoder.wrap(target, targetOffset + headerLength);
 
         marketDataEncoder.timestamp(payload.header().timestamp())
                 .sequenceId(payload.header().sequenceId())
@@ -73,23 +105,28 @@ public class SbeSerializer implements ProtocolSerializer {
             marketDataEncoder.currency("");
         }
 
-        int length = offset + marketDataEncoder.encodedLength();
-        byte[] result = new byte[length];
-        buffer.getBytes(0, result);
-        return result;
+        return headerLength + marketDataEncoder.encodedLength();
     }
 
     @Override
     public MarketDataPayload deserialize(byte[] data) {
-        UnsafeBuffer directBuffer = new UnsafeBuffer(data);
-        messageHeaderDecoder.wrap(directBuffer, 0);
+        return deserialize(new UnsafeBuffer(data), 0, data.length);
+    }
+
+    @Override
+    public MarketDataPayload deserialize(DirectBuffer source, int sourceOffset, int length) {
+        Context ctx = contexts.get();
+        MessageHeaderDecoder messageHeaderDecoder = ctx.messageHeaderDecoder;
+        MarketDataDecoder marketDataDecoder = ctx.marketDataDecoder;
+
+        messageHeaderDecoder.wrap(source, sourceOffset);
 
         int templateId = messageHeaderDecoder.templateId();
         int version = messageHeaderDecoder.version();
         int blockLength = messageHeaderDecoder.blockLength();
-        int offset = messageHeaderDecoder.encodedLength();
+        int offset = sourceOffset + messageHeaderDecoder.encodedLength();
 
-        marketDataDecoder.wrap(directBuffer, offset, blockLength, version);
+        marketDataDecoder.wrap(source, offset, blockLength, version);
 
         long timestamp = marketDataDecoder.timestamp();
         long sequenceId = marketDataDecoder.sequenceId();
@@ -115,10 +152,19 @@ public class SbeSerializer implements ProtocolSerializer {
         // Var Data
         // Order must match write order / schema order.
         // messageType, symbol, exchange, currency.
-        String msgType = marketDataDecoder.messageType();
-        String symbol = marketDataDecoder.symbol();
-        String exchange = marketDataDecoder.exchange();
-        String currency = marketDataDecoder.currency();
+        // Skipped rather than read, the cache looks the bytes up in place
+        int limit = marketDataDecoder.limit();
+        String msgType = stringCache.get(source, limit + MarketDataDecoder.messageTypeHeaderLength(),
+                marketDataDecoder.skipMessageType());
+        limit = marketDataDecoder.limit();
+        String symbol = stringCache.get(source, limit + MarketDataDecoder.symbolHeaderLength(),
+                marketDataDecoder.skipSymbol());
+        limit = marketDataDecoder.limit();
+        String exchange = stringCache.get(source, limit + MarketDataDecoder.exchangeHeaderLength(),
+                marketDataDecoder.skipExchange());
+        limit = marketDataDecoder.limit();
+        String currency = stringCache.get(source, limit + MarketDataDecoder.currencyHeaderLength(),
+                marketDataDecoder.skipCurrency());
 
         MarketDataPayload.Header header = new MarketDataPayload.Header(
                 msgType, timestamp, sequenceId, bodyVersion);
@@ -128,6 +174,51 @@ public class SbeSerializer implements ProtocolSerializer {
         return new MarketDataPayload(header, instrument, entries);
     }
 
+    @Override
+    public int serializeBatch(List<MarketDataPayload> payloads, MutableDirectBuffer target, int offset) {
+        // SBE messages are self-delimiting, so a batch is just the messages back to back
+        int position = offset;
+        for (MarketDataPayload payload : payloads) {
+            position += serialize(payload, target, position);
+        }
+        return position - offset;
+    }
+
+    @Override
+    public Iterator<MarketDataPayload> deserializeBatch(DirectBuffer source, int offset, int length) {
+        int end = offset + length;
+        return new BatchIterator() {
+            private int position = offset;
+
+            @Override
+            public boolean hasNext() {
+                return position < end;
+            }
+
+            @Override
+            protected MarketDataPayload decodeNext() {
+                MarketDataPayload payload = deserialize(source, position, end - position);
+                // The decoder limit sits just past the last var string of the message
+                position = contexts.get().marketDataDecoder.limit();
+                return payload;
+            }
+        };
+    }
+
+    @Override
+    public SbeMarketDataView wrap(DirectBuffer source, int offset, int length) {
+        return contexts.get().view.wrap(source, offset, length);
+    }
+
+    @Override
+    public SbeMarketDataView wrap(ByteBuffer source, int offset, int length) {
+        return contexts.get().view.wrap(source, offset, length);
+    }
+
+    public StringCache stringCache() {
+        return stringCache;
+    }
+
     @Override
     public String getName() {
         return "SBE";
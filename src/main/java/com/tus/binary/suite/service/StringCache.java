@@ -0,0 +1,164 @@
+package com.tus.binary.suite.service;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded intern cache for the small, stable set of strings on the feed (message types,
+// symbols, exchanges, currencies). Lookups hash and compare the raw UTF-8 bytes where they lie,
+// so a hit returns the cached String without decoding or allocating anything.
+//
+// The table is direct-mapped: each slot holds one immutable entry and a colliding string simply
+// replaces it, which bounds the size without any LRU bookkeeping. Entries are immutable, so the
+// racy slot reads and writes are safe and one cache can be shared by all decoding threads.
+// A capacity of 0 disables caching, every lookup then decodes a new String.
+public final class StringCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private static final class Entry {
+        private final int hash;
+        private final byte[] bytes;
+        private final String value;
+
+        private Entry(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StringCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    // Strings longer than maxLength bytes are decoded without being cached
+    public StringCache(int capacity, int maxLength) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.entries = new Entry[capacity == 0 ? 0 : BitUtil.findNextPositivePowerOfTwo(capacity)];
+        this.mask = entries.length - 1;
+        this.maxLength = maxLength;
+    }
+
+    public String get(DirectBuffer buffer, int offset, int length) {
+        if (entries.length == 0 || length > maxLength) {
+            misses.increment();
+            return buffer.getStringWithoutLengthUtf8(offset, length);
+        }
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.getByte(offset + i);
+        }
+        int index = spread(hash) & mask;
+        Entry entry = entries[index];
+        if (entry != null && entry.hash == hash && entry.bytes.length == length) {
+            int i = 0;
+            while (i < length && entry.bytes[i] == buffer.getByte(offset + i)) {
+                i++;
+            }
+            if (i == length) {
+                hits.increment();
+                return entry.value;
+            }
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.getBytes(offset, bytes);
+        return insert(index, entry, hash, bytes);
+    }
+
+    public String get(byte[] source, int offset, int length) {
+        if (entries.length == 0 || length > maxLength) {
+            misses.increment();
+            return new String(source, offset, length, StandardCharsets.UTF_8);
+        }
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + source[offset + i];
+        }
+        int index = spread(hash) & mask;
+        Entry entry = entries[index];
+        if (entry != null && entry.hash == hash
+                && Arrays.equals(entry.bytes, 0, length, source, offset, offset + length)) {
+            hits.increment();
+            return entry.value;
+        }
+
+        return insert(index, entry, hash, Arrays.copyOfRange(source, offset, offset + length));
+    }
+
+    // Absolute reads, the ByteBuffer's position and limit are left alone
+    public String get(ByteBuffer source, int index, int length) {
+        if (source.hasArray()) {
+            return get(source.array(), source.arrayOffset() + index, length);
+        }
+
+        byte[] bytes = new byte[length];
+        source.get(index, bytes);
+        return get(bytes, 0, length);
+    }
+
+    private String insert(int index, Entry previous, int hash, byte[] bytes) {
+        misses.increment();
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (previous != null) {
+            evictions.increment();
+        }
+        entries[index] = new Entry(hash, bytes, value);
+        return value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StringCache[capacity=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.4f]",
+                capacity(), hits(), misses(), evictions(), hitRate());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tus.binary.suite.service;
+
+import org.agrona.DirectBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+// CharSequence over a UTF-8 string field in a buffer, reused across wrap calls like the views that
+// hold it. ASCII, the usual case for symbols and codes, is read byte per char straight from the
+// buffer. Anything else is decoded once per wrap into a char array kept for reuse; malformed input
+// becomes U+FFFD, as in new String(bytes, UTF_8). buffer(), offset() and byteLength() give the
+// encoded bytes for writers that copy them as they lie.
+public final class Utf8SequenceView implements CharSequence {
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private DirectBuffer buffer;
+    private int offset;
+    private int byteLength;
+    private boolean ascii = true;
+    private byte[] bytes = new byte[0];
+    private char[] chars = new char[0];
+    private int length;
+
+    public Utf8SequenceView wrap(DirectBuffer buffer, int offset, int byteLength) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.byteLength = byteLength;
+        ascii = true;
+        for (int i = 0; i < byteLength; i++) {
+            if (buffer.getByte(offset + i) < 0) {
+                ascii = false;
+                break;
+            }
+        }
+        length = ascii ? byteLength : decode();
+        return this;
+    }
+
+    // A UTF-8 string never has more UTF-16 chars than bytes, so byteLength bounds both arrays
+    private int decode() {
+        if (bytes.length < byteLength) {
+            bytes = new byte[byteLength];
+            chars = new char[byteLength];
+        }
+        buffer.getBytes(offset, bytes, 0, byteLength);
+        CharBuffer out = CharBuffer.wrap(chars);
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, 0, byteLength), out, true);
+        decoder.flush(out);
+        return out.position();
+    }
+
+    public DirectBuffer buffer() {
+        return buffer;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int byteLength() {
+        return byteLength;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return ascii ? (char) buffer.getByte(offset + index) : chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (length == 0) {
+            return "";
+        }
+        return ascii ? buffer.getStringWithoutLengthAscii(offset, byteLength) : new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,116 @@
+package com.tus.binary.suite.stream;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+// Pulls length-prefixed frames (see MessageStreamWriter) off a stream through one reusable read
+// buffer sized to the largest frame, so memory stays bounded however long the stream is.
+// Partial reads are buffered and frames that straddle the end of the buffer are compacted to the
+// front before the next read.
+//
+// read() and readView() return null once the stream has ended. On a non-blocking channel they also
+// return null when a whole frame has not arrived yet; endOfStream() tells the two apart.
+// Not thread-safe.
+public class MessageStreamReader implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 64 * 1024;
+
+    private final ProtocolSerializer serializer;
+    private final ReadableByteChannel channel;
+    private final int maxMessageLength;
+    private final ByteBuffer readBuffer;
+    private final UnsafeBuffer buffer;
+
+    private int head;
+    private int frameOffset;
+    private int frameLength;
+    private boolean endOfStream;
+
+    public MessageStreamReader(ProtocolSerializer serializer, InputStream in) {
+        this(serializer, Channels.newChannel(in), DEFAULT_MAX_MESSAGE_LENGTH);
+    }
+
+    public MessageStreamReader(ProtocolSerializer serializer, ReadableByteChannel channel) {
+        this(serializer, channel, DEFAULT_MAX_MESSAGE_LENGTH);
+    }
+
+    public MessageStreamReader(ProtocolSerializer serializer, ReadableByteChannel channel, int maxMessageLength) {
+        if (maxMessageLength < 1) {
+            throw new IllegalArgumentException("maxMessageLength must be positive: " + maxMessageLength);
+        }
+        this.serializer = serializer;
+        this.channel = channel;
+        this.maxMessageLength = maxMessageLength;
+        this.readBuffer = ByteBuffer.allocateDirect(MessageStreamWriter.FRAME_HEADER_LENGTH + maxMessageLength);
+        this.buffer = new UnsafeBuffer(readBuffer);
+    }
+
+    public MarketDataPayload read() throws IOException {
+        return nextFrame() ? serializer.deserialize(buffer, frameOffset, frameLength) : null;
+    }
+
+    // The view reads the internal buffer and is only valid until the next read
+    public MarketDataView readView() throws IOException {
+        return nextFrame() ? serializer.wrap(buffer, frameOffset, frameLength) : null;
+    }
+
+    public boolean endOfStream() {
+        return endOfStream;
+    }
+
+    private boolean nextFrame() throws IOException {
+        while (true) {
+            int available = readBuffer.position() - head;
+            int needed = MessageStreamWriter.FRAME_HEADER_LENGTH;
+            if (available >= needed) {
+                int length = buffer.getInt(head, ByteOrder.LITTLE_ENDIAN);
+                if (length < 0 || length > maxMessageLength) {
+                    throw new IOException("Frame length " + length + " outside 0.." + maxMessageLength);
+                }
+                needed += length;
+                if (available >= needed) {
+                    frameOffset = head + MessageStreamWriter.FRAME_HEADER_LENGTH;
+                    frameLength = length;
+                    head += needed;
+                    return true;
+                }
+            }
+
+            if (endOfStream) {
+                if (available > 0) {
+                    throw new EOFException("Stream ended inside a frame, " + available + " bytes left over");
+                }
+                return false;
+            }
+
+            // Move the partial frame to the front when the rest of it would not fit
+            if (head + needed > readBuffer.capacity()) {
+                readBuffer.flip().position(head);
+                readBuffer.compact();
+                head = 0;
+            }
+
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                endOfStream = true;
+            } else if (read == 0) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tus.binary.suite.stream;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+// Writes each message as a little-endian int32 length followed by the encoded message, the same
+// size prefix FlatBuffers uses, so any protocol can be framed on a byte stream.
+// Not thread-safe.
+public class MessageStreamWriter implements AutoCloseable {
+
+    public static final int FRAME_HEADER_LENGTH = 4;
+
+    private final ProtocolSerializer serializer;
+    private final WritableByteChannel channel;
+    private final ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
+
+    public MessageStreamWriter(ProtocolSerializer serializer, OutputStream out) {
+        this(serializer, Channels.newChannel(out));
+    }
+
+    public MessageStreamWriter(ProtocolSerializer serializer, WritableByteChannel channel) {
+        this.serializer = serializer;
+        this.channel = channel;
+    }
+
+    public int write(MarketDataPayload payload) throws IOException {
+        int length = serializer.serialize(payload, buffer, FRAME_HEADER_LENGTH);
+        buffer.putInt(0, length, ByteOrder.LITTLE_ENDIAN);
+
+        // Taken after encoding, the backing ByteBuffer is replaced whenever the buffer grows
+        ByteBuffer frame = buffer.byteBuffer().duplicate().limit(FRAME_HEADER_LENGTH + length).position(0);
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        return FRAME_HEADER_LENGTH + length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tus.binary.suite.transcode;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.io.DirectBufferOutputStream;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes the binary encoding of market_data.avsc field by field instead of filling a SpecificRecord
+// graph for SpecificDatumWriter. Avro has no field tags, so the calls below must follow the schema
+// order exactly. A string is encoded the same as bytes, so each one is UTF-8 encoded into scratch
+// and written with writeBytes.
+public class AvroMarketDataWriter implements MarketDataWriter {
+
+    private static final class Context {
+        private final ExpandableDirectBufferOutputStream expandableOut = new ExpandableDirectBufferOutputStream();
+        private final DirectBufferOutputStream fixedOut = new DirectBufferOutputStream();
+        private final ExpandableArrayBuffer scratch = new ExpandableArrayBuffer(64);
+        private BinaryEncoder encoder;
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+
+    @Override
+    public int write(MarketDataView view, MutableDirectBuffer target, int offset) throws IOException {
+        Context ctx = contexts.get();
+        OutputStream out;
+        if (target.isExpandable()) {
+            ctx.expandableOut.wrap(target, offset);
+            out = ctx.expandableOut;
+        } else {
+            ctx.fixedOut.wrap(target, offset, target.capacity() - offset);
+            out = ctx.fixedOut;
+        }
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, ctx.encoder);
+        ctx.encoder = encoder;
+
+        // Header
+        writeString(encoder, ctx.scratch, view.messageType());
+        encoder.writeLong(view.timestamp());
+        encoder.writeLong(view.sequenceId());
+        encoder.writeInt(view.version());
+
+        // Instrument
+        writeString(encoder, ctx.scratch, view.symbol());
+        writeString(encoder, ctx.scratch, view.exchange());
+        writeString(encoder, ctx.scratch, view.currency());
+
+        // Entries, as one array block
+        int count = view.entryCount();
+        encoder.writeArrayStart();
+        encoder.setItemCount(count);
+        for (int i = 0; i < count; i++) {
+            encoder.startItem();
+            encoder.writeLong(view.price(i));
+            encoder.writeLong(view.size(i));
+            encoder.writeInt(view.level(i));
+            encoder.writeInt(view.side(i));
+            encoder.writeInt(view.updateAction(i));
+        }
+        encoder.writeArrayEnd();
+        encoder.flush();
+
+        return out == ctx.expandableOut ? ctx.expandableOut.position() : ctx.fixedOut.position();
+    }
+
+    private static void writeString(BinaryEncoder encoder, ExpandableArrayBuffer scratch, CharSequence value)
+            throws IOException {
+        int length = Utf8.put(scratch, 0, value);
+        encoder.writeBytes(scratch.byteArray(), 0, length);
+    }
+
+    @Override
+    public String getName() {
+        return "Avro";
+    }
+}
@@ -0,0 +1,82 @@
+package com.tus.binary.suite.transcode;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.fbs.BidAskEntry;
+import com.tus.binary.suite.fbs.Instrument;
+import com.tus.binary.suite.fbs.MarketData;
+import org.agrona.MutableDirectBuffer;
+
+import java.nio.ByteBuffer;
+
+// Builds in the same order as FlatBuffersSerializer, so the bytes match a full rebuild. The
+// builder encodes the view's CharSequences itself, and entry offsets go into a per-thread array
+// that grows to the largest message seen instead of a new int[] per message.
+public class FlatBuffersMarketDataWriter implements MarketDataWriter {
+
+    private static final class Context {
+        private final FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        private int[] entryOffsets = new int[64];
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+
+    @Override
+    public int write(MarketDataView view, MutableDirectBuffer target, int offset) {
+        Context ctx = contexts.get();
+        FlatBufferBuilder builder = ctx.builder;
+        builder.clear();
+
+        int messageTypeOffset = builder.createString(view.messageType());
+        int symbolOffset = builder.createString(view.symbol());
+        int exchangeOffset = builder.createString(view.exchange());
+        int currencyOffset = builder.createString(view.currency());
+
+        Instrument.startInstrument(builder);
+        Instrument.addSymbol(builder, symbolOffset);
+        Instrument.addExchange(builder, exchangeOffset);
+        Instrument.addCurrency(builder, currencyOffset);
+        int instrumentOffset = Instrument.endInstrument(builder);
+
+        int count = view.entryCount();
+        if (ctx.entryOffsets.length < count) {
+            ctx.entryOffsets = new int[Math.max(count, ctx.entryOffsets.length * 2)];
+        }
+        int[] entryOffsets = ctx.entryOffsets;
+        for (int i = 0; i < count; i++) {
+            BidAskEntry.startBidAskEntry(builder);
+            BidAskEntry.addPrice(builder, view.price(i));
+            BidAskEntry.addSize(builder, view.size(i));
+            BidAskEntry.addLevel(builder, view.level(i));
+            BidAskEntry.addSide(builder, (byte) view.side(i));
+            BidAskEntry.addUpdateAction(builder, (byte) view.updateAction(i));
+            entryOffsets[i] = BidAskEntry.endBidAskEntry(builder);
+        }
+        // What createBidAskEntriesVector does, minus the exact-length array it needs
+        MarketData.startBidAskEntriesVector(builder, count);
+        for (int i = count - 1; i >= 0; i--) {
+            builder.addOffset(entryOffsets[i]);
+        }
+        int entriesVector = builder.endVector();
+
+        MarketData.startMarketData(builder);
+        MarketData.addMessageType(builder, messageTypeOffset);
+        MarketData.addTimestamp(builder, view.timestamp());
+        MarketData.addSequenceId(builder, view.sequenceId());
+        MarketData.addVersion(builder, view.version());
+        MarketData.addInstrument(builder, instrumentOffset);
+        MarketData.addBidAskEntries(builder, entriesVector);
+        builder.finish(MarketData.endMarketData(builder));
+
+        // The builder writes back to front, so the finished message is copied once into place
+        ByteBuffer data = builder.dataBuffer();
+        int length = data.remaining();
+        target.putBytes(offset, data, data.position(), length);
+        return length;
+    }
+
+    @Override
+    public String getName() {
+        return "FlatBuffers";
+    }
+}
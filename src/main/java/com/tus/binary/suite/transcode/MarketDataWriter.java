@@ -0,0 +1,16 @@
+package com.tus.binary.suite.transcode;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import org.agrona.MutableDirectBuffer;
+
+import java.io.IOException;
+
+// Encodes a message straight from a MarketDataView, field by field, without building a
+// MarketDataPayload first. Output is byte-for-byte what the protocol's serializer writes for the
+// same message. Expandable buffers grow as needed, fixed buffers throw when too small.
+public interface MarketDataWriter {
+
+    int write(MarketDataView view, MutableDirectBuffer buffer, int offset) throws IOException;
+
+    String getName();
+}
@@ -0,0 +1,152 @@
+package com.tus.binary.suite.transcode;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.proto.MarketData;
+import com.tus.binary.suite.service.Buffers;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.io.IOException;
+
+// Same wire layout as ProtobufWireSerializer: the message is sized up front, then written through
+// CodedOutputStream in field order with proto3 defaults left off. Strings are UTF-8 encoded once
+// into a per-thread scratch buffer while sizing and copied from there when written.
+public class ProtobufMarketDataWriter implements MarketDataWriter {
+
+    private static final int MESSAGE_TYPE = MarketData.MESSAGE_TYPE_FIELD_NUMBER;
+    private static final int TIMESTAMP = MarketData.TIMESTAMP_FIELD_NUMBER;
+    private static final int SEQUENCE_ID = MarketData.SEQUENCE_ID_FIELD_NUMBER;
+    private static final int VERSION = MarketData.VERSION_FIELD_NUMBER;
+    private static final int INSTRUMENT = MarketData.INSTRUMENT_FIELD_NUMBER;
+    private static final int BID_ASK_ENTRIES = MarketData.BID_ASK_ENTRIES_FIELD_NUMBER;
+
+    private static final int SYMBOL = MarketData.Instrument.SYMBOL_FIELD_NUMBER;
+    private static final int EXCHANGE = MarketData.Instrument.EXCHANGE_FIELD_NUMBER;
+    private static final int CURRENCY = MarketData.Instrument.CURRENCY_FIELD_NUMBER;
+
+    private static final int PRICE = MarketData.BidAskEntry.PRICE_FIELD_NUMBER;
+    private static final int SIZE = MarketData.BidAskEntry.SIZE_FIELD_NUMBER;
+    private static final int LEVEL = MarketData.BidAskEntry.LEVEL_FIELD_NUMBER;
+    private static final int SIDE = MarketData.BidAskEntry.SIDE_FIELD_NUMBER;
+    private static final int UPDATE_ACTION = MarketData.BidAskEntry.UPDATE_ACTION_FIELD_NUMBER;
+
+    // Scratch holds messageType, symbol, exchange and currency back to back
+    private static final class Context {
+        private final ExpandableArrayBuffer scratch = new ExpandableArrayBuffer(128);
+        private final int[] stringLengths = new int[4];
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+
+    @Override
+    public int write(MarketDataView view, MutableDirectBuffer target, int offset) throws IOException {
+        Context ctx = contexts.get();
+        int[] lengths = ctx.stringLengths;
+        int position = 0;
+        position += lengths[0] = Utf8.put(ctx.scratch, position, view.messageType());
+        position += lengths[1] = Utf8.put(ctx.scratch, position, view.symbol());
+        position += lengths[2] = Utf8.put(ctx.scratch, position, view.exchange());
+        lengths[3] = Utf8.put(ctx.scratch, position, view.currency());
+
+        int instrumentSize = stringSize(SYMBOL, lengths[1]) + stringSize(EXCHANGE, lengths[2])
+                + stringSize(CURRENCY, lengths[3]);
+        int length = stringSize(MESSAGE_TYPE, lengths[0])
+                + int64Size(TIMESTAMP, view.timestamp())
+                + int64Size(SEQUENCE_ID, view.sequenceId())
+                + int32Size(VERSION, view.version())
+                + messageFieldSize(INSTRUMENT, instrumentSize);
+        int count = view.entryCount();
+        for (int i = 0; i < count; i++) {
+            length += messageFieldSize(BID_ASK_ENTRIES, entrySize(view, i));
+        }
+        target.checkLimit(offset + length);
+
+        boolean addressOnly = target.byteArray() == null && target.byteBuffer() == null;
+        // Raw off-heap address, CodedOutputStream cannot write there directly
+        byte[] copy = addressOnly ? new byte[length] : null;
+        CodedOutputStream out = addressOnly
+                ? CodedOutputStream.newInstance(copy)
+                : CodedOutputStream.newInstance(Buffers.slice(target, offset, length));
+
+        byte[] strings = ctx.scratch.byteArray();
+        writeString(out, MESSAGE_TYPE, strings, 0, lengths[0]);
+        writeInt64(out, TIMESTAMP, view.timestamp());
+        writeInt64(out, SEQUENCE_ID, view.sequenceId());
+        writeInt32(out, VERSION, view.version());
+
+        out.writeTag(INSTRUMENT, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(instrumentSize);
+        writeString(out, SYMBOL, strings, lengths[0], lengths[1]);
+        writeString(out, EXCHANGE, strings, lengths[0] + lengths[1], lengths[2]);
+        writeString(out, CURRENCY, strings, lengths[0] + lengths[1] + lengths[2], lengths[3]);
+
+        for (int i = 0; i < count; i++) {
+            out.writeTag(BID_ASK_ENTRIES, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(entrySize(view, i));
+            writeInt64(out, PRICE, view.price(i));
+            writeInt64(out, SIZE, view.size(i));
+            writeInt32(out, LEVEL, view.level(i));
+            writeInt32(out, SIDE, view.side(i));
+            writeInt32(out, UPDATE_ACTION, view.updateAction(i));
+        }
+        out.flush();
+
+        if (addressOnly) {
+            target.putBytes(offset, copy);
+        }
+        return length;
+    }
+
+    private static int entrySize(MarketDataView view, int index) {
+        return int64Size(PRICE, view.price(index))
+                + int64Size(SIZE, view.size(index))
+                + int32Size(LEVEL, view.level(index))
+                + int32Size(SIDE, view.side(index))
+                + int32Size(UPDATE_ACTION, view.updateAction(index));
+    }
+
+    private static int messageFieldSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    // proto3 leaves fields holding their default value off the wire
+    private static int stringSize(int field, int length) {
+        return length == 0 ? 0 : messageFieldSize(field, length);
+    }
+
+    private static int int64Size(int field, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int int32Size(int field, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt32Size(field, value);
+    }
+
+    private static void writeString(CodedOutputStream out, int field, byte[] bytes, int offset, int length)
+            throws IOException {
+        if (length > 0) {
+            out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(length);
+            out.writeRawBytes(bytes, offset, length);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, long value) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, int value) throws IOException {
+        if (value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Protobuf";
+    }
+}
@@ -0,0 +1,74 @@
+package com.tus.binary.suite.transcode;
+
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.sbe.MarketDataEncoder;
+import com.tus.binary.suite.sbe.MessageHeaderEncoder;
+import com.tus.binary.suite.sbe.Side;
+import com.tus.binary.suite.sbe.UpdateAction;
+import org.agrona.MutableDirectBuffer;
+
+import static com.tus.binary.suite.sbe.MarketDataEncoder.BYTE_ORDER;
+
+// Var strings are written by hand, length prefix then bytes at the encoder limit, so the
+// CharSequences go straight into the target instead of through the String-only setters.
+public class SbeMarketDataWriter implements MarketDataWriter {
+
+    private static final class Context {
+        private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
+        private final MarketDataEncoder marketDataEncoder = new MarketDataEncoder();
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+
+    @Override
+    public int write(MarketDataView view, MutableDirectBuffer target, int offset) {
+        Context ctx = contexts.get();
+        MarketDataEncoder marketDataEncoder = ctx.marketDataEncoder;
+
+        ctx.messageHeaderEncoder.wrap(target, offset)
+                .blockLength(marketDataEncoder.sbeBlockLength())
+                .templateId(marketDataEncoder.sbeTemplateId())
+                .schemaId(marketDataEncoder.sbeSchemaId())
+                .version(marketDataEncoder.sbeSchemaVersion());
+        int headerLength = ctx.messageHeaderEncoder.encodedLength();
+
+        marketDataEncoder.wrap(target, offset + headerLength)
+                .timestamp(view.timestamp())
+                .sequenceId(view.sequenceId())
+                .version(view.version());
+
+        int count = view.entryCount();
+        MarketDataEncoder.BidAskEntriesEncoder group = marketDataEncoder.bidAskEntriesCount(count);
+        for (int i = 0; i < count; i++) {
+            int action = view.updateAction(i);
+            group.next()
+                    .price(view.price(i))
+                    .size(view.size(i))
+                    .level(view.level(i))
+                    .side(view.side(i) == 0 ? Side.BID : Side.ASK)
+                    .updateAction(action == 0 ? UpdateAction.ADD
+                            : (action == 1 ? UpdateAction.UPDATE : UpdateAction.DELETE));
+        }
+
+        // Schema order: messageType, symbol, exchange, currency
+        putVarString(marketDataEncoder, target, MarketDataEncoder.messageTypeHeaderLength(), view.messageType());
+        putVarString(marketDataEncoder, target, MarketDataEncoder.symbolHeaderLength(), view.symbol());
+        putVarString(marketDataEncoder, target, MarketDataEncoder.exchangeHeaderLength(), view.exchange());
+        putVarString(marketDataEncoder, target, MarketDataEncoder.currencyHeaderLength(), view.currency());
+
+        return headerLength + marketDataEncoder.encodedLength();
+    }
+
+    private static void putVarString(MarketDataEncoder encoder, MutableDirectBuffer target, int headerLength,
+            CharSequence value) {
+        int limit = encoder.limit();
+        int length = Utf8.put(target, limit + headerLength, value);
+        target.putInt(limit, length, BYTE_ORDER);
+        encoder.limit(limit + headerLength + length);
+    }
+
+    @Override
+    public String getName() {
+        return "SBE";
+    }
+}
@@ -0,0 +1,67 @@
+package com.tus.binary.suite.transcode;
+
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufWireSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.io.IOException;
+import java.util.List;
+
+// Re-encodes a message from one protocol into another without a MarketDataPayload in between: the
+// source is read through its serializer's view (SBE and FlatBuffers in place, Protobuf in one
+// pass over the wire, Avro into a reused record) and each field is handed straight to the target
+// writer. Any source pairs with any target, so the four readers and four writers cover every
+// combination. Not tied to a thread; the views and writers keep their state per thread.
+public class Transcoder {
+
+    public static final List<String> PROTOCOLS = List.of("SBE", "Protobuf", "FlatBuffers", "Avro");
+
+    private final ProtocolSerializer source;
+    private final MarketDataWriter target;
+
+    public Transcoder(ProtocolSerializer source, MarketDataWriter target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    // e.g. Transcoder.of("SBE", "Protobuf")
+    public static Transcoder of(String source, String target) {
+        return new Transcoder(reader(source), writer(target));
+    }
+
+    // The serializer whose view reads the protocol; Protobuf is read from the wire, not the message graph
+    public static ProtocolSerializer reader(String protocol) {
+        return switch (protocol) {
+            case "SBE" -> new SbeSerializer();
+            case "Protobuf" -> new ProtobufWireSerializer();
+            case "FlatBuffers" -> new FlatBuffersSerializer();
+            case "Avro" -> new AvroSerializer();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+    }
+
+    public static MarketDataWriter writer(String protocol) {
+        return switch (protocol) {
+            case "SBE" -> new SbeMarketDataWriter();
+            case "Protobuf" -> new ProtobufMarketDataWriter();
+            case "FlatBuffers" -> new FlatBuffersMarketDataWriter();
+            case "Avro" -> new AvroMarketDataWriter();
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+    }
+
+    // Transcodes the message in source[sourceOffset, sourceOffset + length) into target at
+    // targetOffset and returns the encoded length
+    public int transcode(DirectBuffer sourceBuffer, int sourceOffset, int length,
+            MutableDirectBuffer targetBuffer, int targetOffset) throws IOException {
+        return target.write(source.wrap(sourceBuffer, sourceOffset, length), targetBuffer, targetOffset);
+    }
+
+    public String getName() {
+        return source.getName() + " -> " + target.getName();
+    }
+}
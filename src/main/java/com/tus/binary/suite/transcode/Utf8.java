@@ -0,0 +1,50 @@
+package com.tus.binary.suite.transcode;
+
+import com.tus.binary.suite.service.Utf8SequenceView;
+import org.agrona.MutableDirectBuffer;
+
+// UTF-8 for the CharSequences views hand out, written without going through a String or byte[].
+// Utf8SequenceViews already hold the encoded bytes and are copied as they lie. Unpaired
+// surrogates become '?', as in String.getBytes.
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    // Writes value at index and returns the number of bytes written
+    static int put(MutableDirectBuffer buffer, int index, CharSequence value) {
+        if (value instanceof Utf8SequenceView view) {
+            buffer.putBytes(index, view.buffer(), view.offset(), view.byteLength());
+            return view.byteLength();
+        }
+        int position = index;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.putByte(position++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.putByte(position++, (byte) (0xC0 | c >> 6));
+                buffer.putByte(position++, (byte) (0x80 | c & 0x3F));
+            } else if (isPair(value, i)) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.putByte(position++, (byte) (0xF0 | codePoint >> 18));
+                buffer.putByte(position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.putByte(position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.putByte(position++, (byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.putByte(position++, (byte) '?');
+            } else {
+                buffer.putByte(position++, (byte) (0xE0 | c >> 12));
+                buffer.putByte(position++, (byte) (0x80 | c >> 6 & 0x3F));
+                buffer.putByte(position++, (byte) (0x80 | c & 0x3F));
+            }
+        }
+        return position - index;
+    }
+
+    private static boolean isPair(CharSequence value, int index) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+}
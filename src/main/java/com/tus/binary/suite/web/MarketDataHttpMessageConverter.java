@@ -0,0 +1,126 @@
+package com.tus.binary.suite.web;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Reads and writes a MarketDataPayload body in one binary protocol. The request body is read
+// straight into a per-thread buffer sized from Content-Length and decoded in place, and the
+// response is encoded into the same kind of buffer and written out in one go with its length set,
+// so neither direction goes through a growing byte[] or a copy per call.
+public class MarketDataHttpMessageConverter extends AbstractHttpMessageConverter<MarketDataPayload> {
+
+    public static final MediaType SBE = new MediaType("application", "x-sbe");
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType FLATBUFFERS = new MediaType("application", "x-flatbuffers");
+    public static final MediaType AVRO = new MediaType("avro", "binary");
+
+    // Bodies beyond this are refused rather than buffered
+    public static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+
+    // A buffer grown past this by one large body is dropped afterwards, so a pool of request
+    // threads does not each keep up to MAX_BODY_BYTES around for good
+    public static final int MAX_RETAINED_BYTES = 64 * 1024;
+
+    private static final int INITIAL_BUFFER_BYTES = 4096;
+
+    // The body view is bounded to the bytes actually received, so a truncated message fails to
+    // decode instead of reading on into what an earlier request left in the buffer
+    private static final class Context {
+        private ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(INITIAL_BUFFER_BYTES);
+        private final UnsafeBuffer body = new UnsafeBuffer(0, 0);
+
+        private void shrink() {
+            if (buffer.capacity() > MAX_RETAINED_BYTES) {
+                buffer = new ExpandableArrayBuffer(INITIAL_BUFFER_BYTES);
+                body.wrap(0, 0);
+            }
+        }
+    }
+
+    private final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new);
+    private final ProtocolSerializer serializer;
+
+    public MarketDataHttpMessageConverter(ProtocolSerializer serializer, MediaType mediaType) {
+        super(mediaType);
+        this.serializer = serializer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MarketDataPayload.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected MarketDataPayload readInternal(Class<? extends MarketDataPayload> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        long contentLength = inputMessage.getHeaders().getContentLength();
+        if (contentLength > MAX_BODY_BYTES) {
+            throw new HttpMessageNotReadableException("Body of " + contentLength + " bytes exceeds "
+                    + MAX_BODY_BYTES, inputMessage);
+        }
+
+        Context ctx = contexts.get();
+        try {
+            int length = read(inputMessage.getBody(), ctx.buffer, (int) Math.max(contentLength, 0), inputMessage);
+            ctx.body.wrap(ctx.buffer.byteArray(), 0, length);
+            try {
+                return serializer.deserialize(ctx.body, 0, length);
+            } catch (IOException | RuntimeException e) {
+                // Truncated or corrupt bodies surface as a 400, not a 500
+                throw new HttpMessageNotReadableException("Cannot decode " + serializer.getName() + " body: "
+                        + e.getMessage(), e, inputMessage);
+            }
+        } finally {
+            // The payload is a copy, nothing refers to the buffer any more
+            ctx.shrink();
+        }
+    }
+
+    // Reads to the end of the stream; the expected length only pre-sizes the buffer, one byte over
+    // so the end of the stream is seen without growing it. Chunked bodies grow it as they come.
+    private static int read(InputStream in, ExpandableArrayBuffer buffer, int expected, HttpInputMessage message)
+            throws IOException {
+        buffer.checkLimit(expected + 1);
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer.byteArray(), length, buffer.capacity() - length)) >= 0) {
+            length += read;
+            if (length == buffer.capacity()) {
+                if (length >= MAX_BODY_BYTES) {
+                    throw new HttpMessageNotReadableException("Body exceeds " + MAX_BODY_BYTES + " bytes", message);
+                }
+                buffer.checkLimit(length + 1);
+            }
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(MarketDataPayload payload, HttpOutputMessage outputMessage) throws IOException {
+        Context ctx = contexts.get();
+        try {
+            int length;
+            try {
+                length = serializer.serialize(payload, ctx.buffer, 0);
+            } catch (IOException | RuntimeException e) {
+                throw new HttpMessageNotWritableException("Cannot encode " + serializer.getName() + " body", e);
+            }
+            // Headers go out with the first body byte, so the length can still be set here
+            outputMessage.getHeaders().setContentLength(length);
+            outputMessage.getBody().write(ctx.buffer.byteArray(), 0, length);
+        } finally {
+            ctx.shrink();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tus.binary.suite.web;
+
+import com.tus.binary.suite.service.ProtocolRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+import static com.tus.binary.suite.web.MarketDataHttpMessageConverter.*;
+
+// Registers one MarketDataHttpMessageConverter per binary protocol. They go after the defaults,
+// so a request without a specific Accept header still gets JSON.
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ProtocolRegistry registry;
+
+    public WebConfig(ProtocolRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MarketDataHttpMessageConverter(registry.get("SBE"), SBE));
+        converters.add(new MarketDataHttpMessageConverter(registry.get("Protobuf"), PROTOBUF));
+        converters.add(new MarketDataHttpMessageConverter(registry.get("FlatBuffers"), FLATBUFFERS));
+        converters.add(new MarketDataHttpMessageConverter(registry.get("Avro"), AVRO));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.avro.MarketData;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSchemaRegistry;
+import com.tus.binary.suite.service.AvroSingleObjectSerializer;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvroSingleObjectTest {
+
+    @Test
+    public void testMatchesAvroMessageFormat() throws IOException {
+        AvroSingleObjectSerializer serializer = new AvroSingleObjectSerializer();
+        MarketDataPayload sample = MarketDataPayload.createSample();
+        byte[] encoded = serializer.serialize(sample);
+
+        // Readable by Avro's own BinaryMessageDecoder, and the other way round
+        MarketData record = MarketData.fromByteBuffer(ByteBuffer.wrap(encoded));
+        assertEquals(sample.instrument().symbol(), record.getInstrument().getSymbol());
+        assertEquals(sample, serializer.deserialize(record.toByteBuffer().array()));
+    }
+
+    @Test
+    public void testResolvesNewerWriterSchema() throws IOException {
+        // A writer one version ahead, with a field this build does not know about yet
+        Schema writerSchema = new Schema.Parser().parse(MarketData.getClassSchema().toString().replace(
+                "{\"name\":\"currency\",\"type\":{\"type\":\"string\",\"avro.java.string\":\"String\"}}",
+                "{\"name\":\"currency\",\"type\":{\"type\":\"string\",\"avro.java.string\":\"String\"}},"
+                        + "{\"name\":\"lotSize\",\"type\":\"int\",\"default\":1}"));
+        assertNotNull(writerSchema.getField("instrument").schema().getField("lotSize"));
+
+        AvroSchemaRegistry registry = new AvroSchemaRegistry();
+        AvroSingleObjectSerializer serializer = new AvroSingleObjectSerializer(registry);
+        byte[] encoded = encode(writerSchema);
+
+        IOException unknown = assertThrows(IOException.class, () -> serializer.deserialize(encoded));
+        assertTrue(unknown.getMessage().contains("fingerprint"));
+
+        registry.register(writerSchema);
+        assertEquals(2, registry.size());
+        for (int i = 0; i < 3; i++) {
+            MarketDataPayload decoded = serializer.deserialize(encoded);
+            assertEquals(42L, decoded.header().sequenceId());
+            assertEquals("USD", decoded.instrument().currency());
+            assertEquals(25000L, decoded.entries().get(0).price());
+        }
+        assertSame(registry.reader(AvroSchemaRegistry.fingerprint(writerSchema)),
+                registry.reader(AvroSchemaRegistry.fingerprint(writerSchema)));
+    }
+
+    private static byte[] encode(Schema writerSchema) throws IOException {
+        Schema headerSchema = writerSchema.getField("header").schema();
+        Schema instrumentSchema = writerSchema.getField("instrument").schema();
+        Schema entrySchema = writerSchema.getField("entries").schema().getElementType();
+
+        GenericRecord header = new GenericData.Record(headerSchema);
+        header.put("messageType", "MarketDataIncrementalRefresh");
+        header.put("timestamp", 1L);
+        header.put("sequenceId", 42L);
+        header.put("version", 1);
+        GenericRecord instrument = new GenericData.Record(instrumentSchema);
+        instrument.put("symbol", "MSFT");
+        instrument.put("exchange", "NASDAQ");
+        instrument.put("currency", "USD");
+        instrument.put("lotSize", 100);
+        GenericRecord entry = new GenericData.Record(entrySchema);
+        entry.put("price", 25000L);
+        entry.put("size", 10L);
+        entry.put("level", 1);
+        entry.put("side", 0);
+        entry.put("updateAction", 0);
+        GenericRecord record = new GenericData.Record(writerSchema);
+        record.put("header", header);
+        record.put("instrument", instrument);
+        record.put("entries", List.of(entry));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer prefix = ByteBuffer.allocate(AvroSingleObjectSerializer.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        prefix.put((byte) 0xC3).put((byte) 0x01).putLong(AvroSchemaRegistry.fingerprint(writerSchema));
+        out.write(prefix.array());
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(writerSchema).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tus.binary.suite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tus.binary.suite.benchmark.BaselineComparator;
+import com.tus.binary.suite.benchmark.BaselineComparator.Comparison;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaselineComparatorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // One run in JMH's JSON layout with two forks of three iterations each
+    private String run(String method, String mode, double[] scores, double alloc) {
+        String raw = "[[" + scores[0] + "," + scores[1] + "," + scores[2] + "],["
+                + scores[3] + "," + scores[4] + "," + scores[5] + "]]";
+        double mean = 0;
+        for (double score : scores) {
+            mean += score / scores.length;
+        }
+        return """
+                {"benchmark":"bench.B.%s","mode":"%s","params":{"protocol":"SBE"},
+                 "primaryMetric":{"score":%s,"scoreUnit":"ns/op","scoreConfidence":[0,0],"rawData":%s},
+                 "secondaryMetrics":{"gc.alloc.rate.norm":{"score":%s,"scoreUnit":"B/op",
+                   "rawData":[[%s,%s,%s],[%s,%s,%s]]}}}
+                """.formatted(method, mode, mean, raw, alloc, alloc, alloc, alloc, alloc, alloc, alloc);
+    }
+
+    private JsonNode runs(String... runs) throws Exception {
+        return mapper.readTree("[" + String.join(",", runs) + "]");
+    }
+
+    @Test
+    public void testRegressionsNeedThresholdAndSignificance() throws Exception {
+        double[] base = {100, 101, 99, 100, 102, 98};
+        JsonNode baseline = runs(
+                run("slower", "avgt", base, 64),
+                run("noisy", "avgt", base, 64),
+                run("faster", "thrpt", base, 64),
+                run("allocates", "avgt", base, 64),
+                run("removed", "avgt", base, 64));
+        JsonNode current = runs(
+                // 20% slower and well outside the noise
+                run("slower", "avgt", new double[]{120, 121, 119, 120, 122, 118}, 64),
+                // 20% slower on average but all over the place
+                run("noisy", "avgt", new double[]{60, 180, 100, 70, 190, 120}, 64),
+                // Throughput went up, which is an improvement
+                run("faster", "thrpt", new double[]{150, 151, 149, 150, 152, 148}, 64),
+                run("allocates", "avgt", base, 96),
+                run("added", "avgt", base, 64));
+
+        Map<String, Comparison> byName = new BaselineComparator(5).compare(baseline, current).stream()
+                .collect(Collectors.toMap(c -> c.benchmark().split(" ")[0].substring("bench.B.".length())
+                        + " " + c.metric(), Function.identity()));
+
+        assertEquals(8, byName.size(), byName.keySet().toString());
+        assertTrue(byName.get("slower score").regression());
+        assertEquals(20, byName.get("slower score").changePercent(), 0.01);
+        assertFalse(byName.get("slower gc.alloc.rate.norm").regression());
+        assertFalse(byName.get("noisy score").significant());
+        assertFalse(byName.get("noisy score").regression());
+        assertTrue(byName.get("faster score").significant());
+        assertFalse(byName.get("faster score").regression());
+        assertTrue(byName.get("allocates gc.alloc.rate.norm").regression());
+        assertFalse(byName.get("allocates score").regression());
+
+        List<Comparison> lenient = new BaselineComparator(50).compare(baseline, current);
+        assertTrue(lenient.stream().noneMatch(c -> c.metric().equals("score") && c.regression()));
+    }
+}
@@ -1,16 +1,35 @@
 package com.tus.binary.suite;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.CompressingSerializer;
+import com.tus.binary.suite.service.DeltaSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
 import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtobufWireSerializer;
 import com.tus.binary.suite.service.ProtocolSerializer;
 import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.service.StringCache;
 import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.AvroSingleObjectSerializer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +60,299 @@ public class BinaryProtocolTest {
         testRoundTrip(avroSerializer);
     }
 
+    @Test
+    public void testBufferRoundTrip() throws IOException {
+        for (ProtocolSerializer serializer : List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer(),
+                new AvroSingleObjectSerializer(), new ProtobufWireSerializer())) {
+            testBufferRoundTrip(serializer);
+        }
+    }
+
+    private void testBufferRoundTrip(ProtocolSerializer serializer) throws IOException {
+        MarketDataPayload original = createSamplePayload();
+        byte[] expected = serializer.serialize(original);
+        int offset = 16;
+
+        // Off-heap buffer at a non-zero offset, as when appending behind a frame header
+        UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+        int length = serializer.serialize(original, direct, offset);
+        assertEquals(expected.length, length, "Encoded length for " + serializer.getName());
+        assertEquals(original, serializer.deserialize(direct, offset, length), serializer.getName());
+
+        // Heap ByteBuffer with absolute offsets
+        ByteBuffer heap = ByteBuffer.allocate(1024);
+        length = serializer.serialize(original, heap, offset);
+        assertEquals(expected.length, length, "Encoded length for " + serializer.getName());
+        assertEquals(0, heap.position());
+        assertEquals(original, serializer.deserialize(heap, offset, length), serializer.getName());
+
+        // Expandable buffer starting smaller than the message
+        ExpandableArrayBuffer expandable = new ExpandableArrayBuffer(8);
+        length = serializer.serialize(original, expandable, offset);
+        assertEquals(expected.length, length, "Encoded length for " + serializer.getName());
+        assertEquals(original, serializer.deserialize(expandable, offset, length), serializer.getName());
+    }
+
+    @Test
+    public void testViewMatchesPayload() throws IOException {
+        for (ProtocolSerializer serializer : List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer(),
+                new AvroSingleObjectSerializer(), new ProtobufWireSerializer())) {
+            MarketDataPayload original = createSamplePayload();
+            UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+            int length = serializer.serialize(original, buffer, 8);
+
+            MarketDataView view = serializer.wrap(buffer, 8, length);
+            assertEquals(original.header().sequenceId(), view.sequenceId(), serializer.getName());
+            assertEquals(original.entries().size(), view.entryCount(), serializer.getName());
+            assertEquals(original.entries().get(1).price(), view.price(1), serializer.getName());
+            assertEquals(original.entries().get(1).side(), view.side(1), serializer.getName());
+            assertEquals("AAPL", view.symbol().toString(), serializer.getName());
+            assertEquals(original, view.toPayload(), serializer.getName());
+
+            // The same view is reused for the next message
+            MarketDataPayload next = new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataSnapshot", 1L, 12346L, 1),
+                    new MarketDataPayload.Instrument("MSFT", "NYSE", "EUR"),
+                    List.of(new MarketDataPayload.BidAskEntry(99L, 1L, 3, 1, 2)));
+            byte[] nextEncoded = serializer.serialize(next);
+            assertSame(view, serializer.wrap(new UnsafeBuffer(nextEncoded), 0, nextEncoded.length));
+            assertEquals(next, view.toPayload(), serializer.getName());
+
+            // Strings are UTF-8 on the wire, the views hand out the decoded chars
+            MarketDataPayload unicode = new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataSnapshot", 1L, 12347L, 1),
+                    new MarketDataPayload.Instrument("7203.東証", "BÖRSE", "€UR𝄞"),
+                    List.of(new MarketDataPayload.BidAskEntry(99L, 1L, 3, 1, 2)));
+            byte[] unicodeEncoded = serializer.serialize(unicode);
+            view = serializer.wrap(new UnsafeBuffer(unicodeEncoded), 0, unicodeEncoded.length);
+            assertEquals(unicode, view.toPayload(), serializer.getName());
+            assertEquals(5, view.exchange().length(), serializer.getName());
+            assertEquals('Ö', view.exchange().charAt(1), serializer.getName());
+            assertEquals("€UR𝄞", view.currency().toString(), serializer.getName());
+        }
+    }
+
+    @Test
+    public void testBatchRoundTrip() throws IOException {
+        for (ProtocolSerializer serializer : List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer(),
+                new AvroSingleObjectSerializer(), new ProtobufWireSerializer())) {
+            for (int size : new int[] {0, 1, 100}) {
+                List<MarketDataPayload> batch = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    batch.add(new MarketDataPayload(
+                            new MarketDataPayload.Header("MarketDataIncrementalRefresh", i, 1000L + i, 1),
+                            new MarketDataPayload.Instrument("SYM" + i % 7, "NASDAQ", "USD"),
+                            List.of(new MarketDataPayload.BidAskEntry(15000L + i, i, 1, i % 2, 0))));
+                }
+
+                // Off-heap at an offset, and through the byte[] convenience overloads
+                UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024));
+                int length = serializer.serializeBatch(batch, buffer, 16);
+                assertEquals(batch, drain(serializer.deserializeBatch(buffer, 16, length)),
+                        serializer.getName() + " batch of " + size);
+                assertEquals(batch, drain(serializer.deserializeBatch(serializer.serializeBatch(batch))),
+                        serializer.getName() + " batch of " + size);
+            }
+        }
+    }
+
+    private static List<MarketDataPayload> drain(Iterator<MarketDataPayload> iterator) {
+        List<MarketDataPayload> decoded = new ArrayList<>();
+        iterator.forEachRemaining(decoded::add);
+        assertThrows(NoSuchElementException.class, iterator::next);
+        return decoded;
+    }
+
+    @Test
+    public void testFlatBuffersPatchedTemplate() throws IOException {
+        FlatBuffersSerializer serializer = new FlatBuffersSerializer(new StringCache(), true);
+        for (int i = 0; i < 20; i++) {
+            // Zero scalars must still be patchable, and every fifth message changes shape
+            List<MarketDataPayload.BidAskEntry> entries = new ArrayList<>();
+            for (int e = 0; e <= i / 5; e++) {
+                entries.add(new MarketDataPayload.BidAskEntry(i % 3 * 100L, i, 1 + e, i % 2, i % 3));
+            }
+            MarketDataPayload original = new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", i, 1000L + i, 1),
+                    new MarketDataPayload.Instrument(i % 2 == 0 ? "AAPL" : "MSFT", "NASDAQ",
+                            i < 10 ? "USD" : "EUR"),
+                    entries);
+            byte[] encoded = serializer.serialize(original);
+            assertEquals(original, serializer.deserialize(encoded), "message " + i);
+            assertEquals(original, new FlatBuffersSerializer().deserialize(encoded), "message " + i);
+        }
+    }
+
+    @Test
+    public void testProtobufWireMatchesGenerated() throws IOException {
+        ProtobufWireSerializer wire = new ProtobufWireSerializer();
+        List<MarketDataPayload> payloads = List.of(
+                createSamplePayload(),
+                MarketDataPayload.createSample(),
+                // Defaults are left off the wire, negative int32 takes ten bytes
+                new MarketDataPayload(
+                        new MarketDataPayload.Header("", 0L, -1L, 0),
+                        new MarketDataPayload.Instrument("", "NYSE", ""),
+                        List.of(new MarketDataPayload.BidAskEntry(0L, 0L, 0, 0, 0),
+                                new MarketDataPayload.BidAskEntry(-5L, 1L, -1, 1, 2))));
+
+        for (MarketDataPayload payload : payloads) {
+            byte[] generated = protobufSerializer.serialize(payload);
+            assertArrayEquals(generated, wire.serialize(payload));
+            assertEquals(protobufSerializer.deserialize(generated), wire.deserialize(generated));
+            assertEquals(payload, wire.wrap(new UnsafeBuffer(generated), 0, generated.length).toPayload());
+        }
+    }
+
+    @Test
+    public void testProtobufWireRejectsCorruptInput() throws IOException {
+        ProtobufWireSerializer wire = new ProtobufWireSerializer();
+        byte[] encoded = wire.serialize(createSamplePayload());
+        UnsafeBuffer buffer = new UnsafeBuffer(encoded);
+        assertThrows(InvalidProtocolBufferException.class, () -> wire.deserialize(buffer, 0, encoded.length - 1));
+        assertThrows(InvalidProtocolBufferException.class, () -> wire.wrap(buffer, 0, encoded.length - 1));
+
+        // messageType claiming more bytes than follow, then a negative length; neither reaches the cache
+        wire.stringCache().resetStats();
+        byte[] oversized = {0x0A, 0x7F, 'A', 'B', 'C'};
+        byte[] negative = {0x0A, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 'A'};
+        for (byte[] corrupt : List.of(oversized, negative)) {
+            assertThrows(InvalidProtocolBufferException.class, () -> wire.deserialize(corrupt));
+            assertThrows(InvalidProtocolBufferException.class,
+                    () -> wire.wrap(new UnsafeBuffer(corrupt), 0, corrupt.length));
+        }
+        assertEquals(0, wire.stringCache().hits() + wire.stringCache().misses());
+
+        // timestamp arriving length-delimited is skipped as the generated parser does, sequenceId still reads
+        byte[] wrongWireType = {0x12, 0x02, 0x01, 0x02, 0x18, 0x07};
+        assertEquals(protobufSerializer.deserialize(wrongWireType), wire.deserialize(wrongWireType));
+        MarketDataView view = wire.wrap(new UnsafeBuffer(wrongWireType), 0, wrongWireType.length);
+        assertEquals(0, view.timestamp());
+        assertEquals(7, view.sequenceId());
+    }
+
+    @Test
+    public void testDeltaRoundTrip() throws IOException {
+        for (ProtocolSerializer delegate : List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer())) {
+            // Encoder and decoder on separate instances, as on the two ends of a stream
+            DeltaSerializer encoder = new DeltaSerializer(delegate);
+            DeltaSerializer decoder = new DeltaSerializer(delegate);
+            DeltaSerializer viewDecoder = new DeltaSerializer(delegate);
+            Random random = new Random(42);
+            long[] mid = {15000L, 32000L, 870L};
+            int statelessBytes = 0;
+            int deltaBytes = 0;
+
+            for (int i = 0; i < 300; i++) {
+                int symbol = i % mid.length;
+                mid[symbol] += random.nextInt(11) - 5;
+                MarketDataPayload original = new MarketDataPayload(
+                        new MarketDataPayload.Header(i % 50 == 0 ? "MarketDataSnapshot" : "MarketDataIncrementalRefresh",
+                                1678899887123L + i, 1000L + i, 1),
+                        new MarketDataPayload.Instrument("SYM" + symbol, "NASDAQ", i < 150 ? "USD" : "EUR"),
+                        List.of(new MarketDataPayload.BidAskEntry(mid[symbol] - 1, 100L + random.nextInt(50), 1, 0, 1),
+                                new MarketDataPayload.BidAskEntry(mid[symbol] + 1, 100L + random.nextInt(50), 1, 1, 1),
+                                new MarketDataPayload.BidAskEntry(-mid[symbol], 7L, 99, 0, 0)));
+
+                if (i % 10 == 5) {
+                    // A write that fails must not advance the encoder past the decoder
+                    assertThrows(Exception.class, () -> encoder.serialize(original, new UnsafeBuffer(new byte[8]), 0));
+                }
+                byte[] encoded = encoder.serialize(original);
+                assertEquals(original, decoder.deserialize(encoded), delegate.getName() + " message " + i);
+                assertEquals(original, viewDecoder.wrap(new UnsafeBuffer(encoded), 0, encoded.length).toPayload(),
+                        delegate.getName() + " view " + i);
+                statelessBytes += delegate.serialize(original).length;
+                deltaBytes += encoded.length;
+            }
+            System.out.println(encoder.getName() + " bytes: " + deltaBytes + " vs " + statelessBytes + " stateless");
+            assertTrue(deltaBytes < statelessBytes, encoder.getName());
+        }
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws IOException {
+        for (ProtocolSerializer delegate : List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer())) {
+            List<MarketDataPayload> samples = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                samples.add(new MarketDataPayload(
+                        new MarketDataPayload.Header("MarketDataIncrementalRefresh", 1678899887123L + i, 1000L + i, 1),
+                        new MarketDataPayload.Instrument("SYM" + i % 5, "NASDAQ", "USD"),
+                        List.of(new MarketDataPayload.BidAskEntry(15000L + i, 100L + i, 1, 0, 1),
+                                new MarketDataPayload.BidAskEntry(15002L + i, 90L + i, 1, 1, 1))));
+            }
+            byte[] dictionary = CompressingSerializer.trainDictionary(delegate, samples.subList(0, 32), 1024);
+            CompressingSerializer serializer = new CompressingSerializer(delegate, dictionary);
+
+            int rawBytes = 0;
+            int compressedBytes = 0;
+            for (MarketDataPayload original : samples.subList(32, 64)) {
+                byte[] encoded = serializer.serialize(original);
+                assertEquals(original, serializer.deserialize(encoded), serializer.getName());
+                assertEquals(original, serializer.wrap(new UnsafeBuffer(encoded), 0, encoded.length).toPayload(),
+                        serializer.getName());
+
+                UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+                int length = serializer.serialize(original, direct, 16);
+                assertEquals(encoded.length, length, serializer.getName());
+                assertEquals(original, serializer.deserialize(direct, 16, length), serializer.getName());
+
+                rawBytes += delegate.serialize(original).length;
+                compressedBytes += encoded.length;
+            }
+            System.out.println(serializer.getName() + " bytes: " + compressedBytes + " vs " + rawBytes + " raw");
+            assertTrue(compressedBytes < rawBytes, serializer.getName());
+
+            assertEquals(samples, drain(serializer.deserializeBatch(serializer.serializeBatch(samples))),
+                    serializer.getName());
+
+            // Both ends must agree on the dictionary, and a cut-off stream is an error
+            byte[] encoded = serializer.serialize(samples.get(0));
+            assertThrows(IOException.class,
+                    () -> new CompressingSerializer(delegate, new byte[0]).deserialize(encoded));
+            assertThrows(IOException.class,
+                    () -> serializer.deserialize(Arrays.copyOf(encoded, encoded.length / 2)));
+        }
+    }
+
+    @Test
+    public void testConcurrentRoundTrip() throws Exception {
+        // Shared instances must not mix up messages encoded by different threads
+        List<ProtocolSerializer> serializers = List.of(
+                protobufSerializer, sbeSerializer, avroSerializer, new FlatBuffersSerializer(),
+                new AvroSingleObjectSerializer(), new ProtobufWireSerializer());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long threadId = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        MarketDataPayload original = new MarketDataPayload(
+                                new MarketDataPayload.Header("MarketDataIncrementalRefresh", i, threadId, 1),
+                                new MarketDataPayload.Instrument("SYM" + threadId, "NASDAQ", "USD"),
+                                List.of(new MarketDataPayload.BidAskEntry(threadId * 100 + i, i, 1, 0, 0)));
+                        for (ProtocolSerializer serializer : serializers) {
+                            assertEquals(original, serializer.deserialize(serializer.serialize(original)),
+                                    serializer.getName());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void testRoundTrip(ProtocolSerializer serializer) throws IOException {
         MarketDataPayload original = createSamplePayload();
         byte[] encoded = serializer.serialize(original);
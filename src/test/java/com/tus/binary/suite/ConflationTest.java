@@ -0,0 +1,149 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.book.OrderBook;
+import com.tus.binary.suite.conflation.ConflatingQueue;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConflationTest {
+
+    @Test
+    public void testMergesPendingUpdatesPerSymbolAndLevel() {
+        ConflatingQueue queue = new ConflatingQueue(2);
+        assertTrue(queue.offer(update("MSFT", 1,
+                new MarketDataPayload.BidAskEntry(100, 10, 1, OrderBook.BID, OrderBook.ADD),
+                new MarketDataPayload.BidAskEntry(101, 10, 1, OrderBook.ASK, OrderBook.UPDATE))));
+        assertTrue(queue.offer(update("AAPL", 2,
+                new MarketDataPayload.BidAskEntry(50, 5, 1, OrderBook.BID, OrderBook.UPDATE))));
+        assertTrue(queue.offer(update("MSFT", 3,
+                new MarketDataPayload.BidAskEntry(99, 20, 1, OrderBook.BID, OrderBook.UPDATE),
+                new MarketDataPayload.BidAskEntry(98, 30, 2, OrderBook.BID, OrderBook.UPDATE))));
+        assertTrue(queue.offer(update("MSFT", 4,
+                new MarketDataPayload.BidAskEntry(102, 15, 1, OrderBook.ASK, OrderBook.UPDATE))));
+        assertFalse(queue.offer(update("IBM", 5,
+                new MarketDataPayload.BidAskEntry(10, 1, 1, OrderBook.BID, OrderBook.ADD))));
+        assertEquals(2, queue.waiting());
+
+        // MSFT changed first, so it comes first, with the latest entry per level and header
+        MarketDataPayload msft = queue.poll();
+        assertEquals("MSFT", msft.instrument().symbol());
+        assertEquals(4, msft.header().sequenceId());
+        assertEquals(List.of(
+                new MarketDataPayload.BidAskEntry(99, 20, 1, OrderBook.BID, OrderBook.ADD),
+                new MarketDataPayload.BidAskEntry(102, 15, 1, OrderBook.ASK, OrderBook.UPDATE),
+                new MarketDataPayload.BidAskEntry(98, 30, 2, OrderBook.BID, OrderBook.UPDATE)), msft.entries());
+        assertEquals("AAPL", queue.poll().instrument().symbol());
+        assertNull(queue.poll());
+
+        // A snapshot replaces what was waiting, and later updates fold into it
+        queue.offer(update("MSFT", 6, new MarketDataPayload.BidAskEntry(97, 1, 3, OrderBook.BID, OrderBook.ADD)));
+        MarketDataPayload snapshot = new MarketDataPayload(
+                new MarketDataPayload.Header(MarketDataPayload.Header.SNAPSHOT, 7, 7, 1),
+                new MarketDataPayload.Instrument("MSFT", "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(100, 5, 1, OrderBook.BID, OrderBook.ADD)));
+        queue.offer(snapshot);
+        queue.offer(update("MSFT", 8, new MarketDataPayload.BidAskEntry(100, 8, 1, OrderBook.BID, OrderBook.UPDATE)));
+        MarketDataPayload merged = queue.poll();
+        assertEquals(MarketDataPayload.Header.SNAPSHOT, merged.header().messageType());
+        assertEquals(8, merged.header().sequenceId());
+        assertEquals(List.of(new MarketDataPayload.BidAskEntry(100, 8, 1, OrderBook.BID, OrderBook.ADD)),
+                merged.entries());
+
+        ConflatingQueue.Stats stats = queue.stats();
+        assertEquals(7, stats.offered());
+        assertEquals(3, stats.delivered());
+        assertEquals(1, stats.refused());
+        assertEquals(7.0 / 3, stats.conflationRatio(), 1e-9);
+        assertEquals(3, stats.staleness().getTotalCount());
+    }
+
+    @Test
+    public void testAddThenDeleteCancelsOut() {
+        ConflatingQueue queue = new ConflatingQueue(4);
+        queue.offer(update("AAPL", 1,
+                new MarketDataPayload.BidAskEntry(50, 5, 1, OrderBook.BID, OrderBook.ADD),
+                new MarketDataPayload.BidAskEntry(51, 5, 1, OrderBook.ASK, OrderBook.UPDATE)));
+        queue.offer(update("AAPL", 2, new MarketDataPayload.BidAskEntry(50, 5, 1, OrderBook.BID, OrderBook.UPDATE)));
+        queue.offer(update("AAPL", 3,
+                new MarketDataPayload.BidAskEntry(0, 0, 1, OrderBook.BID, OrderBook.DELETE),
+                new MarketDataPayload.BidAskEntry(0, 0, 1, OrderBook.ASK, OrderBook.DELETE)));
+
+        // The consumer never saw the bid level, so it must not be told to delete it; the ask it had
+        MarketDataPayload merged = queue.poll();
+        assertEquals(3, merged.header().sequenceId());
+        assertEquals(List.of(new MarketDataPayload.BidAskEntry(0, 0, 1, OrderBook.ASK, OrderBook.DELETE)),
+                merged.entries());
+    }
+
+    @Test
+    public void testDeleteThenAddBecomesAnUpdate() {
+        ConflatingQueue queue = new ConflatingQueue(4);
+        queue.offer(update("AAPL", 1, new MarketDataPayload.BidAskEntry(0, 0, 2, OrderBook.ASK, OrderBook.DELETE)));
+        queue.offer(update("AAPL", 2, new MarketDataPayload.BidAskEntry(61, 7, 2, OrderBook.ASK, OrderBook.ADD)));
+
+        // The consumer still has the old level 2, inserting another would push it down a level
+        assertEquals(List.of(new MarketDataPayload.BidAskEntry(61, 7, 2, OrderBook.ASK, OrderBook.UPDATE)),
+                queue.poll().entries());
+    }
+
+    @Test
+    public void testSlowConsumerEndsOnTheLatestStatePerSymbol() throws Exception {
+        MarketDataPayload[] payloads = new MarketDataGenerator(9, MarketDataGenerator.Shape.incremental(32)).next(50_000);
+        Map<String, Long> lastOffered = new HashMap<>();
+        for (MarketDataPayload payload : payloads) {
+            lastOffered.put(payload.instrument().symbol(), payload.header().sequenceId());
+        }
+
+        ConflatingQueue queue = new ConflatingQueue(32);
+        // Only touched by the consumer thread until it is joined
+        Map<String, Long> lastDelivered = new HashMap<>();
+        List<String> outOfOrder = new ArrayList<>();
+        AtomicBoolean produced = new AtomicBoolean();
+        Thread consumer = new Thread(() -> {
+            while (!produced.get() || queue.waiting() > 0) {
+                MarketDataPayload payload = queue.poll();
+                if (payload == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long sequenceId = payload.header().sequenceId();
+                Long previous = lastDelivered.put(payload.instrument().symbol(), sequenceId);
+                if (previous != null && previous >= sequenceId) {
+                    outOfOrder.add(payload.instrument().symbol() + " " + previous + " then " + sequenceId);
+                }
+                for (int i = 0; i < 2000; i++) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        consumer.start();
+        for (MarketDataPayload payload : payloads) {
+            assertTrue(queue.offer(payload));
+        }
+        produced.set(true);
+        consumer.join(10_000);
+
+        assertEquals(List.of(), outOfOrder);
+        assertEquals(lastOffered, lastDelivered);
+        ConflatingQueue.Stats stats = queue.stats();
+        assertEquals(payloads.length, stats.offered());
+        assertEquals(stats.delivered(), stats.staleness().getTotalCount());
+        assertTrue(stats.conflationRatio() > 1);
+    }
+
+    private static MarketDataPayload update(String symbol, long sequenceId, MarketDataPayload.BidAskEntry... entries) {
+        return new MarketDataPayload(
+                new MarketDataPayload.Header(MarketDataPayload.Header.INCREMENTAL, sequenceId, sequenceId, 1),
+                new MarketDataPayload.Instrument(symbol, "NASDAQ", "USD"),
+                List.of(entries));
+    }
+}
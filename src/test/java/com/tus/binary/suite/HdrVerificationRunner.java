@@ -1,27 +1,34 @@
 package com.tus.binary.suite;
 
 import com.tus.binary.suite.controller.MarketDataController;
+import com.tus.binary.suite.metrics.ProtocolMetrics;
+import com.tus.binary.suite.service.ProtocolRegistry;
 
 import java.io.IOException;
+import java.util.List;
 
 public class HdrVerificationRunner {
     public static void main(String[] args) throws IOException {
         System.out.println("Starting HDR Verification...");
 
-        MarketDataController controller = new MarketDataController();
+        ProtocolMetrics metrics = new ProtocolMetrics();
+        MarketDataController controller = new MarketDataController(metrics, ProtocolRegistry.discover());
 
         // Warmup / Load Generation
         int iterations = 10000;
         System.out.println("Running " + iterations + " iterations...");
 
+        // Every registered protocol, see ProtocolRegistry
+        List<String> protocols = controller.protocols();
         for (int i = 0; i < iterations; i++) {
-            controller.testProtobuf();
-            controller.testSbe();
-            controller.testFlatBuffers();
-            controller.testAvro();
+            for (String protocol : protocols) {
+                controller.test(protocol);
+            }
         }
 
         System.out.println("Generating Report...");
+        // No scheduler here, so close the interval the report reads from
+        metrics.roll();
         String result = controller.generateHdrReport();
         System.out.println(result);
 
@@ -0,0 +1,64 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.jfr.BatchEvent;
+import com.tus.binary.suite.jfr.DecodeEvent;
+import com.tus.binary.suite.jfr.EncodeEvent;
+import com.tus.binary.suite.jfr.InstrumentedSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventTest {
+
+    @Test
+    public void testEventsCarryProtocolSizeAndEntries(@TempDir Path directory) throws Exception {
+        InstrumentedSerializer serializer = new InstrumentedSerializer(new ProtobufSerializer());
+        MarketDataPayload payload = MarketDataPayload.createSample();
+        Path file = directory.resolve("serializers.jfr");
+
+        byte[] encoded;
+        try (Recording recording = new Recording()) {
+            recording.enable(EncodeEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(DecodeEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(BatchEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            encoded = serializer.serialize(payload);
+            assertEquals(payload, serializer.deserialize(encoded));
+            List<MarketDataPayload> batch = List.of(payload, payload, payload);
+            serializer.deserializeBatch(serializer.serializeBatch(batch)).forEachRemaining(decoded -> { });
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            if (!name.startsWith("com.tus.binary.suite.")) {
+                continue;
+            }
+            names.add(name + (event.hasField("decode") && event.getBoolean("decode") ? ".decode" : ""));
+            assertEquals("Protobuf", event.getString("protocol"));
+            int batchSize = event.hasField("messageCount") ? event.getInt("messageCount") : 1;
+            assertEquals(4 * batchSize, event.getInt("entryCount"), name);
+            if (batchSize == 1) {
+                assertEquals(encoded.length, event.getInt("encodedSize"), name);
+            }
+        }
+        names.sort(null);
+        assertEquals(List.of("com.tus.binary.suite.Batch", "com.tus.binary.suite.Batch.decode",
+                "com.tus.binary.suite.Decode", "com.tus.binary.suite.Encode"), names);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.journal.Journal;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendLookupAndScanAcrossSegments() throws IOException {
+        SbeSerializer serializer = new SbeSerializer();
+        try (Journal journal = new Journal(directory, serializer, 4096, 8)) {
+            for (int i = 0; i < 500; i++) {
+                journal.append(payload(i));
+            }
+
+            assertEquals(500, journal.frameCount());
+            assertTrue(journal.segmentCount() > 1, "small segments should roll");
+            assertReadable(journal, serializer, 500);
+
+            List<Long> sequenceIds = new ArrayList<>();
+            int delivered = journal.scanByTime(10_100L, 10_149L,
+                    (buffer, offset, length, sequenceId, timestamp) -> sequenceIds.add(sequenceId));
+            assertEquals(50, delivered);
+            assertEquals(100L, sequenceIds.get(0));
+            assertEquals(149L, sequenceIds.get(49));
+        }
+    }
+
+    @Test
+    public void testReopenUsesSavedIndexAndContinuesAppending() throws IOException {
+        ProtobufSerializer serializer = new ProtobufSerializer();
+        try (Journal journal = new Journal(directory, serializer, 4096, 8)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(payload(i));
+            }
+        }
+
+        try (Journal journal = new Journal(directory, serializer, 4096, 8)) {
+            assertEquals(300, journal.frameCount());
+
+            // Already encoded bytes are recorded as received
+            byte[] encoded = serializer.serialize(payload(300));
+            journal.append(new UnsafeBuffer(encoded), 0, encoded.length);
+
+            assertEquals(301, journal.replay((buffer, offset, length, sequenceId, timestamp) -> { }));
+            assertReadable(journal, serializer, 301);
+        }
+    }
+
+    private static void assertReadable(Journal journal, ProtocolSerializer serializer, int count) throws IOException {
+        for (int i = 0; i < count; i += 37) {
+            MarketDataPayload[] found = new MarketDataPayload[1];
+            assertTrue(journal.readBySequenceId(i, (buffer, offset, length, sequenceId, timestamp) -> {
+                try {
+                    found[0] = serializer.deserialize(buffer, offset, length);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertEquals(payload(i), found[0]);
+        }
+        assertFalse(journal.readBySequenceId(count + 10, (buffer, offset, length, sequenceId, timestamp) -> { }));
+    }
+
+    private static MarketDataPayload payload(int i) {
+        return new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", 10_000L + i, i, 1),
+                new MarketDataPayload.Instrument("MSFT", "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(25_000L + i, 100L, 1, i % 2, 0)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.generator.MarketDataGenerator.Shape;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MarketDataGeneratorTest {
+
+    @Test
+    public void testSeededShapes() {
+        Shape shape = Shape.incremental(1000).withStringLengths(6, 4);
+        MarketDataPayload[] first = new MarketDataGenerator(7, shape).next(2000);
+        assertArrayEquals(first, new MarketDataGenerator(7, shape).next(2000), "same seed, same stream");
+        assertFalse(Arrays.equals(first, new MarketDataGenerator(8, shape).next(2000)));
+
+        Map<String, Integer> perSymbol = new HashMap<>();
+        int[] actions = new int[3];
+        for (int i = 0; i < first.length; i++) {
+            MarketDataPayload payload = first[i];
+            assertEquals(6, payload.instrument().symbol().length());
+            assertEquals(4, payload.instrument().exchange().length());
+            assertTrue(payload.entries().size() >= 1 && payload.entries().size() <= 8);
+            if (i > 0) {
+                assertEquals(first[i - 1].header().sequenceId() + 1, payload.header().sequenceId());
+                assertTrue(payload.header().timestamp() > first[i - 1].header().timestamp());
+            }
+            perSymbol.merge(payload.instrument().symbol(), 1, Integer::sum);
+            payload.entries().forEach(entry -> actions[entry.updateAction()]++);
+        }
+        // Skewed universe: the busiest symbol sees far more than an even share
+        assertTrue(perSymbol.values().stream().mapToInt(Integer::intValue).max().orElseThrow() > 50, perSymbol.toString());
+        assertTrue(actions[1] > actions[0] && actions[0] > 0 && actions[2] > 0, Arrays.toString(actions));
+
+        Set<String> symbols = new HashSet<>();
+        Shape uniform = Shape.trades(5000).withSymbols(5000, 0);
+        for (MarketDataPayload payload : new MarketDataGenerator(1, uniform).next(50_000)) {
+            symbols.add(payload.instrument().symbol());
+        }
+        assertTrue(symbols.size() > 4900, "uniform activity reaches nearly every symbol: " + symbols.size());
+    }
+
+    @Test
+    public void testLargeMessagesRoundTrip() throws IOException {
+        List<ProtocolSerializer> serializers = List.of(
+                new ProtobufSerializer(), new SbeSerializer(), new AvroSerializer(), new FlatBuffersSerializer());
+        MarketDataPayload snapshot = new MarketDataGenerator(3, Shape.snapshot(10, 200)).next();
+        assertEquals(MarketDataPayload.Header.SNAPSHOT, snapshot.header().messageType());
+        assertEquals(400, snapshot.entries().size());
+        MarketDataPayload wide = new MarketDataGenerator(3, Shape.incremental(10).withEntries(1000, 1000)).next();
+        assertEquals(1000, wide.entries().size());
+
+        for (ProtocolSerializer serializer : serializers) {
+            for (MarketDataPayload payload : List.of(snapshot, wide)) {
+                assertEquals(payload, serializer.deserialize(serializer.serialize(payload)), serializer.getName());
+            }
+        }
+    }
+}
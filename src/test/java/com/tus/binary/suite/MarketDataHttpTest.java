@@ -0,0 +1,128 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.jfr.DecodeEvent;
+import com.tus.binary.suite.jfr.InstrumentedSerializer;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolRegistry;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MarketDataHttpTest {
+
+    private static final Map<String, ProtocolSerializer> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put("application/x-sbe", new SbeSerializer());
+        FORMATS.put("application/x-protobuf", new ProtobufSerializer());
+        FORMATS.put("application/x-flatbuffers", new FlatBuffersSerializer());
+        FORMATS.put("avro/binary", new AvroSerializer());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProtocolRegistry registry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/market-data" + path));
+    }
+
+    @Test
+    public void testPostAndGetInEveryFormat() throws Exception {
+        MarketDataPayload[] payloads = new MarketDataGenerator(9, MarketDataGenerator.Shape.incremental(4))
+                .next(FORMATS.size());
+        int i = 0;
+        for (Map.Entry<String, ProtocolSerializer> in : FORMATS.entrySet()) {
+            MarketDataPayload payload = payloads[i++];
+            // Posted in one format, read back in each of the others
+            for (Map.Entry<String, ProtocolSerializer> out : FORMATS.entrySet()) {
+                HttpResponse<byte[]> response = send(request("")
+                        .header("Content-Type", in.getKey())
+                        .header("Accept", out.getKey())
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(in.getValue().serialize(payload))));
+                assertEquals(200, response.statusCode(), in.getKey() + " -> " + out.getKey());
+                assertEquals(out.getKey(), response.headers().firstValue("Content-Type").orElseThrow());
+                assertEquals(payload, out.getValue().deserialize(response.body()), in.getKey() + " -> " + out.getKey());
+            }
+
+            HttpResponse<byte[]> latest = send(request("/" + payload.instrument().symbol())
+                    .header("Accept", in.getKey()));
+            assertEquals(200, latest.statusCode());
+            assertEquals(payload, in.getValue().deserialize(latest.body()));
+        }
+
+        // No Accept preference still answers in JSON
+        HttpResponse<byte[]> json = send(request("/sample"));
+        assertEquals(200, json.statusCode());
+        assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertTrue(new String(json.body()).contains("\"symbol\":\"MSFT\""));
+    }
+
+    @Test
+    public void testRejectsBadBodies() throws Exception {
+        byte[] sbe = new SbeSerializer().serialize(MarketDataPayload.createSample());
+        HttpResponse<byte[]> truncated = send(request("")
+                .header("Content-Type", "application/x-sbe")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(Arrays.copyOf(sbe, 20))));
+        assertEquals(400, truncated.statusCode());
+
+        HttpResponse<byte[]> unknown = send(request("")
+                .header("Content-Type", "application/x-unknown")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(sbe)));
+        assertEquals(415, unknown.statusCode());
+
+        assertEquals(404, send(request("/NOPE").header("Accept", "application/x-sbe")).statusCode());
+    }
+
+    @Test
+    public void testServiceEmitsSerializerEvents(@TempDir Path directory) throws Exception {
+        assertTrue(registry.serializers().stream().allMatch(InstrumentedSerializer.class::isInstance));
+        assertInstanceOf(InstrumentedSerializer.class, registry.get("sbe+deflate"));
+
+        Path file = directory.resolve("service.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DecodeEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            assertEquals(200, send(request("")
+                    .header("Content-Type", "application/x-sbe")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            new SbeSerializer().serialize(MarketDataPayload.createSample())))).statusCode());
+            recording.stop();
+            recording.dump(file);
+        }
+        assertTrue(RecordingFile.readAllEvents(file).stream().anyMatch(event ->
+                "com.tus.binary.suite.Decode".equals(event.getEventType().getName())
+                        && "SBE".equals(event.getString("protocol"))));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.MarketDataView;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.stream.MessageStreamReader;
+import com.tus.binary.suite.stream.MessageStreamWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageStreamTest {
+
+    private static final List<ProtocolSerializer> SERIALIZERS = List.of(
+            new ProtobufSerializer(), new SbeSerializer(), new AvroSerializer(), new FlatBuffersSerializer());
+
+    @Test
+    public void testFramesStraddlingReads() throws IOException {
+        List<MarketDataPayload> messages = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            messages.add(new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", i, 5000L + i, 1),
+                    new MarketDataPayload.Instrument("SYM" + i % 5, "NASDAQ", "USD"),
+                    List.of(new MarketDataPayload.BidAskEntry(15000L + i, i, 1 + i % 3, i % 2, 0))));
+        }
+
+        for (ProtocolSerializer serializer : SERIALIZERS) {
+            byte[] stream = write(serializer, messages);
+
+            // Read buffer barely larger than a frame, fed a few bytes at a time
+            try (MessageStreamReader reader = new MessageStreamReader(
+                    serializer, Channels.newChannel(trickle(stream, 7)), 256)) {
+                for (MarketDataPayload expected : messages) {
+                    assertEquals(expected, reader.read(), serializer.getName());
+                }
+                assertNull(reader.read());
+                assertTrue(reader.endOfStream());
+            }
+
+            try (MessageStreamReader reader = new MessageStreamReader(serializer, new ByteArrayInputStream(stream))) {
+                MarketDataView view;
+                int count = 0;
+                while ((view = reader.readView()) != null) {
+                    assertEquals(messages.get(count++).header().sequenceId(), view.sequenceId(), serializer.getName());
+                }
+                assertEquals(messages.size(), count);
+            }
+        }
+    }
+
+    @Test
+    public void testTruncatedAndOversizedFrames() throws IOException {
+        ProtocolSerializer serializer = new SbeSerializer();
+        byte[] stream = write(serializer, List.of(MarketDataPayload.createSample()));
+
+        try (MessageStreamReader reader = new MessageStreamReader(
+                serializer, new ByteArrayInputStream(Arrays.copyOf(stream, stream.length - 1)))) {
+            assertThrows(EOFException.class, reader::read);
+        }
+        try (MessageStreamReader reader = new MessageStreamReader(
+                serializer, Channels.newChannel(new ByteArrayInputStream(stream)), 16)) {
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    private static byte[] write(ProtocolSerializer serializer, List<MarketDataPayload> messages) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MessageStreamWriter writer = new MessageStreamWriter(serializer, out)) {
+            for (MarketDataPayload message : messages) {
+                writer.write(message);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // Returns at most chunk bytes per read, like a slow socket
+    private static InputStream trickle(byte[] data, int chunk) {
+        return new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, chunk));
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.book.OrderBook;
+import com.tus.binary.suite.book.OrderBookEngine;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderBookTest {
+
+    @Test
+    public void testAddUpdateDelete() {
+        OrderBook book = new OrderBook("MSFT", 3);
+
+        assertTrue(book.apply(OrderBook.BID, OrderBook.ADD, 1, 100L, 10L));
+        assertTrue(book.apply(OrderBook.BID, OrderBook.ADD, 1, 101L, 20L)); // pushes 100 to level 2
+        assertEquals(2, book.bidLevels());
+        assertEquals(101L, book.bestBidPrice());
+        assertEquals(100L, book.bidPrice(2));
+
+        assertTrue(book.apply(OrderBook.BID, OrderBook.UPDATE, 2, 100L, 15L));
+        assertEquals(15L, book.bidSize(2));
+
+        assertTrue(book.apply(OrderBook.BID, OrderBook.DELETE, 1, 0L, 0L));
+        assertEquals(1, book.bidLevels());
+        assertEquals(100L, book.bestBidPrice());
+        assertEquals(OrderBook.NULL_VALUE, book.bestAskPrice());
+    }
+
+    @Test
+    public void testDepthIsBounded() {
+        OrderBook book = new OrderBook("MSFT", 2);
+
+        assertTrue(book.apply(OrderBook.ASK, OrderBook.ADD, 1, 103L, 1L));
+        assertTrue(book.apply(OrderBook.ASK, OrderBook.ADD, 1, 102L, 1L));
+        assertTrue(book.apply(OrderBook.ASK, OrderBook.ADD, 1, 101L, 1L));
+        assertEquals(2, book.askLevels());
+        assertEquals(101L, book.askPrice(1));
+        assertEquals(102L, book.askPrice(2));
+
+        assertFalse(book.apply(OrderBook.ASK, OrderBook.ADD, 3, 104L, 1L));
+        assertFalse(book.apply(OrderBook.BID, OrderBook.UPDATE, 1, 99L, 1L)); // no bid level yet
+    }
+
+    @Test
+    public void testEngineAppliesDecodedMessages() throws IOException {
+        OrderBookEngine engine = new OrderBookEngine(5);
+        SbeSerializer serializer = new SbeSerializer();
+
+        byte[] encoded = serializer.serialize(MarketDataPayload.createSample());
+        OrderBook book = engine.onMessage(serializer, new UnsafeBuffer(encoded), 0, encoded.length);
+
+        assertSame(book, engine.book("MSFT"));
+        assertEquals(25000L, book.bestBidPrice());
+        assertEquals(25010L, book.bestAskPrice());
+        assertEquals(2, book.bidLevels());
+        assertEquals(1001L, book.lastSequenceId());
+
+        for (int i = 0; i < 100; i++) {
+            engine.apply(new MarketDataPayload(
+                    new MarketDataPayload.Header("MarketDataIncrementalRefresh", i, i, 1),
+                    new MarketDataPayload.Instrument("SYM" + i, "NASDAQ", "USD"),
+                    List.of(new MarketDataPayload.BidAskEntry(i, 1L, 1, 0, 0))));
+        }
+        assertEquals(101, engine.bookCount());
+        assertEquals(42L, engine.book("SYM42").bestBidPrice());
+        assertNull(engine.book("UNKNOWN"));
+    }
+}
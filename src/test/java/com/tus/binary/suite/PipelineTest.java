@@ -0,0 +1,130 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.book.OrderBookEngine;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.pipeline.MarketDataPipeline;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.transcode.ProtobufMarketDataWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTest {
+
+    @Test
+    public void testPublishesValidFramesInOrderAndDropsTheRest() throws Exception {
+        SbeSerializer serializer = new SbeSerializer();
+        OrderBookEngine engine = new OrderBookEngine(10);
+        List<MarketDataPayload> published = Collections.synchronizedList(new ArrayList<>());
+        MarketDataPayload[] payloads = new MarketDataGenerator(3, MarketDataGenerator.Shape.incremental(16)).next(2000);
+
+        // A small ring so the producer and the stages run into back-pressure
+        try (MarketDataPipeline pipeline = new MarketDataPipeline(view -> engine.apply(view) != null, null,
+                (buffer, offset, length) -> published.add(serializer.deserialize(buffer, offset, length)),
+                "backoff", 16 * 1024).start()) {
+            ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
+            for (int i = 0; i < payloads.length; i++) {
+                int length = serializer.serialize(payloads[i], buffer, 0);
+                offer(pipeline, buffer, length);
+                if (i == 100) {
+                    offer(pipeline, buffer, length / 2);
+                    offer(pipeline, new UnsafeBuffer(new byte[]{1, 2, 3, 4}), 4);
+                }
+            }
+            assertTrue(pipeline.drain(10, TimeUnit.SECONDS));
+
+            assertEquals(List.of(payloads), published);
+            assertEquals(payloads.length, pipeline.published());
+            assertEquals(16, engine.bookCount());
+
+            List<MarketDataPipeline.StageStats> stats = pipeline.stats();
+            assertEquals(List.of("decode", "handle", "publish"),
+                    stats.stream().map(MarketDataPipeline.StageStats::stage).toList());
+            assertEquals(payloads.length + 2, stats.get(0).messages());
+            assertEquals(2, stats.get(0).dropped());
+            assertEquals(payloads.length + 2, stats.get(0).latency().getTotalCount());
+            assertEquals(payloads.length, stats.get(2).messages());
+            assertTrue(stats.get(0).queueDepth().getTotalCount() > 0);
+            assertEquals(payloads.length, pipeline.endToEndLatency().getTotalCount());
+            assertEquals(0, pipeline.errors());
+        }
+    }
+
+    @Test
+    public void testHandlerFiltersAndPublisherReencodes() throws Exception {
+        SbeSerializer serializer = new SbeSerializer();
+        ProtobufSerializer protobuf = new ProtobufSerializer();
+        List<MarketDataPayload> published = Collections.synchronizedList(new ArrayList<>());
+        MarketDataPayload[] payloads = new MarketDataGenerator(4, MarketDataGenerator.Shape.incremental(8)).next(500);
+
+        try (MarketDataPipeline pipeline = new MarketDataPipeline(view -> view.entryCount() <= 4,
+                new ProtobufMarketDataWriter(), (buffer, offset, length) -> {
+                    try {
+                        published.add(protobuf.deserialize(buffer, offset, length));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, "yield", MarketDataPipeline.DEFAULT_RING_CAPACITY).start()) {
+            ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
+            for (MarketDataPayload payload : payloads) {
+                offer(pipeline, buffer, serializer.serialize(payload, buffer, 0));
+            }
+            assertTrue(pipeline.drain(10, TimeUnit.SECONDS));
+
+            List<MarketDataPayload> expected = List.of(payloads).stream()
+                    .filter(payload -> payload.entries().size() <= 4)
+                    .toList();
+            assertEquals(expected, published);
+            assertEquals(payloads.length - expected.size(), pipeline.stats().get(1).dropped());
+        }
+        assertThrows(IllegalArgumentException.class, () -> MarketDataPipeline.idleStrategy("sleep"));
+    }
+
+    @Test
+    public void testBackPressureAppliesEveryMessageOnce() throws Exception {
+        SbeSerializer serializer = new SbeSerializer();
+        OrderBookEngine engine = new OrderBookEngine(10);
+        MarketDataPayload[] payloads = new MarketDataGenerator(5, MarketDataGenerator.Shape.incremental(4)).next(1000);
+
+        // Rings of a few dozen messages and a publisher slower than the handler, so the handle stage
+        // keeps finding its output full
+        try (MarketDataPipeline pipeline = new MarketDataPipeline(view -> engine.apply(view) != null, null,
+                (buffer, offset, length) -> {
+                    long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(20);
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                }, "yield", 8192).start()) {
+            ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
+            for (MarketDataPayload payload : payloads) {
+                offer(pipeline, buffer, serializer.serialize(payload, buffer, 0));
+            }
+            assertTrue(pipeline.drain(10, TimeUnit.SECONDS));
+        }
+
+        OrderBookEngine expected = new OrderBookEngine(10);
+        for (MarketDataPayload payload : payloads) {
+            expected.apply(payload);
+        }
+        assertEquals(expected.appliedEntries(), engine.appliedEntries());
+        assertEquals(expected.rejectedEntries(), engine.rejectedEntries());
+        expected.forEach(book -> assertEquals(book.toString(), engine.book(book.symbol()).toString()));
+    }
+
+    private static void offer(MarketDataPipeline pipeline, DirectBuffer buffer, int length) {
+        while (!pipeline.offer(buffer, 0, length)) {
+            Thread.onSpinWait();
+        }
+    }
+}
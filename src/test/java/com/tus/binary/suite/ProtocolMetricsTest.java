@@ -0,0 +1,68 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.metrics.ProtocolMetrics;
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProtocolMetricsTest {
+
+    @Test
+    public void testConcurrentRecordingAndIntervals(@TempDir Path logDirectory) throws Exception {
+        ProtocolMetrics metrics = new ProtocolMetrics(logDirectory.toString(), 60);
+        ProtocolMetrics.Series latency = metrics.latency("sbe", "serialize");
+        ProtocolMetrics.Series size = metrics.encodedSize("sbe");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    latency.record(i);
+                    size.record(100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        metrics.roll();
+
+        assertEquals(40_000, latency.total().getTotalCount());
+        String text = metrics.prometheus();
+        assertTrue(text.contains("market_data_latency_seconds_count{protocol=\"sbe\",operation=\"serialize\"} 40000"),
+                text);
+        assertTrue(text.contains("market_data_encoded_bytes{protocol=\"sbe\",quantile=\"0.99\"} 100.000000"), text);
+        assertTrue(text.contains("market_data_encoded_bytes_sum{protocol=\"sbe\"} 4000000.00"), text);
+
+        // A second, empty interval leaves the totals alone and the window empty
+        metrics.roll();
+        assertEquals(40_000, latency.total().getTotalCount());
+        assertTrue(metrics.prometheus().contains(
+                "market_data_latency_seconds{protocol=\"sbe\",operation=\"serialize\",quantile=\"0.5\"} NaN"));
+        metrics.destroy();
+
+        File[] logs = logDirectory.toFile().listFiles((dir, name) -> name.endsWith(".hlog"));
+        assertNotNull(logs);
+        assertEquals(1, logs.length);
+        List<String> tags = new ArrayList<>();
+        long logged = 0;
+        HistogramLogReader reader = new HistogramLogReader(logs[0]);
+        for (EncodableHistogram histogram; (histogram = reader.nextIntervalHistogram()) != null; ) {
+            tags.add(histogram.getTag());
+            logged += ((Histogram) histogram).getTotalCount();
+        }
+        assertEquals(List.of("latency.sbe.serialize", "encoded_size.sbe"), tags);
+        assertEquals(80_000, logged);
+    }
+}
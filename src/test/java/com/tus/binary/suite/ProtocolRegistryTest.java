@@ -0,0 +1,76 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.controller.MarketDataController;
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.dto.ValidationResult;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.metrics.ProtocolMetrics;
+import com.tus.binary.suite.service.ProtocolRegistry;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProtocolRegistryTest {
+
+    @Test
+    public void testDiscoversEveryProtocol() throws Exception {
+        ProtocolRegistry registry = ProtocolRegistry.discover();
+        assertEquals(List.of("SBE", "Protobuf", "FlatBuffers", "Avro", "Protobuf Wire", "Avro Single-Object"),
+                registry.names());
+        assertSame(registry.get("Protobuf Wire"), registry.get("protobuf-wire"));
+        assertFalse(registry.register(new SbeSerializer()));
+        assertThrows(IllegalArgumentException.class, () -> registry.get("thrift"));
+
+        MarketDataPayload[] payloads = new MarketDataGenerator(5, MarketDataGenerator.Shape.incremental(8)).next(16);
+        ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
+        for (ProtocolSerializer serializer : registry.serializers()) {
+            for (MarketDataPayload payload : payloads) {
+                int length = serializer.serialize(payload, buffer, 0);
+                assertEquals(payload, serializer.deserialize(buffer, 0, length), serializer.getName());
+                assertEquals(payload, serializer.wrap(buffer, 0, length).toPayload(), serializer.getName());
+            }
+        }
+    }
+
+    @Test
+    public void testDecoratedNameWrapsTheRegisteredProtocol() throws Exception {
+        ProtocolRegistry registry = ProtocolRegistry.discover();
+        ProtocolSerializer deflated = registry.get("SBE+Deflate");
+        assertEquals("SBE Deflate+Dict", deflated.getName());
+        assertSame(deflated, registry.get("sbe-deflate"));
+        assertSame(deflated, registry.get("SBE Deflate+Dict"));
+        assertTrue(registry.names().contains("SBE Deflate+Dict"));
+        assertTrue(registry.find("SBE+Delta").isEmpty());
+
+        MarketDataPayload payload = MarketDataPayload.createSample();
+        assertEquals(payload, deflated.deserialize(deflated.serialize(payload)));
+        // The trained dictionary is what makes a lone message worth compressing
+        assertTrue(deflated.serialize(payload).length < registry.get("sbe").serialize(payload).length);
+    }
+
+    @Test
+    public void testControllerServesEveryRegisteredProtocol() {
+        ProtocolMetrics metrics = new ProtocolMetrics();
+        MarketDataController controller = new MarketDataController(metrics, ProtocolRegistry.discover());
+        assertEquals(List.of("sbe", "protobuf", "flatbuffers", "avro", "protobuf-wire", "avro-single-object"),
+                controller.protocols());
+        for (String protocol : controller.protocols()) {
+            ResponseEntity<ValidationResult> response = controller.test(protocol);
+            assertTrue(response.getBody().match(), protocol);
+        }
+        assertEquals(404, controller.test("thrift").getStatusCode().value());
+
+        // Reading the report leaves the open interval to the scheduled roll
+        ProtocolMetrics.Series series = metrics.series().get(0);
+        controller.generateHdrReport();
+        assertEquals(0, series.total().getTotalCount());
+        metrics.roll();
+        assertEquals(1, series.total().getTotalCount());
+    }
+}
@@ -0,0 +1,65 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.service.StringCache;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringCacheTest {
+
+    @Test
+    public void testDecodersShareCachedInstances() throws IOException {
+        StringCache cache = new StringCache();
+        MarketDataPayload sample = MarketDataPayload.createSample();
+
+        for (ProtocolSerializer serializer : List.of(
+                new SbeSerializer(cache), new FlatBuffersSerializer(cache), new AvroSerializer(cache))) {
+            byte[] encoded = serializer.serialize(sample);
+            MarketDataPayload first = serializer.deserialize(encoded);
+            MarketDataPayload second = serializer.deserialize(encoded.clone());
+            assertEquals(sample, second, serializer.getName());
+            assertSame(first.instrument().symbol(), second.instrument().symbol(), serializer.getName());
+            assertSame(first.header().messageType(), second.header().messageType(), serializer.getName());
+        }
+
+        // Four strings per message, only the very first decode of each one missed
+        assertEquals(4, cache.misses());
+        assertEquals(20, cache.hits());
+    }
+
+    @Test
+    public void testLookupsAndBounds() {
+        StringCache cache = new StringCache(4, 8);
+        byte[] bytes = "xxNASDAQ€".getBytes(StandardCharsets.UTF_8);
+        String heap = cache.get(bytes, 2, 6);
+        assertEquals("NASDAQ", heap);
+        assertSame(heap, cache.get(new UnsafeBuffer(ByteBuffer.allocateDirect(16).put(0, bytes)), 2, 6));
+        assertSame(heap, cache.get(ByteBuffer.wrap(bytes).slice(1, 8), 1, 6));
+        assertEquals("€", cache.get(bytes, 8, 3));
+
+        // Longer than maxLength is decoded but never cached
+        String longValue = cache.get("MarketDataSnapshot".getBytes(StandardCharsets.UTF_8), 0, 18);
+        assertNotSame(longValue, cache.get("MarketDataSnapshot".getBytes(StandardCharsets.UTF_8), 0, 18));
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(("S" + i).getBytes(StandardCharsets.UTF_8), 0, ("S" + i).length());
+        }
+        assertEquals(4, cache.capacity());
+        assertTrue(cache.evictions() > 0);
+
+        StringCache disabled = new StringCache(0, 8);
+        assertNotSame(disabled.get(bytes, 2, 6), disabled.get(bytes, 2, 6));
+        assertEquals(0.0, disabled.hitRate());
+    }
+}
@@ -0,0 +1,115 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.net.TcpFeedClient;
+import com.tus.binary.suite.net.TcpFeedServer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TcpFeedTest {
+
+    @Test
+    public void testEveryClientReceivesTheFeed() throws Exception {
+        ProtobufSerializer serializer = new ProtobufSerializer();
+        try (TcpFeedServer server = new TcpFeedServer(serializer, new InetSocketAddress("127.0.0.1", 0)).start()) {
+            List<TcpFeedClient> clients = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                clients.add(new TcpFeedClient(serializer, server.localAddress()));
+            }
+            awaitClients(server, 3);
+
+            List<MarketDataPayload> sent = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                sent.add(update(i));
+                assertTrue(server.publish(sent.get(i)));
+            }
+
+            for (TcpFeedClient client : clients) {
+                try (client) {
+                    for (MarketDataPayload expected : sent) {
+                        assertEquals(expected, client.read());
+                    }
+                }
+            }
+            assertTrue(server.batchesSent() < sent.size(), "messages should share batches");
+            assertEquals(0, server.messagesDropped());
+        }
+    }
+
+    @Test
+    public void testSlowConsumerIsDisconnected() throws Exception {
+        SbeSerializer serializer = new SbeSerializer();
+        try (TcpFeedServer server = new TcpFeedServer(serializer, new InetSocketAddress("127.0.0.1", 0),
+                4096, 10_000, 8192, 1024 * 1024).start();
+             SocketChannel stalled = SocketChannel.open()) {
+            // Never reads, so the socket buffers fill up and then the server side backlog
+            stalled.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            stalled.connect(server.localAddress());
+            awaitClients(server, 1);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            for (int i = 0; server.slowConsumersDisconnected() == 0; i++) {
+                assertTrue(System.nanoTime() < deadline, "slow consumer was never disconnected");
+                if (!server.publish(update(i))) {
+                    Thread.onSpinWait();
+                }
+            }
+            assertEquals(0, server.clientCount());
+        }
+    }
+
+    @Test
+    public void testResetClientOnlyDropsThatClient() throws Exception {
+        ProtobufSerializer serializer = new ProtobufSerializer();
+        try (TcpFeedServer server = new TcpFeedServer(serializer, new InetSocketAddress("127.0.0.1", 0)).start();
+             TcpFeedClient healthy = new TcpFeedClient(serializer, server.localAddress())) {
+            SocketChannel reset = SocketChannel.open(server.localAddress());
+            awaitClients(server, 2);
+            // Linger 0 makes close() send a RST, so the server's next read or write on it fails
+            reset.setOption(StandardSocketOptions.SO_LINGER, 0);
+            reset.close();
+
+            List<MarketDataPayload> sent = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                sent.add(update(i));
+                assertTrue(server.publish(sent.get(i)));
+            }
+            for (MarketDataPayload expected : sent) {
+                assertEquals(expected, healthy.read());
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.clientCount() > 1) {
+                assertTrue(System.nanoTime() < deadline, "reset client was never dropped");
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            assertNull(server.failure());
+            assertTrue(server.publish(update(200)));
+        }
+    }
+
+    private static void awaitClients(TcpFeedServer server, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.clientCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "clients did not connect");
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private static MarketDataPayload update(long sequenceId) {
+        return new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", sequenceId * 10, sequenceId, 1),
+                new MarketDataPayload.Instrument("SYM" + sequenceId % 3, "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(15000L + sequenceId, 10L, 1, 0, 1),
+                        new MarketDataPayload.BidAskEntry(15002L + sequenceId, 20L, 1, 1, 1)));
+    }
+}
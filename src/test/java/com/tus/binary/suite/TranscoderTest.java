@@ -0,0 +1,79 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.generator.MarketDataGenerator;
+import com.tus.binary.suite.generator.MarketDataGenerator.Shape;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import com.tus.binary.suite.transcode.Transcoder;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscoderTest {
+
+    private static final Map<String, ProtocolSerializer> SERIALIZERS = Map.of(
+            "SBE", new SbeSerializer(),
+            "Protobuf", new ProtobufSerializer(),
+            "FlatBuffers", new FlatBuffersSerializer(),
+            "Avro", new AvroSerializer());
+
+    @Test
+    public void testEveryPairMatchesTargetSerializer() throws Exception {
+        List<MarketDataPayload> payloads = new ArrayList<>();
+        payloads.add(MarketDataPayload.createSample());
+        payloads.addAll(Arrays.asList(new MarketDataGenerator(5, Shape.incremental(50)).next(50)));
+        payloads.add(new MarketDataGenerator(5, Shape.snapshot(5, 200)).next());
+        // Proto3 defaults, no entries and strings beyond ASCII
+        payloads.add(new MarketDataPayload(
+                new MarketDataPayload.Header("Réfresh", 0, 0, 0),
+                new MarketDataPayload.Instrument("€UR𝄞", "", "ÜSD"),
+                List.of()));
+
+        ExpandableArrayBuffer encoded = new ExpandableArrayBuffer(1024);
+        ExpandableArrayBuffer transcoded = new ExpandableArrayBuffer(1024);
+        for (String from : Transcoder.PROTOCOLS) {
+            for (String to : Transcoder.PROTOCOLS) {
+                Transcoder transcoder = Transcoder.of(from, to);
+                for (MarketDataPayload payload : payloads) {
+                    int length = SERIALIZERS.get(from).serialize(payload, encoded, 3);
+                    int transcodedLength = transcoder.transcode(encoded, 3, length, transcoded, 5);
+
+                    byte[] expected = SERIALIZERS.get(to).serialize(payload);
+                    byte[] actual = new byte[transcodedLength];
+                    transcoded.getBytes(5, actual);
+                    assertArrayEquals(expected, actual, transcoder.getName() + " " + payload.header().sequenceId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFixedAndOffHeapTargets() throws Exception {
+        MarketDataPayload payload = MarketDataPayload.createSample();
+        byte[] sbe = SERIALIZERS.get("SBE").serialize(payload);
+        UnsafeBuffer source = new UnsafeBuffer(sbe);
+
+        for (String to : Transcoder.PROTOCOLS) {
+            Transcoder transcoder = Transcoder.of("SBE", to);
+            UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+            int length = transcoder.transcode(source, 0, sbe.length, direct, 16);
+            assertEquals(payload, SERIALIZERS.get(to).deserialize(direct, 16, length), transcoder.getName());
+
+            UnsafeBuffer tooSmall = new UnsafeBuffer(new byte[8]);
+            assertThrows(Exception.class, () -> transcoder.transcode(source, 0, sbe.length, tooSmall, 0),
+                    transcoder.getName());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tus.binary.suite;
+
+import com.tus.binary.suite.dto.MarketDataPayload;
+import com.tus.binary.suite.net.UdpPublisher;
+import com.tus.binary.suite.net.UdpSubscriber;
+import com.tus.binary.suite.service.AvroSerializer;
+import com.tus.binary.suite.service.FlatBuffersSerializer;
+import com.tus.binary.suite.service.ProtobufSerializer;
+import com.tus.binary.suite.service.ProtocolSerializer;
+import com.tus.binary.suite.service.SbeSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UdpTest {
+
+    private static final List<ProtocolSerializer> SERIALIZERS = List.of(
+            new ProtobufSerializer(), new SbeSerializer(), new AvroSerializer(), new FlatBuffersSerializer());
+
+    @Test
+    public void testBatchedDatagramsOverLoopback() throws IOException {
+        for (ProtocolSerializer serializer : SERIALIZERS) {
+            try (DatagramChannel channel = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+                 UdpSubscriber subscriber = new UdpSubscriber(serializer, channel);
+                 UdpPublisher publisher = new UdpPublisher(serializer, DatagramChannel.open(),
+                         channel.getLocalAddress())) {
+                List<MarketDataPayload> sent = new ArrayList<>();
+                for (int i = 0; i < 30; i++) {
+                    sent.add(update(100 + i));
+                    publisher.offer(sent.get(i));
+                }
+                publisher.flush();
+                assertTrue(publisher.datagramsSent() > 1, "30 messages cannot fit one datagram");
+                assertTrue(publisher.datagramsSent() < 30, serializer.getName());
+                assertEquals(0, publisher.datagramsDropped());
+                assertEquals(sent.size(), publisher.messagesSent());
+
+                List<MarketDataPayload> received = new ArrayList<>();
+                while (received.size() < sent.size()) {
+                    subscriber.poll(view -> received.add(view.toPayload()));
+                }
+                assertEquals(sent, received, serializer.getName());
+                assertEquals(publisher.datagramsSent(), subscriber.datagramsReceived());
+                assertEquals(0, subscriber.gaps());
+                assertEquals(sent.size(), subscriber.latency().getTotalCount());
+            }
+        }
+    }
+
+    @Test
+    public void testGapsAndDuplicates() throws IOException {
+        ProtocolSerializer serializer = new SbeSerializer();
+        try (DatagramChannel channel = DatagramChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             UdpSubscriber subscriber = new UdpSubscriber(serializer, channel);
+             UdpPublisher publisher = new UdpPublisher(serializer, DatagramChannel.open(),
+                     channel.getLocalAddress())) {
+            // 3 and 4 never sent, 5 sent twice, 2 arrives late
+            List<Long> delivered = new ArrayList<>();
+            for (long sequenceId : new long[] {1, 5, 5, 6, 2, 9}) {
+                publisher.publish(update(sequenceId));
+                subscriber.poll(view -> delivered.add(view.sequenceId()));
+            }
+
+            assertEquals(List.of(1L, 5L, 6L, 9L), delivered);
+            assertEquals(6, subscriber.messagesReceived());
+            assertEquals(2, subscriber.gaps());
+            assertEquals(5, subscriber.lostMessages());
+            assertEquals(2, subscriber.duplicates());
+            assertEquals(9, subscriber.lastSequenceId());
+        }
+    }
+
+    private static MarketDataPayload update(long sequenceId) {
+        return new MarketDataPayload(
+                new MarketDataPayload.Header("MarketDataIncrementalRefresh", sequenceId * 10, sequenceId, 1),
+                new MarketDataPayload.Instrument("SYM" + sequenceId % 3, "NASDAQ", "USD"),
+                List.of(new MarketDataPayload.BidAskEntry(15000L + sequenceId, 10L, 1, 0, 1),
+                        new MarketDataPayload.BidAskEntry(15002L + sequenceId, 20L, 1, 1, 1)));
+    }
+}